@@ -10,6 +10,7 @@ public class AssessmentDTO extends RepresentationModel<AssessmentDTO> {
     private String title;
     private String type;
     private Integer totalMarks;
+    private Integer questionVersion;
     private List<SubmissionDTO> submissions;
     private List<QuizAnswerDTO> quizAnswers;
 
@@ -54,6 +55,14 @@ public class AssessmentDTO extends RepresentationModel<AssessmentDTO> {
         this.totalMarks = totalMarks;
     }
 
+    public Integer getQuestionVersion() {
+        return questionVersion;
+    }
+
+    public void setQuestionVersion(Integer questionVersion) {
+        this.questionVersion = questionVersion;
+    }
+
     public List<SubmissionDTO> getSubmissions() {
         return submissions;
     }
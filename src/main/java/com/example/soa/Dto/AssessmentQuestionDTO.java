@@ -0,0 +1,77 @@
+package com.example.soa.Dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AssessmentQuestionDTO {
+    private String questionKey;
+    private String questionText;
+    private String type;
+    private List<String> options = new ArrayList<>();
+    private Integer points;
+    private String correctAnswer;
+
+    // Default constructor
+    public AssessmentQuestionDTO() {
+    }
+
+    // Copy without the correct answer, for students
+    public AssessmentQuestionDTO withoutAnswer() {
+        AssessmentQuestionDTO copy = new AssessmentQuestionDTO();
+        copy.questionKey = questionKey;
+        copy.questionText = questionText;
+        copy.type = type;
+        copy.options = options;
+        copy.points = points;
+        return copy;
+    }
+
+    // Getters and Setters
+    public String getQuestionKey() {
+        return questionKey;
+    }
+
+    public void setQuestionKey(String questionKey) {
+        this.questionKey = questionKey;
+    }
+
+    public String getQuestionText() {
+        return questionText;
+    }
+
+    public void setQuestionText(String questionText) {
+        this.questionText = questionText;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public List<String> getOptions() {
+        return options;
+    }
+
+    public void setOptions(List<String> options) {
+        this.options = options;
+    }
+
+    public Integer getPoints() {
+        return points;
+    }
+
+    public void setPoints(Integer points) {
+        this.points = points;
+    }
+
+    public String getCorrectAnswer() {
+        return correctAnswer;
+    }
+
+    public void setCorrectAnswer(String correctAnswer) {
+        this.correctAnswer = correctAnswer;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.soa.Dto;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class AssessmentQuestionSetDTO {
+    private Long assessmentId;
+    private int version;
+    private int totalPoints;
+    private List<AssessmentQuestionDTO> questions;
+
+    // Default constructor
+    public AssessmentQuestionSetDTO() {
+    }
+
+    public AssessmentQuestionSetDTO(Long assessmentId, int version, List<AssessmentQuestionDTO> questions) {
+        this.assessmentId = assessmentId;
+        this.version = version;
+        this.questions = questions;
+        this.totalPoints = questions.stream().mapToInt(q -> q.getPoints() != null ? q.getPoints() : 1).sum();
+    }
+
+    public AssessmentQuestionSetDTO withoutAnswers() {
+        return new AssessmentQuestionSetDTO(assessmentId, version,
+                questions.stream().map(AssessmentQuestionDTO::withoutAnswer).collect(Collectors.toList()));
+    }
+
+    // Getters and Setters
+    public Long getAssessmentId() {
+        return assessmentId;
+    }
+
+    public void setAssessmentId(Long assessmentId) {
+        this.assessmentId = assessmentId;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    public int getTotalPoints() {
+        return totalPoints;
+    }
+
+    public void setTotalPoints(int totalPoints) {
+        this.totalPoints = totalPoints;
+    }
+
+    public List<AssessmentQuestionDTO> getQuestions() {
+        return questions;
+    }
+
+    public void setQuestions(List<AssessmentQuestionDTO> questions) {
+        this.questions = questions;
+    }
+}
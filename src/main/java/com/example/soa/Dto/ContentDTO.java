@@ -33,6 +33,8 @@ public class ContentDTO extends RepresentationModel<ContentDTO> {
     public ContentDTO() {
     }
     private String title;
+    // Entity version as read; sent back on update to detect concurrent edits
+    private Long version;
 
 public String getTitle() {
     return title;
@@ -153,4 +155,12 @@ public void setTitle(String title) {
     public void setModuleId(Long moduleId) {
         this.moduleId = moduleId;
     }
-}
\ No newline at end of file
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
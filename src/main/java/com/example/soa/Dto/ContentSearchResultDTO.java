@@ -0,0 +1,51 @@
+package com.example.soa.Dto;
+
+import org.springframework.hateoas.RepresentationModel;
+
+public class ContentSearchResultDTO extends RepresentationModel<ContentSearchResultDTO> {
+    private Long contentId;
+    private Long courseId;
+    private String title;
+    private Integer chunkIndex;
+    private String snippet;
+
+    public Long getContentId() {
+        return contentId;
+    }
+
+    public void setContentId(Long contentId) {
+        this.contentId = contentId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public Integer getChunkIndex() {
+        return chunkIndex;
+    }
+
+    public void setChunkIndex(Integer chunkIndex) {
+        this.chunkIndex = chunkIndex;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public void setSnippet(String snippet) {
+        this.snippet = snippet;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.soa.Dto;
+
+import com.example.soa.Model.Content;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only copy of a content row as cached by ContentService. Carries the
+ * owning course and its instructor so access checks need no further reads;
+ * updates always load the entity itself.
+ */
+public record ContentSnapshot(
+        Long contentId,
+        Long courseId,
+        Long instructorId,
+        Long moduleId,
+        String type,
+        String title,
+        String description,
+        String urlFileLocation,
+        LocalDateTime uploadDate,
+        Long fileSize,
+        String fileType,
+        String fileName,
+        String fileUrl,
+        Boolean isActive,
+        Integer orderIndex,
+        Long version) {
+
+    public static ContentSnapshot of(Content content) {
+        return new ContentSnapshot(
+                content.getContentId(),
+                content.getCourse().getCourseId(),
+                content.getCourse().getInstructor() != null ? content.getCourse().getInstructor().getUserId() : null,
+                content.getModule() != null ? content.getModule().getModuleId() : null,
+                content.getType() != null ? content.getType().name() : null,
+                content.getTitle(),
+                content.getDescription(),
+                content.getUrlFileLocation(),
+                content.getUploadDate(),
+                content.getFileSize(),
+                content.getFileType(),
+                content.getFileName(),
+                content.getFileUrl(),
+                content.getIsActive(),
+                content.getOrderIndex(),
+                content.getVersion());
+    }
+}
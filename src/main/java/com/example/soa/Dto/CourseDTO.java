@@ -18,6 +18,8 @@ public class CourseDTO extends RepresentationModel<CourseDTO> {
     private List<Long> assessmentIds = new ArrayList<>();
     private List<String> tags = new ArrayList<>();
     private List<String> prerequisites = new ArrayList<>();
+    // Entity version as read; sent back on update to detect concurrent edits
+    private Long version;
 
     public CourseDTO() {
         // Initialize empty lists
@@ -117,4 +119,12 @@ public class CourseDTO extends RepresentationModel<CourseDTO> {
     public void setPrerequisites(List<String> prerequisites) {
         this.prerequisites = prerequisites != null ? prerequisites : new ArrayList<>();
     }
-}
\ No newline at end of file
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.soa.Dto;
+
+import com.example.soa.Model.Assessment;
+import com.example.soa.Model.Content;
+import com.example.soa.Model.Course;
+import com.example.soa.Model.Enrollment;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Read-only copy of a course as cached by CourseService: its own columns
+ * plus the IDs of its enrollments, content and assessments.
+ */
+public record CourseSnapshot(
+        Long courseId,
+        String name,
+        String title,
+        String description,
+        LocalDate startDate,
+        LocalDate endDate,
+        Long instructorId,
+        Long version,
+        List<String> tags,
+        List<String> prerequisites,
+        List<Long> enrollmentIds,
+        List<Long> contentIds,
+        List<Long> assessmentIds) {
+
+    public static CourseSnapshot of(Course course) {
+        return new CourseSnapshot(
+                course.getCourseId(),
+                course.getName(),
+                course.getTitle(),
+                course.getDescription(),
+                course.getStartDate(),
+                course.getEndDate(),
+                course.getInstructor() != null ? course.getInstructor().getUserId() : null,
+                course.getVersion(),
+                course.getTags() == null ? null : List.copyOf(course.getTags()),
+                course.getPrerequisites() == null ? null : List.copyOf(course.getPrerequisites()),
+                course.getEnrollments() == null ? List.of()
+                        : course.getEnrollments().stream().map(Enrollment::getEnrollmentId).toList(),
+                course.getContents() == null ? List.of()
+                        : course.getContents().stream().map(Content::getContentId).toList(),
+                course.getAssessments() == null ? List.of()
+                        : course.getAssessments().stream().map(Assessment::getAssessmentId).toList());
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.soa.Dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Item analysis of one quiz: per question difficulty (share of attempts that
+ * answered correctly), discrimination (point-biserial correlation between
+ * answering correctly and the score on the remaining questions) and how often
+ * each option was chosen.
+ */
+public class ItemAnalysisDTO {
+
+    public enum Status {
+        PENDING, READY
+    }
+
+    private Long quizId;
+    private Status status;
+    private boolean refreshing;
+    private long attemptCount;
+    private LocalDateTime computedAt;
+    private List<ItemDTO> items = List.of();
+
+    public ItemAnalysisDTO() {
+    }
+
+    public static ItemAnalysisDTO pending(Long quizId) {
+        ItemAnalysisDTO dto = new ItemAnalysisDTO();
+        dto.setQuizId(quizId);
+        dto.setStatus(Status.PENDING);
+        dto.setRefreshing(true);
+        return dto;
+    }
+
+    // Results are shared between requests, so flags are set on a copy
+    public ItemAnalysisDTO withRefreshing(boolean refreshing) {
+        ItemAnalysisDTO copy = new ItemAnalysisDTO();
+        copy.setQuizId(quizId);
+        copy.setStatus(status);
+        copy.setRefreshing(refreshing);
+        copy.setAttemptCount(attemptCount);
+        copy.setComputedAt(computedAt);
+        copy.setItems(items);
+        return copy;
+    }
+
+    public Long getQuizId() {
+        return quizId;
+    }
+
+    public void setQuizId(Long quizId) {
+        this.quizId = quizId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public boolean isRefreshing() {
+        return refreshing;
+    }
+
+    public void setRefreshing(boolean refreshing) {
+        this.refreshing = refreshing;
+    }
+
+    public long getAttemptCount() {
+        return attemptCount;
+    }
+
+    public void setAttemptCount(long attemptCount) {
+        this.attemptCount = attemptCount;
+    }
+
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(LocalDateTime computedAt) {
+        this.computedAt = computedAt;
+    }
+
+    public List<ItemDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ItemDTO> items) {
+        this.items = items;
+    }
+
+    public static class ItemDTO {
+        private Long questionId;
+        private long attempts;
+        private long omitted;
+        private Double difficulty;
+        private Double discrimination;
+        private long otherAnswers;
+        private List<OptionDTO> options;
+
+        public Long getQuestionId() {
+            return questionId;
+        }
+
+        public void setQuestionId(Long questionId) {
+            this.questionId = questionId;
+        }
+
+        public long getAttempts() {
+            return attempts;
+        }
+
+        public void setAttempts(long attempts) {
+            this.attempts = attempts;
+        }
+
+        public long getOmitted() {
+            return omitted;
+        }
+
+        public void setOmitted(long omitted) {
+            this.omitted = omitted;
+        }
+
+        public Double getDifficulty() {
+            return difficulty;
+        }
+
+        public void setDifficulty(Double difficulty) {
+            this.difficulty = difficulty;
+        }
+
+        public Double getDiscrimination() {
+            return discrimination;
+        }
+
+        public void setDiscrimination(Double discrimination) {
+            this.discrimination = discrimination;
+        }
+
+        public long getOtherAnswers() {
+            return otherAnswers;
+        }
+
+        public void setOtherAnswers(long otherAnswers) {
+            this.otherAnswers = otherAnswers;
+        }
+
+        public List<OptionDTO> getOptions() {
+            return options;
+        }
+
+        public void setOptions(List<OptionDTO> options) {
+            this.options = options;
+        }
+    }
+
+    public static class OptionDTO {
+        private String option;
+        private boolean correct;
+        private long count;
+        private double frequency;
+        private Double meanRestScore;
+
+        public String getOption() {
+            return option;
+        }
+
+        public void setOption(String option) {
+            this.option = option;
+        }
+
+        public boolean isCorrect() {
+            return correct;
+        }
+
+        public void setCorrect(boolean correct) {
+            this.correct = correct;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public double getFrequency() {
+            return frequency;
+        }
+
+        public void setFrequency(double frequency) {
+            this.frequency = frequency;
+        }
+
+        public Double getMeanRestScore() {
+            return meanRestScore;
+        }
+
+        public void setMeanRestScore(Double meanRestScore) {
+            this.meanRestScore = meanRestScore;
+        }
+    }
+}
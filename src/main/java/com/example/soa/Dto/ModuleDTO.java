@@ -11,6 +11,8 @@ public class ModuleDTO extends RepresentationModel<ModuleDTO> {
     private String description;
     private List<Long> contentIds;
     private Integer orderIndex;
+    // Entity version as read; sent back on update to detect concurrent edits
+    private Long version;
     
     // Default constructor
     public ModuleDTO() {
@@ -64,4 +66,12 @@ public class ModuleDTO extends RepresentationModel<ModuleDTO> {
     public void setOrderIndex(Integer orderIndex) {
         this.orderIndex = orderIndex;
     }
-}
\ No newline at end of file
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
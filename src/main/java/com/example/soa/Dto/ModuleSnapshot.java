@@ -0,0 +1,32 @@
+package com.example.soa.Dto;
+
+import com.example.soa.Model.Content;
+import com.example.soa.Model.Module;
+
+import java.util.List;
+
+/**
+ * Read-only copy of a module as cached by ModuleService, with the IDs of
+ * its content and the course instructor for permission checks.
+ */
+public record ModuleSnapshot(
+        Long moduleId,
+        Long courseId,
+        Long instructorId,
+        String title,
+        String description,
+        Long version,
+        List<Long> contentIds) {
+
+    public static ModuleSnapshot of(Module module) {
+        return new ModuleSnapshot(
+                module.getModuleId(),
+                module.getCourse().getCourseId(),
+                module.getCourse().getInstructor() != null ? module.getCourse().getInstructor().getUserId() : null,
+                module.getTitle(),
+                module.getDescription(),
+                module.getVersion(),
+                module.getContents() == null ? List.of()
+                        : module.getContents().stream().map(Content::getContentId).toList());
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.soa.Dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class QuizStatisticsDTO {
+    private Long quizId;
+    private long submissionCount;
+    private double averageScore;
+    private int highestScore;
+    private double standardDeviation;
+    private List<Long> histogram;
+    private Map<Long, Double> questionCorrectRates;
+
+    public Long getQuizId() {
+        return quizId;
+    }
+
+    public void setQuizId(Long quizId) {
+        this.quizId = quizId;
+    }
+
+    public long getSubmissionCount() {
+        return submissionCount;
+    }
+
+    public void setSubmissionCount(long submissionCount) {
+        this.submissionCount = submissionCount;
+    }
+
+    public double getAverageScore() {
+        return averageScore;
+    }
+
+    public void setAverageScore(double averageScore) {
+        this.averageScore = averageScore;
+    }
+
+    public int getHighestScore() {
+        return highestScore;
+    }
+
+    public void setHighestScore(int highestScore) {
+        this.highestScore = highestScore;
+    }
+
+    public double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    public void setStandardDeviation(double standardDeviation) {
+        this.standardDeviation = standardDeviation;
+    }
+
+    // Submissions per 10% score band, lowest band first
+    public List<Long> getHistogram() {
+        return histogram;
+    }
+
+    public void setHistogram(List<Long> histogram) {
+        this.histogram = histogram;
+    }
+
+    public Map<Long, Double> getQuestionCorrectRates() {
+        return questionCorrectRates;
+    }
+
+    public void setQuestionCorrectRates(Map<Long, Double> questionCorrectRates) {
+        this.questionCorrectRates = questionCorrectRates;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.soa.Dto;
+
+public class SubmissionGradeDTO {
+    private Long submissionId;
+    private Float score;
+    private String feedback;
+
+    // Default constructor
+    public SubmissionGradeDTO() {
+    }
+
+    public SubmissionGradeDTO(Long submissionId, Float score, String feedback) {
+        this.submissionId = submissionId;
+        this.score = score;
+        this.feedback = feedback;
+    }
+
+    // Getters and Setters
+    public Long getSubmissionId() {
+        return submissionId;
+    }
+
+    public void setSubmissionId(Long submissionId) {
+        this.submissionId = submissionId;
+    }
+
+    public Float getScore() {
+        return score;
+    }
+
+    public void setScore(Float score) {
+        this.score = score;
+    }
+
+    public String getFeedback() {
+        return feedback;
+    }
+
+    public void setFeedback(String feedback) {
+        this.feedback = feedback;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.soa.Dto;
+
+import com.example.soa.Model.Notification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything visible to the caller that changed since the cursor they sent.
+ * Clients upsert the changed rows, drop the deleted IDs and send the new
+ * cursor on the next call. When {@code full} is set the lists are complete
+ * and replace whatever the client had.
+ */
+public class SyncDTO {
+    private String cursor;
+    private boolean full;
+    private Changes<CourseDTO> courses = new Changes<>();
+    private Changes<ModuleDTO> modules = new Changes<>();
+    private Changes<ContentDTO> content = new Changes<>();
+    private Changes<AssessmentDTO> assessments = new Changes<>();
+    private Changes<Notification> notifications = new Changes<>();
+
+    public static class Changes<T> {
+        // Created or updated since the cursor
+        private List<T> changed = new ArrayList<>();
+        private List<Long> deleted = new ArrayList<>();
+
+        public List<T> getChanged() {
+            return changed;
+        }
+
+        public void setChanged(List<T> changed) {
+            this.changed = changed;
+        }
+
+        public List<Long> getDeleted() {
+            return deleted;
+        }
+
+        public void setDeleted(List<Long> deleted) {
+            this.deleted = deleted;
+        }
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public void setFull(boolean full) {
+        this.full = full;
+    }
+
+    public Changes<CourseDTO> getCourses() {
+        return courses;
+    }
+
+    public void setCourses(Changes<CourseDTO> courses) {
+        this.courses = courses;
+    }
+
+    public Changes<ModuleDTO> getModules() {
+        return modules;
+    }
+
+    public void setModules(Changes<ModuleDTO> modules) {
+        this.modules = modules;
+    }
+
+    public Changes<ContentDTO> getContent() {
+        return content;
+    }
+
+    public void setContent(Changes<ContentDTO> content) {
+        this.content = content;
+    }
+
+    public Changes<AssessmentDTO> getAssessments() {
+        return assessments;
+    }
+
+    public void setAssessments(Changes<AssessmentDTO> assessments) {
+        this.assessments = assessments;
+    }
+
+    public Changes<Notification> getNotifications() {
+        return notifications;
+    }
+
+    public void setNotifications(Changes<Notification> notifications) {
+        this.notifications = notifications;
+    }
+}
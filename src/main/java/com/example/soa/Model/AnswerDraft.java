@@ -0,0 +1,92 @@
+package com.example.soa.Model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * The autosaved, not yet submitted answers of one student to one quiz or
+ * assessment. Rows are written in batches by the autosave buffer, never per
+ * keystroke, and removed once the answers have been submitted.
+ */
+@Entity
+@Table(name = "answer_drafts", uniqueConstraints = @UniqueConstraint(
+        name = "uk_answer_drafts_owner", columnNames = {"student_id", "target_type", "target_id"}))
+public class AnswerDraft {
+
+    public enum Target {
+        QUIZ, ASSESSMENT
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long draftId;
+
+    @Column(name = "student_id", nullable = false)
+    private String studentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_type", nullable = false, length = 16)
+    private Target targetType;
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    // JSON object of question key to answer
+    @Column(columnDefinition = "TEXT")
+    private String answers;
+
+    private LocalDateTime updatedAt;
+
+    // Default constructor
+    public AnswerDraft() {
+    }
+
+    // Getters and Setters
+    public Long getDraftId() {
+        return draftId;
+    }
+
+    public void setDraftId(Long draftId) {
+        this.draftId = draftId;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(String studentId) {
+        this.studentId = studentId;
+    }
+
+    public Target getTargetType() {
+        return targetType;
+    }
+
+    public void setTargetType(Target targetType) {
+        this.targetType = targetType;
+    }
+
+    public Long getTargetId() {
+        return targetId;
+    }
+
+    public void setTargetId(Long targetId) {
+        this.targetId = targetId;
+    }
+
+    public String getAnswers() {
+        return answers;
+    }
+
+    public void setAnswers(String answers) {
+        this.answers = answers;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -11,14 +11,23 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Table;
+import jakarta.persistence.Index;
+import jakarta.persistence.Column;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.EntityListeners;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 
+import com.example.soa.sync.TombstoneListener;
+
 import java.util.List;
 import java.util.Objects;
 
 @Entity
-@Table(name = "assessments")
+@EntityListeners(TombstoneListener.class)
+@Table(name = "assessments", indexes = @Index(name = "idx_assessments_course_updated_at", columnList = "course_id, updated_at"))
 
 public class Assessment {
     @Id
@@ -36,33 +45,21 @@ public class Assessment {
 
     private Integer totalMarks;
 
-    private String questions;
-    private String answers;
+    // Current version of the structured questions; 0 means none published yet
+    private Integer questionVersion = 0;
+
     private LocalDateTime dueDate;
     private String instructions;
 
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     @OneToMany(mappedBy = "assessment", cascade = CascadeType.ALL)
     private List<Submission> submissions;
 
     @OneToMany(mappedBy = "assessment", cascade = CascadeType.ALL)
     private List<QuizAnswer> quizAnswers;
 
-    public void autoGradeQuiz() {
-        if (this.type == AssessmentType.QUIZ) {
-            for (Submission submission : submissions) {
-                float score = 0;
-                for (QuizAnswer answer : this.quizAnswers) {
-                    if (submission.getStudentAnswer(answer.getQuestion()).equals(answer.getCorrectAnswer())) {
-                        score += 1;
-                    }
-                }
-                submission.setScore(score);
-                System.out.println("Quiz auto-graded for student: " + submission.getStudent().getName() +
-                        ", Score: " + submission.getScore());
-            }
-        }
-    }
-
     // Default constructor
     public Assessment() {
     }
@@ -116,6 +113,28 @@ public class Assessment {
         this.totalMarks = totalMarks;
     }
 
+    public int getQuestionVersion() {
+        return questionVersion != null ? questionVersion : 0;
+    }
+
+    public void setQuestionVersion(Integer questionVersion) {
+        this.questionVersion = questionVersion;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void touch() {
+        updatedAt = Instant.now();
+    }
+
     public List<Submission> getSubmissions() {
         return submissions;
     }
@@ -0,0 +1,92 @@
+package com.example.soa.Model;
+
+import jakarta.persistence.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One question of one version of an assessment.
+ *
+ * Rows are never updated: changing an assessment's questions writes a new
+ * version, so every submission can still be rendered and graded against the
+ * exact questions it answered. {@code questionKey} identifies the question
+ * across versions and is what submissions key their answers by.
+ */
+@Entity
+@Table(name = "assessment_questions",
+       indexes = @Index(name = "idx_assessment_question_version", columnList = "assessment_id, version, position"))
+public class AssessmentQuestion extends BaseQuestion {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assessment_id", nullable = false)
+    private Assessment assessment;
+
+    @Column(nullable = false)
+    private int version;
+
+    @Column(nullable = false)
+    private int position;
+
+    @Column(nullable = false, length = 64)
+    private String questionKey;
+
+    @ElementCollection
+    @CollectionTable(name = "assessment_question_options", joinColumns = @JoinColumn(name = "question_id"))
+    @OrderColumn(name = "option_index")
+    @Column(name = "option_text")
+    private List<String> options = new ArrayList<>();
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Assessment getAssessment() {
+        return assessment;
+    }
+
+    public void setAssessment(Assessment assessment) {
+        this.assessment = assessment;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public void setPosition(int position) {
+        this.position = position;
+    }
+
+    public String getQuestionKey() {
+        return questionKey;
+    }
+
+    public void setQuestionKey(String questionKey) {
+        this.questionKey = questionKey;
+    }
+
+    @Override
+    public List<String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(List<String> options) {
+        this.options = options;
+    }
+}
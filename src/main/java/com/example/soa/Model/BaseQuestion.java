@@ -0,0 +1,69 @@
+package com.example.soa.Model;
+
+import jakarta.persistence.*;
+import java.util.List;
+
+/**
+ * Fields shared by quiz questions and assessment questions, so both are
+ * rendered and graded through the same model.
+ */
+@MappedSuperclass
+public abstract class BaseQuestion {
+
+    @Column(nullable = false)
+    private String questionText;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private QuestionType type;
+
+    @Column(name = "correct_answer")
+    private String correctAnswer;
+
+    @Column(nullable = false)
+    private Integer points = 1;
+
+    public enum QuestionType {
+        MULTIPLE_CHOICE,
+        TRUE_FALSE,
+        SHORT_ANSWER
+    }
+
+    // Each subclass keeps its options in its own collection table
+    public abstract List<String> getOptions();
+
+    public abstract void setOptions(List<String> options);
+
+    // Getters and Setters
+    public String getQuestionText() {
+        return questionText;
+    }
+
+    public void setQuestionText(String questionText) {
+        this.questionText = questionText;
+    }
+
+    public QuestionType getType() {
+        return type;
+    }
+
+    public void setType(QuestionType type) {
+        this.type = type;
+    }
+
+    public String getCorrectAnswer() {
+        return correctAnswer;
+    }
+
+    public void setCorrectAnswer(String correctAnswer) {
+        this.correctAnswer = correctAnswer;
+    }
+
+    public Integer getPoints() {
+        return points;
+    }
+
+    public void setPoints(Integer points) {
+        this.points = points;
+    }
+}
@@ -10,12 +10,18 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.EnumType;
 
 import java.time.LocalDateTime;
+import java.time.Instant;
 
 import jakarta.persistence.*;
+import com.example.soa.sync.TombstoneListener;
+import org.hibernate.annotations.DynamicUpdate;
 import java.util.Objects;
 
+// Updates write only changed columns, so edits never rewrite the index status set by bulk updates
 @Entity
-@Table(name = "content")
+@DynamicUpdate
+@EntityListeners(TombstoneListener.class)
+@Table(name = "content", indexes = @Index(name = "idx_content_course_updated_at", columnList = "course_id, updated_at"))
 public class Content {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -44,6 +50,18 @@ public class Content {
     private Integer orderIndex = 0;
     @Column(name = "content")
     private String content; // Add this field
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "index_status")
+    private IndexStatus indexStatus;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    // Optimistic lock; existing rows start at 0
+    @Version
+    @Column(name = "version", columnDefinition = "bigint default 0 not null")
+    private Long version;
     public String getContent() {
         return content;
     }
@@ -184,6 +202,19 @@ public class Content {
         PDF, VIDEO, QUIZ, LINK, TEXT, AUDIO, IMAGE, PRESENTATION, DOCUMENT, OTHER
     }
 
+    // Lifecycle of the background text extraction for uploaded files
+    public enum IndexStatus {
+        PENDING, INDEXED, UNSUPPORTED, FAILED
+    }
+
+    public IndexStatus getIndexStatus() {
+        return indexStatus;
+    }
+
+    public void setIndexStatus(IndexStatus indexStatus) {
+        this.indexStatus = indexStatus;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -230,4 +261,26 @@ public class Content {
     public void setOrderIndex(Integer orderIndex) {
         this.orderIndex = orderIndex;
     }
-}
\ No newline at end of file
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void touch() {
+        updatedAt = Instant.now();
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
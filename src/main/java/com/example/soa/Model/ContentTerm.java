@@ -0,0 +1,105 @@
+package com.example.soa.Model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.util.Objects;
+
+/**
+ * Inverted index over {@link ContentTextChunk}: one row per distinct word of
+ * a chunk, lower-cased. Search looks words up by index on (term, course_id)
+ * instead of scanning the chunk text.
+ */
+@Entity
+@Table(name = "content_terms", indexes = {
+    @Index(name = "idx_content_terms_term_course", columnList = "term, course_id"),
+    @Index(name = "idx_content_terms_chunk_term", columnList = "chunk_id, term"),
+    @Index(name = "idx_content_terms_content", columnList = "content_id")
+})
+public class ContentTerm {
+    public static final int MAX_LENGTH = 64;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long termId;
+
+    @Column(name = "term", nullable = false, length = MAX_LENGTH)
+    private String term;
+
+    @Column(name = "chunk_id", nullable = false)
+    private Long chunkId;
+
+    @Column(name = "content_id", nullable = false)
+    private Long contentId;
+
+    @Column(name = "course_id")
+    private Long courseId;
+
+    public ContentTerm() {
+    }
+
+    public ContentTerm(String term, Long chunkId, Long contentId, Long courseId) {
+        this.term = term;
+        this.chunkId = chunkId;
+        this.contentId = contentId;
+        this.courseId = courseId;
+    }
+
+    // Getters and Setters
+    public Long getTermId() {
+        return termId;
+    }
+
+    public void setTermId(Long termId) {
+        this.termId = termId;
+    }
+
+    public String getTerm() {
+        return term;
+    }
+
+    public void setTerm(String term) {
+        this.term = term;
+    }
+
+    public Long getChunkId() {
+        return chunkId;
+    }
+
+    public void setChunkId(Long chunkId) {
+        this.chunkId = chunkId;
+    }
+
+    public Long getContentId() {
+        return contentId;
+    }
+
+    public void setContentId(Long contentId) {
+        this.contentId = contentId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ContentTerm that = (ContentTerm) o;
+        return Objects.equals(termId, that.termId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(termId);
+    }
+}
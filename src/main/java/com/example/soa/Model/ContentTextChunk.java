@@ -0,0 +1,101 @@
+package com.example.soa.Model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.util.Objects;
+
+/**
+ * A slice of text extracted from an uploaded content file. Chunks are keyed by
+ * the owning content ID and their position in the document so a search hit can
+ * point back to the lecture (and roughly the place in it) where a term appears.
+ */
+@Entity
+@Table(name = "content_text_chunks", indexes = {
+    @Index(name = "idx_content_text_chunks_content", columnList = "content_id, chunk_index")
+})
+public class ContentTextChunk {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long chunkId;
+
+    @Column(name = "content_id", nullable = false)
+    private Long contentId;
+
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Column(name = "chunk_index", nullable = false)
+    private Integer chunkIndex;
+
+    @Column(name = "text", nullable = false, columnDefinition = "TEXT")
+    private String text;
+
+    public ContentTextChunk() {
+    }
+
+    public ContentTextChunk(Long contentId, Long courseId, Integer chunkIndex, String text) {
+        this.contentId = contentId;
+        this.courseId = courseId;
+        this.chunkIndex = chunkIndex;
+        this.text = text;
+    }
+
+    // Getters and Setters
+    public Long getChunkId() {
+        return chunkId;
+    }
+
+    public void setChunkId(Long chunkId) {
+        this.chunkId = chunkId;
+    }
+
+    public Long getContentId() {
+        return contentId;
+    }
+
+    public void setContentId(Long contentId) {
+        this.contentId = contentId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Integer getChunkIndex() {
+        return chunkIndex;
+    }
+
+    public void setChunkIndex(Integer chunkIndex) {
+        this.chunkIndex = chunkIndex;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ContentTextChunk that = (ContentTextChunk) o;
+        return Objects.equals(chunkId, that.chunkId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(chunkId);
+    }
+}
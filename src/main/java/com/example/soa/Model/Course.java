@@ -3,6 +3,7 @@ package com.example.soa.Model;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.time.Instant;
 import java.time.LocalDate;
 
 import jakarta.persistence.Entity;
@@ -16,10 +17,18 @@ import jakarta.persistence.CascadeType;
 import java.util.List;
 import java.util.Objects;
 import jakarta.persistence.Table;
+import jakarta.persistence.Index;
+import jakarta.persistence.Version;
 import jakarta.persistence.Column;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Convert;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.EntityListeners;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import com.example.soa.sync.TombstoneListener;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonIdentityReference;
@@ -28,7 +37,10 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 
 @Entity
-@Table(name = "courses")
+@EntityListeners(TombstoneListener.class)
+@Table(name = "courses", indexes = @Index(name = "idx_courses_updated_at", columnList = "updated_at"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "courses")
 public class Course {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -38,6 +50,14 @@ public class Course {
     @Column(name = "name", nullable = false)
     private String name;
 
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    // Optimistic lock; existing rows start at 0
+    @Version
+    @Column(name = "version", columnDefinition = "bigint default 0 not null")
+    private Long version;
+
     @Column(name = "description")
     private String description;
 
@@ -260,5 +280,27 @@ public class Course {
         if (this.name == null) {
             throw new IllegalStateException("Course name cannot be null");
         }
+        updatedAt = Instant.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = Instant.now();
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
     }
-}
\ No newline at end of file
+}
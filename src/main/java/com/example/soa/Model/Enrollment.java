@@ -8,16 +8,22 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.*;
 
+import com.example.soa.sync.TombstoneListener;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 
 import java.time.LocalDate;
+import java.time.Instant;
 import java.util.Objects;
 
 @Entity
-@Table(name = "enrollment")
+@EntityListeners(TombstoneListener.class)
+@Table(name = "enrollment", indexes = {
+        @Index(name = "idx_enrollment_student_updated_at", columnList = "student_id, updated_at"),
+        @Index(name = "idx_enrollment_course_updated_at", columnList = "course_id, updated_at")
+})
 public class Enrollment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -37,6 +43,18 @@ public class Enrollment {
     private Float progress;
     private Boolean completionStatus;
 
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    // Null for rows created before the column existed
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+
+    // Optimistic lock; existing rows start at 0
+    @Version
+    @Column(name = "version", columnDefinition = "bigint default 0 not null")
+    private Long version;
+
     // Default constructor
     public Enrollment() {
     }
@@ -130,4 +148,33 @@ public class Enrollment {
     public int hashCode() {
         return Objects.hash(enrollmentId);
     }
-}
\ No newline at end of file
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void touch() {
+        updatedAt = Instant.now();
+        if (enrollmentId == null) {
+            createdAt = updatedAt;
+        }
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -11,11 +11,25 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Version;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.EntityListeners;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.example.soa.sync.TombstoneListener;
+
 @Entity
-@Table(name = "module")
+@EntityListeners(TombstoneListener.class)
+@Table(name = "module", indexes = @Index(name = "idx_module_course_updated_at", columnList = "course_id, updated_at"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "modules")
 public class Module {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,6 +45,14 @@ public class Module {
     @Column(length = 1000)
     private String description;
 
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    // Optimistic lock; existing rows start at 0
+    @Version
+    @Column(name = "version", columnDefinition = "bigint default 0 not null")
+    private Long version;
+
     @OneToMany(mappedBy = "module", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Content> contents = new ArrayList<>();
 
@@ -90,4 +112,26 @@ public class Module {
         contents.remove(content);
         content.setModule(null);
     }
-}
\ No newline at end of file
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void touch() {
+        updatedAt = Instant.now();
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.soa.Model;
 
+import com.example.soa.sync.TombstoneListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
@@ -10,7 +11,8 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "notification")
+@EntityListeners(TombstoneListener.class)
+@Table(name = "notification", indexes = @Index(name = "idx_notification_recipient_updated_at", columnList = "recipient_email, updated_at"))
 public class Notification {
 
     @Id
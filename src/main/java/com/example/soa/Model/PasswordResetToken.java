@@ -5,12 +5,14 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = @Index(name = "idx_password_reset_token_expiry", columnList = "expiryDate"))
 public class PasswordResetToken {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    @Column(nullable = false, unique = true)
     private String token;
     
     @OneToOne(targetEntity = User.class, fetch = FetchType.EAGER)
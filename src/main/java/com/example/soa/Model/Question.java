@@ -1,44 +1,29 @@
 package com.example.soa.Model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "questions")
-public class Question {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "questions")
+public class Question extends BaseQuestion {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false)
-    private String questionText;
-
-    @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
-    private QuestionType type;
-
     @ElementCollection
     @CollectionTable(name = "question_options", joinColumns = @JoinColumn(name = "question_id"))
     @Column(name = "option_text")
     private List<String> options = new ArrayList<>();
 
-    @Column(name = "correct_answer")
-    private String correctAnswer;
-
-    @Column(nullable = false)
-    private Integer points = 1;
-
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "quiz_id")
     private Quiz quiz;
 
-    public enum QuestionType {
-        MULTIPLE_CHOICE,
-        TRUE_FALSE,
-        SHORT_ANSWER
-    }
-
     // Getters and Setters
     public Long getId() {
         return id;
@@ -48,46 +33,16 @@ public class Question {
         this.id = id;
     }
 
-    public String getQuestionText() {
-        return questionText;
-    }
-
-    public void setQuestionText(String questionText) {
-        this.questionText = questionText;
-    }
-
-    public QuestionType getType() {
-        return type;
-    }
-
-    public void setType(QuestionType type) {
-        this.type = type;
-    }
-
+    @Override
     public List<String> getOptions() {
         return options;
     }
 
+    @Override
     public void setOptions(List<String> options) {
         this.options = options;
     }
 
-    public String getCorrectAnswer() {
-        return correctAnswer;
-    }
-
-    public void setCorrectAnswer(String correctAnswer) {
-        this.correctAnswer = correctAnswer;
-    }
-
-    public Integer getPoints() {
-        return points;
-    }
-
-    public void setPoints(Integer points) {
-        this.points = points;
-    }
-
     public Quiz getQuiz() {
         return quiz;
     }
@@ -95,4 +50,4 @@ public class Question {
     public void setQuiz(Quiz quiz) {
         this.quiz = quiz;
     }
-}
\ No newline at end of file
+}
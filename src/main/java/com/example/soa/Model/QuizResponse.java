@@ -0,0 +1,77 @@
+package com.example.soa.Model;
+
+import jakarta.persistence.*;
+
+/**
+ * The answers of one quiz attempt, packed for item analysis.
+ *
+ * {@code choices} holds one byte per question, in the order of the attempt's
+ * {@link QuizResponseLayout}: which option was chosen, or whether the answer
+ * was blank or a free-text answer. Written alongside the {@link Score} it
+ * belongs to.
+ */
+@Entity
+@Table(name = "quiz_responses", indexes = @Index(name = "idx_quiz_responses_quiz", columnList = "quiz_id, score_id"))
+public class QuizResponse {
+
+    @Id
+    @Column(name = "score_id")
+    private Long scoreId;
+
+    @Column(name = "quiz_id", nullable = false)
+    private Long quizId;
+
+    @Column(name = "layout_id", nullable = false)
+    private Long layoutId;
+
+    @Column(nullable = false)
+    private Integer score;
+
+    @Column(nullable = false, length = 4096)
+    private byte[] choices;
+
+    // Default constructor
+    public QuizResponse() {
+    }
+
+    // Getters and Setters
+    public Long getScoreId() {
+        return scoreId;
+    }
+
+    public void setScoreId(Long scoreId) {
+        this.scoreId = scoreId;
+    }
+
+    public Long getQuizId() {
+        return quizId;
+    }
+
+    public void setQuizId(Long quizId) {
+        this.quizId = quizId;
+    }
+
+    public Long getLayoutId() {
+        return layoutId;
+    }
+
+    public void setLayoutId(Long layoutId) {
+        this.layoutId = layoutId;
+    }
+
+    public Integer getScore() {
+        return score;
+    }
+
+    public void setScore(Integer score) {
+        this.score = score;
+    }
+
+    public byte[] getChoices() {
+        return choices;
+    }
+
+    public void setChoices(byte[] choices) {
+        this.choices = choices;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.soa.Model;
+
+import jakarta.persistence.*;
+
+/**
+ * The question order, weights, options and correct answers a set of
+ * {@link QuizResponse} rows was encoded against. A new layout is recorded
+ * whenever the questions of a quiz change, so old responses stay readable.
+ */
+@Entity
+@Table(name = "quiz_response_layouts", uniqueConstraints = @UniqueConstraint(
+        name = "uk_quiz_response_layouts_fingerprint", columnNames = {"quiz_id", "fingerprint"}))
+public class QuizResponseLayout {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long layoutId;
+
+    @Column(name = "quiz_id", nullable = false)
+    private Long quizId;
+
+    // SHA-256 of the questions JSON
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String questions;
+
+    // Default constructor
+    public QuizResponseLayout() {
+    }
+
+    // Getters and Setters
+    public Long getLayoutId() {
+        return layoutId;
+    }
+
+    public void setLayoutId(Long layoutId) {
+        this.layoutId = layoutId;
+    }
+
+    public Long getQuizId() {
+        return quizId;
+    }
+
+    public void setQuizId(Long quizId) {
+        this.quizId = quizId;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public String getQuestions() {
+        return questions;
+    }
+
+    public void setQuestions(String questions) {
+        this.questions = questions;
+    }
+}
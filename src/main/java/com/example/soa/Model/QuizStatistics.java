@@ -0,0 +1,167 @@
+package com.example.soa.Model;
+
+import jakarta.persistence.*;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Running score statistics for one quiz, updated on every submission so that
+ * averages, spread and distribution never require scanning the scores table.
+ *
+ * All accumulators are integral, so the row always equals a full recompute
+ * over the quiz's scores.
+ */
+@Entity
+@Table(name = "quiz_statistics")
+public class QuizStatistics {
+
+    /** Number of equal-width histogram buckets over the percentage score. */
+    public static final int HISTOGRAM_BUCKETS = 10;
+
+    @Id
+    private Long quizId;
+
+    @Column(nullable = false)
+    private long submissionCount;
+
+    @Column(nullable = false)
+    private long scoreSum;
+
+    @Column(nullable = false)
+    private long scoreSumOfSquares;
+
+    private Integer maxScore;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "quiz_statistics_histogram", joinColumns = @JoinColumn(name = "quiz_id"))
+    @MapKeyColumn(name = "bucket")
+    @Column(name = "submissions")
+    private Map<Integer, Long> histogram = new HashMap<>();
+
+    // Only maintained on submit: scores do not keep the individual answers, so
+    // submissions seeded from the scores table count towards neither
+    @Column(columnDefinition = "bigint default 0 not null")
+    private long questionSubmissionCount;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "quiz_statistics_question", joinColumns = @JoinColumn(name = "quiz_id"))
+    @MapKeyColumn(name = "question_id")
+    @Column(name = "correct_count")
+    private Map<Long, Long> questionCorrectCounts = new HashMap<>();
+
+    // Default constructor
+    public QuizStatistics() {
+    }
+
+    public QuizStatistics(Long quizId) {
+        this.quizId = quizId;
+    }
+
+    public void record(int score, int totalPossibleScore, Collection<Long> correctQuestionIds) {
+        recordScore(score, totalPossibleScore);
+        questionSubmissionCount++;
+        for (Long questionId : correctQuestionIds) {
+            questionCorrectCounts.merge(questionId, 1L, Long::sum);
+        }
+    }
+
+    public void recordScore(int score, int totalPossibleScore) {
+        submissionCount++;
+        scoreSum += score;
+        scoreSumOfSquares += (long) score * score;
+        if (maxScore == null || score > maxScore) {
+            maxScore = score;
+        }
+        histogram.merge(bucketOf(score, totalPossibleScore), 1L, Long::sum);
+    }
+
+    /**
+     * Bucket of a score as a share of the possible points: bucket i holds
+     * [i * 10%, (i + 1) * 10%), with full marks in the last bucket.
+     */
+    public static int bucketOf(int score, int totalPossibleScore) {
+        if (totalPossibleScore <= 0 || score <= 0) {
+            return 0;
+        }
+        long bucket = (long) score * HISTOGRAM_BUCKETS / totalPossibleScore;
+        return (int) Math.min(bucket, HISTOGRAM_BUCKETS - 1);
+    }
+
+    public Double getAverageScore() {
+        return submissionCount == 0 ? null : (double) scoreSum / submissionCount;
+    }
+
+    public Double getStandardDeviation() {
+        if (submissionCount == 0) {
+            return null;
+        }
+        double mean = (double) scoreSum / submissionCount;
+        return Math.sqrt(Math.max(0.0, (double) scoreSumOfSquares / submissionCount - mean * mean));
+    }
+
+    // Getters and Setters
+    public Long getQuizId() {
+        return quizId;
+    }
+
+    public void setQuizId(Long quizId) {
+        this.quizId = quizId;
+    }
+
+    public long getSubmissionCount() {
+        return submissionCount;
+    }
+
+    public void setSubmissionCount(long submissionCount) {
+        this.submissionCount = submissionCount;
+    }
+
+    public long getScoreSum() {
+        return scoreSum;
+    }
+
+    public void setScoreSum(long scoreSum) {
+        this.scoreSum = scoreSum;
+    }
+
+    public long getScoreSumOfSquares() {
+        return scoreSumOfSquares;
+    }
+
+    public void setScoreSumOfSquares(long scoreSumOfSquares) {
+        this.scoreSumOfSquares = scoreSumOfSquares;
+    }
+
+    public Integer getMaxScore() {
+        return maxScore;
+    }
+
+    public void setMaxScore(Integer maxScore) {
+        this.maxScore = maxScore;
+    }
+
+    public Map<Integer, Long> getHistogram() {
+        return histogram;
+    }
+
+    public void setHistogram(Map<Integer, Long> histogram) {
+        this.histogram = histogram;
+    }
+
+    public long getQuestionSubmissionCount() {
+        return questionSubmissionCount;
+    }
+
+    public void setQuestionSubmissionCount(long questionSubmissionCount) {
+        this.questionSubmissionCount = questionSubmissionCount;
+    }
+
+    public Map<Long, Long> getQuestionCorrectCounts() {
+        return questionCorrectCounts;
+    }
+
+    public void setQuestionCorrectCounts(Map<Long, Long> questionCorrectCounts) {
+        this.questionCorrectCounts = questionCorrectCounts;
+    }
+}
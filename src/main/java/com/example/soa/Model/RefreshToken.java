@@ -2,20 +2,27 @@ package com.example.soa.Model;
 
 import jakarta.persistence.*;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Objects;
 
+/**
+ * The current refresh token of a user. Only a SHA-256 hash of the token
+ * handed to the client is stored, in a fixed-size uniquely indexed column;
+ * each user has at most one row, replaced in place on every login.
+ */
 @Entity
+@Table(name = "refresh_tokens", indexes = @Index(name = "idx_refresh_tokens_expiry", columnList = "expiryDate"))
 public class RefreshToken {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne // Consider using @ManyToOne if users can have multiple refresh tokens
-    @JoinColumn(name = "user_id", referencedColumnName = "userId", nullable = false)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", referencedColumnName = "userId", nullable = false, unique = true)
     private User user;
 
-    @Column(nullable = false, unique = true)
-    private String token;
+    @Column(name = "token_hash", nullable = false, unique = true, length = 32)
+    private byte[] tokenHash;
 
     @Column(nullable = false)
     private Instant expiryDate;
@@ -24,9 +31,9 @@ public class RefreshToken {
     public RefreshToken() {
     }
 
-    public RefreshToken(User user, String token, Instant expiryDate) {
+    public RefreshToken(User user, byte[] tokenHash, Instant expiryDate) {
         this.user = user;
-        this.token = token;
+        this.tokenHash = tokenHash;
         this.expiryDate = expiryDate;
     }
 
@@ -47,12 +54,12 @@ public class RefreshToken {
         this.user = user;
     }
 
-    public String getToken() {
-        return token;
+    public byte[] getTokenHash() {
+        return tokenHash;
     }
 
-    public void setToken(String token) {
-        this.token = token;
+    public void setTokenHash(byte[] tokenHash) {
+        this.tokenHash = tokenHash;
     }
 
     public Instant getExpiryDate() {
@@ -77,12 +84,12 @@ public class RefreshToken {
             return false;
         RefreshToken that = (RefreshToken) o;
         return Objects.equals(id, that.id) &&
-                Objects.equals(token, that.token) &&
+                Arrays.equals(tokenHash, that.tokenHash) &&
                 Objects.equals(expiryDate, that.expiryDate);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, token, expiryDate);
+        return Objects.hash(id, Arrays.hashCode(tokenHash), expiryDate);
     }
 }
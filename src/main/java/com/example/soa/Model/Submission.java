@@ -1,12 +1,15 @@
 package com.example.soa.Model;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 
 @Entity
+@Table(indexes = @Index(name = "idx_submission_assessment_updated_at", columnList = "assessment_id, updated_at"))
 public class Submission {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -34,7 +37,20 @@ public class Submission {
     @Column(columnDefinition = "TEXT")
     private String content;
 
+    // Assessment question version the student answered
+    private Integer questionVersion;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    // Optimistic lock; existing rows start at 0
+    @Version
+    @Column(name = "version", columnDefinition = "bigint default 0 not null")
+    private Long version;
+
+    // Initializing one submission's answers loads them for up to 100 loaded submissions in one IN query
     @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(name = "student_answers", joinColumns = @JoinColumn(name = "submission_id"))
     @MapKeyColumn(name = "question")
     @Column(name = "answer")
@@ -67,6 +83,14 @@ public class Submission {
     }
 
     // Getters and Setters
+    public Integer getQuestionVersion() {
+        return questionVersion;
+    }
+
+    public void setQuestionVersion(Integer questionVersion) {
+        this.questionVersion = questionVersion;
+    }
+
     public Long getSubmissionId() {
         return submissionId;
     }
@@ -192,4 +216,26 @@ public class Submission {
     public int hashCode() {
         return Objects.hash(submissionId);
     }
-}
\ No newline at end of file
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void touch() {
+        updatedAt = Instant.now();
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
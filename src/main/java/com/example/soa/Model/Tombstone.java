@@ -0,0 +1,105 @@
+package com.example.soa.Model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Record of a deleted row, kept so that sync clients that last saw the row
+ * can be told to drop it. Written by {@link com.example.soa.sync.TombstoneListener}
+ * and purged after {@code app.sync.tombstone-retention-days}.
+ *
+ * The scope columns say who may see the deletion: {@code courseId} for rows
+ * that belong to a course, {@code userId} for a course's instructor or an
+ * enrollment's student, {@code recipientEmail} for notifications.
+ */
+@Entity
+@Table(name = "tombstone", indexes = {
+        @Index(name = "idx_tombstone_deleted_at", columnList = "deleted_at"),
+        @Index(name = "idx_tombstone_course_deleted_at", columnList = "course_id, deleted_at"),
+        @Index(name = "idx_tombstone_user_deleted_at", columnList = "user_id, deleted_at"),
+        @Index(name = "idx_tombstone_recipient_deleted_at", columnList = "recipient_email, deleted_at")
+})
+public class Tombstone {
+
+    public enum EntityType {
+        COURSE, MODULE, CONTENT, ASSESSMENT, ENROLLMENT, NOTIFICATION
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "recipient_email")
+    private String recipientEmail;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+
+    public Tombstone() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(EntityType entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getRecipientEmail() {
+        return recipientEmail;
+    }
+
+    public void setRecipientEmail(String recipientEmail) {
+        this.recipientEmail = recipientEmail;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(Instant deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+}
@@ -3,7 +3,10 @@ package com.example.soa.Model;
 import java.util.List;
 import java.util.ArrayList;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.Objects;
+import java.time.Instant;
 import java.util.Set;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -11,6 +14,8 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "users")
 public class User {
 
     @Id
@@ -54,6 +59,9 @@ public class User {
     @JsonManagedReference(value="user-enrollment")
     private List<Enrollment> enrollments = new ArrayList<>();
 
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     @OneToMany(mappedBy = "student", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonIgnore
     private Set<Submission> submissions;
@@ -210,4 +218,18 @@ public class User {
     public int hashCode() {
         return Objects.hash(userId, email);
     }
-}
\ No newline at end of file
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void touch() {
+        updatedAt = Instant.now();
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.soa.Repository;
+
+import com.example.soa.Model.AnswerDraft;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AnswerDraftRepository extends JpaRepository<AnswerDraft, Long> {
+
+    Optional<AnswerDraft> findByStudentIdAndTargetTypeAndTargetId(String studentId, AnswerDraft.Target targetType, Long targetId);
+}
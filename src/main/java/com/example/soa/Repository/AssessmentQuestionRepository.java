@@ -0,0 +1,28 @@
+package com.example.soa.Repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.soa.Model.AssessmentQuestion;
+
+@Repository
+public interface AssessmentQuestionRepository extends JpaRepository<AssessmentQuestion, Long> {
+
+    @EntityGraph(attributePaths = {"options"})
+    List<AssessmentQuestion> findByAssessment_AssessmentIdAndVersionOrderByPosition(Long assessmentId, int version);
+
+    interface AnswerKeyRow {
+        String getQuestionKey();
+        String getCorrectAnswer();
+        Integer getPoints();
+    }
+
+    @Query("SELECT q.questionKey AS questionKey, q.correctAnswer AS correctAnswer, q.points AS points FROM AssessmentQuestion q " +
+           "WHERE q.assessment.assessmentId = :assessmentId AND q.version = :version ORDER BY q.position")
+    List<AnswerKeyRow> findAnswerKeyRows(@Param("assessmentId") Long assessmentId, @Param("version") int version);
+}
@@ -2,9 +2,16 @@ package com.example.soa.Repository;
 
 
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.soa.Model.Assessment;
@@ -15,4 +22,20 @@ import com.example.soa.Model.Assessment;
 public interface AssessmentRepository extends JpaRepository<Assessment, Long> {
     
     List<Assessment> findByCourse_CourseId(Long courseId);
+
+    List<Assessment> findByCourse_CourseIdIn(Collection<Long> courseIds);
+
+    // Rows changed at or after the cursor, oldest change first
+    List<Assessment> findByCourse_CourseIdInAndUpdatedAtGreaterThanEqualOrderByUpdatedAtAsc(Collection<Long> courseIds, Instant since);
+
+    @Query("SELECT COALESCE(a.questionVersion, 0) FROM Assessment a WHERE a.assessmentId = :assessmentId")
+    Optional<Integer> findQuestionVersion(@Param("assessmentId") Long assessmentId);
+
+    @Query("SELECT a.course.courseId FROM Assessment a WHERE a.assessmentId = :assessmentId")
+    Optional<Long> findCourseId(@Param("assessmentId") Long assessmentId);
+
+    // Serializes concurrent publishes of new question versions
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Assessment a WHERE a.assessmentId = :assessmentId")
+    Optional<Assessment> findByIdForUpdate(@Param("assessmentId") Long assessmentId);
 }
\ No newline at end of file
@@ -1,9 +1,16 @@
 package com.example.soa.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.soa.Model.Content;
 import com.example.soa.Model.Course;
@@ -13,4 +20,23 @@ public interface ContentRepository extends JpaRepository<Content, Long> {
     List<Content> findByCourse(Course course);
     List<Content> findByCourse_CourseId(Long courseId);
     List<Content> findByModule_ModuleId(Long moduleId);
-}
\ No newline at end of file
+
+    List<Content> findByCourse_CourseIdIn(Collection<Long> courseIds);
+
+    // Rows changed at or after the cursor, oldest change first
+    List<Content> findByCourse_CourseIdInAndUpdatedAtGreaterThanEqualOrderByUpdatedAtAsc(Collection<Long> courseIds, Instant since);
+
+    // IDs of uploaded files still waiting for text extraction, oldest first
+    @Query("SELECT c.contentId FROM Content c WHERE c.indexStatus = :status ORDER BY c.contentId")
+    List<Long> findIdsByIndexStatus(@Param("status") Content.IndexStatus status, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Content c SET c.indexStatus = :status WHERE c.contentId = :contentId")
+    int updateIndexStatus(@Param("contentId") Long contentId, @Param("status") Content.IndexStatus status);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Content c SET c.indexStatus = :status WHERE c.fileUrl IS NOT NULL")
+    int markAllFilesWithStatus(@Param("status") Content.IndexStatus status);
+}
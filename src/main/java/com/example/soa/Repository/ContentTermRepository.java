@@ -0,0 +1,49 @@
+package com.example.soa.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.soa.Model.ContentTerm;
+
+/**
+ * Chunk lookups over the inverted term index. Prefixes are LIKE patterns
+ * escaped with '\'. Unless {@code allCourses} is set, only chunks of
+ * {@code courseIds} are returned; the list must not be empty.
+ */
+@Repository
+public interface ContentTermRepository extends JpaRepository<ContentTerm, Long> {
+
+    @Query("SELECT t.chunkId FROM ContentTerm t WHERE t.term LIKE :prefix ESCAPE '\\' "
+            + "AND (:allCourses = true OR t.courseId IN :courseIds) "
+            + "GROUP BY t.contentId, t.chunkId ORDER BY t.contentId, t.chunkId")
+    List<Long> findChunkIdsByPrefix(@Param("prefix") String prefix,
+                                    @Param("allCourses") boolean allCourses,
+                                    @Param("courseIds") Collection<Long> courseIds,
+                                    Pageable pageable);
+
+    // Chunks containing every one of the words and a word starting with the prefix
+    @Query("SELECT t.chunkId FROM ContentTerm t WHERE t.term IN :words "
+            + "AND (:allCourses = true OR t.courseId IN :courseIds) "
+            + "AND EXISTS (SELECT p.termId FROM ContentTerm p WHERE p.chunkId = t.chunkId AND p.term LIKE :prefix ESCAPE '\\') "
+            + "GROUP BY t.contentId, t.chunkId HAVING COUNT(t.term) = :wordCount "
+            + "ORDER BY t.contentId, t.chunkId")
+    List<Long> findChunkIdsByWordsAndPrefix(@Param("words") Collection<String> words,
+                                            @Param("wordCount") long wordCount,
+                                            @Param("prefix") String prefix,
+                                            @Param("allCourses") boolean allCourses,
+                                            @Param("courseIds") Collection<Long> courseIds,
+                                            Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ContentTerm t WHERE t.contentId = :contentId")
+    int deleteByContentId(@Param("contentId") Long contentId);
+}
@@ -0,0 +1,20 @@
+package com.example.soa.Repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.soa.Model.ContentTextChunk;
+
+@Repository
+public interface ContentTextChunkRepository extends JpaRepository<ContentTextChunk, Long> {
+
+    // Set-based delete so re-indexing a document does not load its old chunks first
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ContentTextChunk c WHERE c.contentId = :contentId")
+    int deleteByContentId(@Param("contentId") Long contentId);
+}
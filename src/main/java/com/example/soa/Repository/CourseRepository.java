@@ -3,11 +3,26 @@ package com.example.soa.Repository;
 import com.example.soa.Model.Course;
 import com.example.soa.Model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
     List<Course> findByInstructor(User instructor);
+
+    // Rows changed at or after the cursor, oldest change first
+    List<Course> findByUpdatedAtGreaterThanEqualOrderByUpdatedAtAsc(Instant since);
+
+    List<Course> findByCourseIdInAndUpdatedAtGreaterThanEqualOrderByUpdatedAtAsc(Collection<Long> courseIds, Instant since);
+
+    @Query("SELECT c.courseId FROM Course c")
+    List<Long> findAllIds();
+
+    @Query("SELECT c.courseId FROM Course c WHERE c.instructor.userId = :instructorId")
+    List<Long> findIdsByInstructorId(@Param("instructorId") Long instructorId);
 }
@@ -4,7 +4,10 @@ import com.example.soa.Model.Enrollment;
 import com.example.soa.Model.User;
 import com.example.soa.Model.Course;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.Instant;
 import java.util.Optional;
 import java.util.List;
 
@@ -17,4 +20,12 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     Optional<Enrollment> findByStudent_UserIdAndCourse_CourseId(Long studentId, Long courseId);
     
     List<Enrollment> findByStudent_UserId(Long studentId);
+
+    @Query("SELECT e.course.courseId FROM Enrollment e WHERE e.student.userId = :studentId")
+    List<Long> findCourseIdsByStudentId(@Param("studentId") Long studentId);
+
+    // Courses the student joined at or after the cursor; a new row has updated_at = created_at
+    @Query("SELECT e.course.courseId FROM Enrollment e WHERE e.student.userId = :studentId " +
+           "AND e.updatedAt >= :since AND e.createdAt >= :since")
+    List<Long> findCourseIdsEnrolledSince(@Param("studentId") Long studentId, @Param("since") Instant since);
 }
@@ -4,6 +4,8 @@ import com.example.soa.Model.Module;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,6 +14,11 @@ public interface ModuleRepository extends JpaRepository<Module, Long> {
     List<Module> findByCourse_CourseId(Long courseId);
     
     List<Module> findByCourse_CourseIdOrderByModuleId(Long courseId);
+
+    List<Module> findByCourse_CourseIdIn(Collection<Long> courseIds);
+
+    // Rows changed at or after the cursor, oldest change first
+    List<Module> findByCourse_CourseIdInAndUpdatedAtGreaterThanEqualOrderByUpdatedAtAsc(Collection<Long> courseIds, Instant since);
     
     // If you add an orderIndex field to the Module entity, you can use this method
     // List<Module> findByCourse_CourseIdOrderByOrderIndex(Long courseId);
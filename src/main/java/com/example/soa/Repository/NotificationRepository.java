@@ -8,12 +8,16 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByRecipientEmailOrderByCreatedAtDesc(String recipientEmail);
+
+    // Rows changed at or after the cursor, oldest change first
+    List<Notification> findByRecipientEmailAndUpdatedAtGreaterThanEqualOrderByUpdatedAtAsc(String recipientEmail, Instant since);
     
     List<Notification> findByRecipientEmailAndIsReadOrderByCreatedAtDesc(String recipientEmail, boolean isRead);
     
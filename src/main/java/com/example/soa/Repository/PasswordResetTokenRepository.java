@@ -2,9 +2,16 @@ package com.example.soa.Repository;
 
 import com.example.soa.Model.PasswordResetToken;
 import com.example.soa.Model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +19,12 @@ public interface PasswordResetTokenRepository extends JpaRepository<PasswordRese
     Optional<PasswordResetToken> findByToken(String token);
     Optional<PasswordResetToken> findByUser(User user);
     void deleteByUser(User user);
-}
\ No newline at end of file
+
+    // Bounded batch for the expired-token sweeper; served by the expiry index
+    @Query("SELECT t.id FROM PasswordResetToken t WHERE t.expiryDate < :cutoff")
+    List<Long> findExpiredIds(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM PasswordResetToken t WHERE t.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
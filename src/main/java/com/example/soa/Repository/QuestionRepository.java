@@ -0,0 +1,23 @@
+package com.example.soa.Repository;
+
+import com.example.soa.Model.Question;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface QuestionRepository extends JpaRepository<Question, Long> {
+
+    // Column-only projection used to compile answer keys without loading Question entities
+    interface AnswerKeyRow {
+        Long getId();
+        String getCorrectAnswer();
+        Integer getPoints();
+    }
+
+    @Query("SELECT q.id AS id, q.correctAnswer AS correctAnswer, q.points AS points FROM Question q WHERE q.quiz.id = :quizId ORDER BY q.id")
+    List<AnswerKeyRow> findAnswerKeyRows(@Param("quizId") Long quizId);
+}
@@ -6,6 +6,8 @@ package com.example.soa.Repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.soa.Model.QuizAnswer;
@@ -14,4 +16,13 @@ import com.example.soa.Model.QuizAnswer;
 public interface QuizAnswerRepository extends JpaRepository<QuizAnswer, Long> {
    
     List<QuizAnswer> findByAssessment_AssessmentId(Long assessmentId);
-}
\ No newline at end of file
+
+    // Column-only projection used to compile answer keys without loading the assessment graph
+    interface AnswerKeyRow {
+        String getQuestion();
+        String getCorrectAnswer();
+    }
+
+    @Query("SELECT qa.question AS question, qa.correctAnswer AS correctAnswer FROM QuizAnswer qa WHERE qa.assessment.assessmentId = :assessmentId ORDER BY qa.answerId")
+    List<AnswerKeyRow> findAnswerKeyRows(@Param("assessmentId") Long assessmentId);
+}
@@ -1,12 +1,15 @@
 package com.example.soa.Repository;
 
 import com.example.soa.Model.Quiz;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
 public interface QuizRepository extends JpaRepository<Quiz, Long> {
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Quiz> findByActive(boolean active);
     List<Quiz> findByTitleContainingIgnoreCase(String title);
 }
\ No newline at end of file
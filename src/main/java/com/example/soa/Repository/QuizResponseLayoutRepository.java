@@ -0,0 +1,24 @@
+package com.example.soa.Repository;
+
+import com.example.soa.Model.QuizResponseLayout;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface QuizResponseLayoutRepository extends JpaRepository<QuizResponseLayout, Long> {
+
+    Optional<QuizResponseLayout> findByQuizIdAndFingerprint(Long quizId, String fingerprint);
+
+    List<QuizResponseLayout> findByQuizId(Long quizId);
+
+    @Modifying
+    @Query("DELETE FROM QuizResponseLayout l WHERE l.quizId = :quizId")
+    int deleteByQuizId(@Param("quizId") Long quizId);
+}
@@ -0,0 +1,35 @@
+package com.example.soa.Repository;
+
+import com.example.soa.Model.QuizResponse;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface QuizResponseRepository extends JpaRepository<QuizResponse, Long> {
+
+    // Column-only projection read by item analysis
+    interface ResponseRow {
+        Long getScoreId();
+        Long getLayoutId();
+        Integer getScore();
+        byte[] getChoices();
+    }
+
+    // Keyset page: pass the last score ID of the previous page (0 to start)
+    @Query("SELECT r.scoreId AS scoreId, r.layoutId AS layoutId, r.score AS score, r.choices AS choices " +
+           "FROM QuizResponse r WHERE r.quizId = :quizId AND r.scoreId > :afterId ORDER BY r.scoreId")
+    List<ResponseRow> findPage(@Param("quizId") Long quizId, @Param("afterId") Long afterId, Pageable pageable);
+
+    boolean existsByQuizIdAndScoreIdGreaterThan(Long quizId, Long scoreId);
+
+    @Modifying
+    @Query("DELETE FROM QuizResponse r WHERE r.quizId = :quizId")
+    int deleteByQuizId(@Param("quizId") Long quizId);
+}
@@ -0,0 +1,21 @@
+package com.example.soa.Repository;
+
+import com.example.soa.Model.QuizStatistics;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface QuizStatisticsRepository extends JpaRepository<QuizStatistics, Long> {
+
+    // Serializes concurrent submissions to the same quiz on its statistics row
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT qs FROM QuizStatistics qs WHERE qs.quizId = :quizId")
+    Optional<QuizStatistics> findByIdForUpdate(@Param("quizId") Long quizId);
+}
@@ -1,29 +1,37 @@
 package com.example.soa.Repository;
 
 import com.example.soa.Model.RefreshToken;
-import com.example.soa.Model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
-    Optional<RefreshToken> findByToken(String token);
 
-    boolean existsByToken(String token); // Check if a token exists
+    // Unique index lookup; the user is a lazy reference, so only the token row is read
+    Optional<RefreshToken> findByTokenHash(byte[] tokenHash);
 
-    void deleteByUser_UserId(Long userId); // More efficient than deleteByUser(User user)
-
-    @Query("SELECT rt FROM RefreshToken rt WHERE rt.user.id = :userId AND rt.expiryDate > :now")
+    @Query("SELECT rt FROM RefreshToken rt WHERE rt.user.userId = :userId AND rt.expiryDate > :now")
     Optional<RefreshToken> findValidTokenByUserId(@Param("userId") Long userId, @Param("now") Instant now);
 
+    // One set-based statement instead of the derived select-then-delete-each
+    @Modifying
+    @Query("DELETE FROM RefreshToken rt WHERE rt.user.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    // Bounded batch for the expired-token sweeper; served by the expiry index
+    @Query("SELECT rt.id FROM RefreshToken rt WHERE rt.expiryDate < :cutoff")
+    List<Long> findExpiredIds(@Param("cutoff") Instant cutoff, Pageable pageable);
+
     @Modifying
-    @Transactional
-    void deleteByUser(User user);
+    @Query("DELETE FROM RefreshToken rt WHERE rt.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
 }
@@ -4,6 +4,7 @@ import com.example.soa.Model.Score;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -19,4 +20,24 @@ public interface ScoreRepository extends JpaRepository<Score, Long> {
     
     @Query("SELECT MAX(s.score) FROM Score s WHERE s.quiz.id = :quizId")
     Integer getHighestScoreForQuiz(Long quizId);
+
+    interface ScoreRow {
+        Integer getScore();
+        Integer getTotalPossibleScore();
+    }
+
+    @Query("SELECT s.score AS score, s.totalPossibleScore AS totalPossibleScore FROM Score s WHERE s.quiz.id = :quizId")
+    List<ScoreRow> findScoreRowsByQuizId(Long quizId);
+
+    interface LeaderboardRow {
+        String getStudentId();
+        Integer getScore();
+        LocalDateTime getSubmissionTime();
+    }
+
+    @Query("SELECT s.studentId AS studentId, s.score AS score, s.submissionTime AS submissionTime FROM Score s WHERE s.quiz.id = :quizId")
+    List<LeaderboardRow> findLeaderboardRowsByQuizId(Long quizId);
+
+    @Query("SELECT DISTINCT s.quiz.id FROM Score s")
+    List<Long> findScoredQuizIds();
 }
\ No newline at end of file
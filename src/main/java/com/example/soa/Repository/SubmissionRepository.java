@@ -3,9 +3,15 @@ package com.example.soa.Repository;
 
 
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.soa.Model.Submission;
@@ -13,5 +19,39 @@ import com.example.soa.Model.Submission;
 @Repository
 public interface SubmissionRepository extends JpaRepository<Submission, Long> {
     
+    // Students and answers are fetched with the submissions instead of one query per row
+    @EntityGraph(attributePaths = {"student", "studentAnswers"})
     List<Submission> findByAssessment_AssessmentId(Long assessmentId);
-}
\ No newline at end of file
+
+    @Query("SELECT s.submissionId FROM Submission s WHERE s.assessment.assessmentId = :assessmentId AND s.submissionId IN :submissionIds")
+    List<Long> findIdsInAssessment(@Param("assessmentId") Long assessmentId, @Param("submissionIds") Collection<Long> submissionIds);
+
+    long countByAssessment_AssessmentId(Long assessmentId);
+
+    // Keyset page of submission IDs; pass the last ID of the previous page as afterId
+    @Query("SELECT s.submissionId FROM Submission s WHERE s.assessment.assessmentId = :assessmentId AND s.submissionId > :afterId ORDER BY s.submissionId")
+    List<Long> findIdsAfter(@Param("assessmentId") Long assessmentId, @Param("afterId") Long afterId, Pageable pageable);
+
+    interface AnswerRow {
+        Long getSubmissionId();
+        String getQuestion();
+        String getAnswer();
+    }
+
+    @Query("SELECT s.submissionId AS submissionId, KEY(a) AS question, VALUE(a) AS answer FROM Submission s JOIN s.studentAnswers a WHERE s.submissionId IN :submissionIds")
+    List<AnswerRow> findAnswerRows(@Param("submissionIds") Collection<Long> submissionIds);
+
+    interface GradedRow {
+        Long getAssessmentId();
+        Long getStudentId();
+        Float getScore();
+        LocalDateTime getSubmissionDate();
+    }
+
+    @Query("SELECT s.assessment.assessmentId AS assessmentId, s.student.userId AS studentId, s.score AS score, s.submissionDate AS submissionDate " +
+           "FROM Submission s WHERE s.assessment.course.courseId = :courseId AND s.score IS NOT NULL")
+    List<GradedRow> findGradedRowsByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT DISTINCT s.assessment.course.courseId FROM Submission s WHERE s.score IS NOT NULL")
+    List<Long> findGradedCourseIds();
+}
@@ -0,0 +1,34 @@
+package com.example.soa.Repository;
+
+import com.example.soa.Model.Tombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+
+    // Each lookup below is served by one of the (scope, deleted_at) indexes
+    List<Tombstone> findByCourseIdInAndDeletedAtGreaterThanEqual(Collection<Long> courseIds, Instant since);
+
+    List<Tombstone> findByUserIdAndDeletedAtGreaterThanEqual(Long userId, Instant since);
+
+    List<Tombstone> findByRecipientEmailAndDeletedAtGreaterThanEqual(String recipientEmail, Instant since);
+
+    List<Tombstone> findByEntityTypeAndDeletedAtGreaterThanEqual(Tombstone.EntityType entityType, Instant since);
+
+    // Bounded batch for the retention sweep
+    @Query("SELECT t.id FROM Tombstone t WHERE t.deletedAt < :cutoff")
+    List<Long> findExpiredIds(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Tombstone t WHERE t.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
@@ -1,13 +1,28 @@
 package com.example.soa.Repository;
 
 import com.example.soa.Model.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Resolved on every authenticated request; served from the query cache
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    // Compare-and-set, so a concurrent password change is never overwritten
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newPassword WHERE u.userId = :userId AND u.password = :oldPassword")
+    int replacePassword(@Param("userId") Long userId, @Param("oldPassword") String oldPassword,
+                        @Param("newPassword") String newPassword);
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.example.soa.Service;
+
+import com.example.soa.Dto.AssessmentQuestionDTO;
+import com.example.soa.Dto.AssessmentQuestionSetDTO;
+import com.example.soa.Model.Assessment;
+import com.example.soa.Model.AssessmentQuestion;
+import com.example.soa.Model.BaseQuestion;
+import com.example.soa.Repository.AssessmentQuestionRepository;
+import com.example.soa.Repository.AssessmentRepository;
+import com.example.soa.config.CacheConfig;
+import com.example.soa.exception.AssessmentNotFoundException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Publishes and serves the structured, versioned questions of assessments.
+ *
+ * A published version is immutable, so its rendered form is cached under
+ * (assessment, version) and never needs evicting; publishing simply makes a
+ * new version current.
+ */
+@Service
+public class AssessmentQuestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AssessmentQuestionService.class);
+
+    @Autowired
+    private AssessmentRepository assessmentRepository;
+
+    @Autowired
+    private AssessmentQuestionRepository questionRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Replaces the questions of an assessment by publishing them as a new
+     * version. Questions that keep their {@code questionKey} are treated as the
+     * same question, so answers recorded against earlier versions still grade.
+     */
+    @Transactional
+    public AssessmentQuestionSetDTO publishQuestions(Long assessmentId, List<AssessmentQuestionDTO> questions) {
+        Assessment assessment = assessmentRepository.findByIdForUpdate(assessmentId)
+                .orElseThrow(() -> new AssessmentNotFoundException("Assessment not found with ID: " + assessmentId));
+        int version = assessment.getQuestionVersion() + 1;
+
+        Set<String> keys = new HashSet<>();
+        List<AssessmentQuestion> rows = new ArrayList<>(questions.size());
+        for (int position = 0; position < questions.size(); position++) {
+            AssessmentQuestionDTO dto = questions.get(position);
+            if (dto.getQuestionText() == null || dto.getQuestionText().isBlank()) {
+                throw new IllegalArgumentException("Question " + (position + 1) + " has no text");
+            }
+            String key = dto.getQuestionKey() != null && !dto.getQuestionKey().isBlank()
+                    ? dto.getQuestionKey().trim()
+                    : UUID.randomUUID().toString().substring(0, 8);
+            if (!keys.add(key)) {
+                throw new IllegalArgumentException("Duplicate question key: " + key);
+            }
+
+            AssessmentQuestion row = new AssessmentQuestion();
+            row.setAssessment(assessment);
+            row.setVersion(version);
+            row.setPosition(position);
+            row.setQuestionKey(key);
+            row.setQuestionText(dto.getQuestionText());
+            row.setType(parseType(dto.getType()));
+            row.setOptions(dto.getOptions() != null ? new ArrayList<>(dto.getOptions()) : new ArrayList<>());
+            row.setCorrectAnswer(dto.getCorrectAnswer());
+            row.setPoints(dto.getPoints() != null ? dto.getPoints() : 1);
+            rows.add(row);
+        }
+        questionRepository.saveAll(rows);
+        assessment.setQuestionVersion(version);
+
+        logger.info("Published version {} of assessment {} with {} questions", version, assessmentId, rows.size());
+        return toQuestionSet(assessmentId, version, rows);
+    }
+
+    /**
+     * The current questions of an assessment, including correct answers.
+     */
+    @Transactional(readOnly = true)
+    public AssessmentQuestionSetDTO getCurrentQuestions(Long assessmentId) {
+        int version = assessmentRepository.findQuestionVersion(assessmentId)
+                .orElseThrow(() -> new AssessmentNotFoundException("Assessment not found with ID: " + assessmentId));
+        return getQuestions(assessmentId, version);
+    }
+
+    /**
+     * A specific question version, including correct answers.
+     */
+    @Transactional(readOnly = true)
+    public AssessmentQuestionSetDTO getQuestions(Long assessmentId, int version) {
+        Cache cache = cacheManager.getCache(CacheConfig.ASSESSMENT_QUESTIONS);
+        String cacheKey = assessmentId + ":" + version;
+        if (cache == null) {
+            return loadQuestions(assessmentId, version);
+        }
+        return cache.get(cacheKey, () -> loadQuestions(assessmentId, version));
+    }
+
+    private AssessmentQuestionSetDTO loadQuestions(Long assessmentId, int version) {
+        List<AssessmentQuestion> rows = questionRepository.findByAssessment_AssessmentIdAndVersionOrderByPosition(assessmentId, version);
+        return toQuestionSet(assessmentId, version, rows);
+    }
+
+    private AssessmentQuestionSetDTO toQuestionSet(Long assessmentId, int version, List<AssessmentQuestion> rows) {
+        List<AssessmentQuestionDTO> questions = new ArrayList<>(rows.size());
+        for (AssessmentQuestion row : rows) {
+            AssessmentQuestionDTO dto = new AssessmentQuestionDTO();
+            dto.setQuestionKey(row.getQuestionKey());
+            dto.setQuestionText(row.getQuestionText());
+            dto.setType(row.getType().name());
+            dto.setOptions(List.copyOf(row.getOptions()));
+            dto.setPoints(row.getPoints());
+            dto.setCorrectAnswer(row.getCorrectAnswer());
+            questions.add(dto);
+        }
+        return new AssessmentQuestionSetDTO(assessmentId, version, List.copyOf(questions));
+    }
+
+    private static BaseQuestion.QuestionType parseType(String type) {
+        if (type == null) {
+            return BaseQuestion.QuestionType.SHORT_ANSWER;
+        }
+        try {
+            return BaseQuestion.QuestionType.valueOf(type.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid question type: " + type);
+        }
+    }
+}
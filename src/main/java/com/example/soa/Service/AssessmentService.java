@@ -1,7 +1,11 @@
 package com.example.soa.Service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.soa.Dto.SubmissionGradeDTO;
 
 import com.example.soa.Model.Assessment;
 import com.example.soa.Model.QuizAnswer;
@@ -9,11 +13,24 @@ import com.example.soa.Model.Submission;
 import com.example.soa.Repository.AssessmentRepository;
 import com.example.soa.Repository.QuizAnswerRepository;
 import com.example.soa.Repository.SubmissionRepository;
+import com.example.soa.exception.AssessmentNotFoundException;
+import com.example.soa.grading.BulkRegradeService;
+import com.example.soa.grading.GradingEngine;
+import com.example.soa.grading.RegradeJob;
+import com.example.soa.leaderboard.LeaderboardService;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.TimeZone;
 
 @Service
 public class AssessmentService {
@@ -29,6 +46,27 @@ public class AssessmentService {
     @Autowired
     private SubmissionRepository submissionRepository;
 
+    @Autowired
+    private GradingEngine gradingEngine;
+
+    @Autowired
+    private BulkRegradeService bulkRegradeService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Written behind Hibernate's back, so the version and change timestamp are bumped here
+    private static final String GRADE_SUBMISSION_SQL =
+            "UPDATE submission SET score = ?, feedback = COALESCE(?, feedback), graded_by = ?, graded_date = ?, " +
+            "updated_at = ?, version = version + 1 WHERE submission_id = ?";
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private static final int GRADE_BATCH_SIZE = 500;
+
     public Assessment createAssessment(Assessment assessment) {
         logger.info("Creating assessment with title: {}", assessment.getTitle());
         Assessment createdAssessment = assessmentRepository.save(assessment);
@@ -41,23 +79,29 @@ public class AssessmentService {
         quizAnswer.setAssessment(assessmentRepository.findById(assessmentId)
                 .orElseThrow(() -> new RuntimeException("Assessment not found with ID: " + assessmentId)));
         QuizAnswer savedQuizAnswer = quizAnswerRepository.save(quizAnswer);
+        gradingEngine.invalidateAssessment(assessmentId);
         logger.info("Quiz answer added successfully with ID: {}", savedQuizAnswer.getAnswerId());
         return savedQuizAnswer;
     }
 
-    public void autoGradeQuiz(Long assessmentId) {
+    /**
+     * Re-grades all submissions of a quiz assessment in the background.
+     *
+     * @return the job tracking the re-grade
+     */
+    public RegradeJob autoGradeQuiz(Long assessmentId) {
         logger.info("Auto-grading quiz for assessment with ID: {}", assessmentId);
         Assessment assessment = assessmentRepository.findById(assessmentId)
-                .orElseThrow(() -> new RuntimeException("Assessment not found with ID: " + assessmentId));
-        assessment.autoGradeQuiz();
-        assessmentRepository.save(assessment);
-        logger.info("Quiz auto-graded successfully for assessment with ID: {}", assessmentId);
+                .orElseThrow(() -> new AssessmentNotFoundException("Assessment not found with ID: " + assessmentId));
+        return bulkRegradeService.start(assessment);
     }
 
     public Submission submitAssessment(Long assessmentId, Submission submission) {
         logger.info("Submitting assessment with ID: {}", assessmentId);
-        submission.setAssessment(assessmentRepository.findById(assessmentId)
-                .orElseThrow(() -> new RuntimeException("Assessment not found with ID: " + assessmentId)));
+        Assessment assessment = assessmentRepository.findById(assessmentId)
+                .orElseThrow(() -> new RuntimeException("Assessment not found with ID: " + assessmentId));
+        submission.setAssessment(assessment);
+        submission.setQuestionVersion(assessment.getQuestionVersion());
         Submission savedSubmission = submissionRepository.save(submission);
         logger.info("Assessment submitted successfully with submission ID: {}", savedSubmission.getSubmissionId());
         return savedSubmission;
@@ -69,4 +113,55 @@ public class AssessmentService {
         logger.info("Fetched {} submissions for assessment with ID: {}", submissions.size(), assessmentId);
         return submissions;
     }
-}
\ No newline at end of file
+
+    /**
+     * Applies many manual grades in one transaction using JDBC batch updates.
+     * Either every grade is applied or, if any submission does not belong to
+     * the assessment, none is.
+     *
+     * @return the number of submissions graded
+     */
+    @Transactional
+    public int gradeSubmissions(Long assessmentId, List<SubmissionGradeDTO> grades, Long gradedBy) {
+        logger.info("Bulk grading {} submissions for assessment with ID: {}", grades.size(), assessmentId);
+        Assessment assessment = assessmentRepository.findById(assessmentId)
+                .orElseThrow(() -> new AssessmentNotFoundException("Assessment not found with ID: " + assessmentId));
+
+        Set<Long> requestedIds = new HashSet<>();
+        for (SubmissionGradeDTO grade : grades) {
+            if (grade.getSubmissionId() == null || grade.getScore() == null) {
+                throw new IllegalArgumentException("Each grade needs a submissionId and a score");
+            }
+            if (!requestedIds.add(grade.getSubmissionId())) {
+                throw new IllegalArgumentException("Submission " + grade.getSubmissionId() + " is graded more than once");
+            }
+        }
+        Set<Long> knownIds = new HashSet<>();
+        List<Long> idList = new ArrayList<>(requestedIds);
+        for (int from = 0; from < idList.size(); from += GRADE_BATCH_SIZE) {
+            List<Long> chunk = idList.subList(from, Math.min(from + GRADE_BATCH_SIZE, idList.size()));
+            knownIds.addAll(submissionRepository.findIdsInAssessment(assessmentId, chunk));
+        }
+        requestedIds.removeAll(knownIds);
+        if (!requestedIds.isEmpty()) {
+            throw new IllegalArgumentException("Submissions not found in assessment " + assessmentId + ": " + requestedIds);
+        }
+
+        Timestamp gradedDate = Timestamp.valueOf(LocalDateTime.now());
+        Timestamp updatedAt = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(GRADE_SUBMISSION_SQL, grades, GRADE_BATCH_SIZE, (ps, grade) -> {
+            ps.setFloat(1, grade.getScore());
+            ps.setString(2, grade.getFeedback());
+            ps.setLong(3, gradedBy);
+            ps.setTimestamp(4, gradedDate);
+            ps.setTimestamp(5, updatedAt, Calendar.getInstance(UTC));
+            ps.setLong(6, grade.getSubmissionId());
+        });
+
+        if (assessment.getCourse() != null) {
+            leaderboardService.invalidateCourse(assessment.getCourse().getCourseId());
+        }
+        logger.info("Bulk graded {} submissions for assessment with ID: {}", grades.size(), assessmentId);
+        return grades.size();
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.soa.Service;
 
+import com.example.soa.Dto.ContentSnapshot;
 import com.example.soa.Model.Content;
 import com.example.soa.Model.User;
-import com.example.soa.Repository.EnrollmentRepository;
+import com.example.soa.Repository.CourseRepository;
 import com.example.soa.exception.AccessDeniedException;
+import com.example.soa.loader.RequestLoader;
 import com.example.soa.security.UserPrincipal;
 
 import org.slf4j.Logger;
@@ -13,6 +15,9 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Service to handle content access permissions based on enrollment status
  * and user roles.
@@ -23,7 +28,10 @@ public class ContentAccessService {
     private static final Logger logger = LoggerFactory.getLogger(ContentAccessService.class);
 
     @Autowired
-    private EnrollmentRepository enrollmentRepository;
+    private RequestLoader requestLoader;
+
+    @Autowired
+    private CourseRepository courseRepository;
 
     /**
      * Checks if the current user has access to the specified content.
@@ -36,6 +44,15 @@ public class ContentAccessService {
      * @return true if access is allowed, false otherwise
      */
     public boolean hasAccessToContent(Content content) {
+        User instructor = content.getCourse().getInstructor();
+        return hasAccessToCourse(content.getCourse().getCourseId(), instructor != null ? instructor.getUserId() : null);
+    }
+
+    public boolean hasAccessToContent(ContentSnapshot content) {
+        return hasAccessToCourse(content.courseId(), content.instructorId());
+    }
+
+    private boolean hasAccessToCourse(Long courseId, Long instructorId) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         
         // If not authenticated, deny access
@@ -48,7 +65,6 @@ public class ContentAccessService {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
         Long userId = userPrincipal.getId();
         User.Role userRole = userPrincipal.getRole();
-        Long courseId = content.getCourse().getCourseId();
         
         // Admins always have access
         if (userRole == User.Role.ADMIN) {
@@ -57,16 +73,15 @@ public class ContentAccessService {
         }
         
         // Instructors have access to their own courses
-        if (userRole == User.Role.INSTRUCTOR && 
-            content.getCourse().getInstructor() != null && 
-            content.getCourse().getInstructor().getUserId().equals(userId)) {
+        if (userRole == User.Role.INSTRUCTOR && userId.equals(instructorId)) {
             logger.debug("Access granted: User is the instructor of the course");
             return true;
         }
         
         // Students need to be enrolled in the course
         if (userRole == User.Role.STUDENT) {
-            boolean isEnrolled = enrollmentRepository.findByStudent_UserIdAndCourse_CourseId(userId, courseId).isPresent();
+            // Answered from the request's memo after the first check
+            boolean isEnrolled = requestLoader.isEnrolled(userId, courseId);
             logger.debug("Student enrollment check for userId {} in courseId {}: {}", userId, courseId, isEnrolled);
             return isEnrolled;
         }
@@ -75,6 +90,30 @@ public class ContentAccessService {
         return false;
     }
     
+    /**
+     * Courses whose content the current user may read: null for an admin
+     * (every course), the taught courses for an instructor, the enrolled
+     * ones for a student, and none otherwise. Lets queries filter by access
+     * before they page.
+     */
+    public Collection<Long> accessibleCourseIds() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || 
+            !(authentication.getPrincipal() instanceof UserPrincipal userPrincipal)) {
+            return List.of();
+        }
+        switch (userPrincipal.getRole()) {
+            case ADMIN:
+                return null;
+            case INSTRUCTOR:
+                return courseRepository.findIdsByInstructorId(userPrincipal.getId());
+            case STUDENT:
+                return requestLoader.enrolledCourseIds(userPrincipal.getId());
+            default:
+                return List.of();
+        }
+    }
+    
     /**
      * Verifies that the current user has access to the content.
      * Throws an AccessDeniedException if access is denied.
@@ -82,7 +121,7 @@ public class ContentAccessService {
      * @param content The content to check access for
      * @throws AccessDeniedException if the user does not have access
      */
-    public void verifyContentAccess(Content content) {
+    public void verifyContentAccess(ContentSnapshot content) {
         if (!hasAccessToContent(content)) {
             throw new AccessDeniedException("You do not have permission to access this content");
         }
@@ -0,0 +1,315 @@
+package com.example.soa.Service;
+
+import com.example.soa.Model.Content;
+import com.example.soa.Model.ContentTerm;
+import com.example.soa.Model.ContentTextChunk;
+import com.example.soa.Repository.ContentRepository;
+import com.example.soa.Repository.ContentTermRepository;
+import com.example.soa.Repository.ContentTextChunkRepository;
+import com.example.soa.util.DocumentTextExtractor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Background text extraction for uploaded content files.
+ *
+ * The persisted {@link Content.IndexStatus} is the source of truth: uploads are
+ * marked PENDING and handed to a small, bounded worker pool. Anything that does
+ * not fit in the queue, or was still pending when the application stopped, is
+ * picked up again by the periodic backlog sweep, so indexing resumes after a
+ * restart without ever blocking request threads.
+ */
+@Service
+public class ContentIndexingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentIndexingService.class);
+
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int TERM_BATCH_SIZE = 500;
+    private static final String INSERT_TERM_SQL =
+            "INSERT INTO content_terms (term, chunk_id, content_id, course_id) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    private ContentTextChunkRepository chunkRepository;
+
+    @Autowired
+    private ContentTermRepository termRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DocumentTextExtractor textExtractor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.indexing.workers:2}")
+    private int workers;
+
+    @Value("${app.indexing.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${app.indexing.chunk-size:1000}")
+    private int chunkSize;
+
+    private ThreadPoolExecutor executor;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    private Counter indexedCounter;
+    private Counter failedCounter;
+    private Counter unsupportedCounter;
+    private Counter chunkCounter;
+    private Counter termCounter;
+    private Counter byteCounter;
+    private Timer extractionTimer;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "content-indexer-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        indexedCounter = meterRegistry.counter("content.indexing.documents", "result", "indexed");
+        failedCounter = meterRegistry.counter("content.indexing.documents", "result", "failed");
+        unsupportedCounter = meterRegistry.counter("content.indexing.documents", "result", "unsupported");
+        chunkCounter = meterRegistry.counter("content.indexing.chunks");
+        termCounter = meterRegistry.counter("content.indexing.terms");
+        byteCounter = meterRegistry.counter("content.indexing.bytes");
+        extractionTimer = meterRegistry.timer("content.indexing.duration");
+        meterRegistry.gauge("content.indexing.queue.size", executor, e -> e.getQueue().size());
+        meterRegistry.gauge("content.indexing.inflight", inFlight, Set::size);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Interrupted documents keep their PENDING status and are re-queued on the next start
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues a content item for extraction. Returns false when the item is
+     * already queued or the pool is saturated; in the latter case the item stays
+     * PENDING and the backlog sweep retries it later.
+     */
+    public boolean submit(Long contentId) {
+        if (contentId == null || !inFlight.add(contentId)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> indexContent(contentId));
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(contentId);
+            logger.debug("Indexing queue full, content {} left for the backlog sweep", contentId);
+            return false;
+        }
+    }
+
+    /**
+     * Marks every uploaded file for re-indexing. The work itself is drained by
+     * the backlog sweep at the pool's pace.
+     */
+    public int reindexAll() {
+        int marked = contentRepository.markAllFilesWithStatus(Content.IndexStatus.PENDING);
+        logger.info("Marked {} content files for re-indexing", marked);
+        return marked;
+    }
+
+    @Scheduled(initialDelayString = "${app.indexing.initial-delay-ms:10000}",
+               fixedDelayString = "${app.indexing.poll-interval-ms:30000}")
+    public void drainBacklog() {
+        int free = executor.getQueue().remainingCapacity();
+        if (free == 0) {
+            return;
+        }
+        // Over-fetch by the in-flight count since those rows are still PENDING
+        List<Long> pending = contentRepository.findIdsByIndexStatus(
+                Content.IndexStatus.PENDING, PageRequest.of(0, free + inFlight.size()));
+        int queued = 0;
+        for (Long contentId : pending) {
+            if (queued >= free) {
+                break;
+            }
+            if (submit(contentId)) {
+                queued++;
+            }
+        }
+        if (queued > 0) {
+            logger.info("Queued {} pending content files for indexing", queued);
+        }
+    }
+
+    /**
+     * Chunks containing every word of the query, the last one matched as a
+     * prefix so partly typed words still find something. Words are looked up
+     * in the term index, restricted to {@code courseIds} before the limit is
+     * applied.
+     *
+     * @param courseIds courses the caller may read, or null for all of them
+     * @return matching chunks in document order, at most {@code limit}
+     */
+    public List<ContentTextChunk> search(String query, Collection<Long> courseIds, int limit) {
+        List<String> words = new ArrayList<>(terms(query));
+        if (words.isEmpty() || (courseIds != null && courseIds.isEmpty())) {
+            return List.of();
+        }
+        boolean allCourses = courseIds == null;
+        Collection<Long> scope = allCourses ? List.of(-1L) : courseIds;
+        String prefix = escapeLike(words.remove(words.size() - 1)) + "%";
+        PageRequest page = PageRequest.of(0, limit);
+        List<Long> chunkIds = words.isEmpty()
+                ? termRepository.findChunkIdsByPrefix(prefix, allCourses, scope, page)
+                : termRepository.findChunkIdsByWordsAndPrefix(words, words.size(), prefix, allCourses, scope, page);
+        if (chunkIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ContentTextChunk> byId = chunkRepository.findAllById(chunkIds).stream()
+                .collect(Collectors.toMap(ContentTextChunk::getChunkId, Function.identity()));
+        return chunkIds.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    public void removeIndex(Long contentId) {
+        termRepository.deleteByContentId(contentId);
+        chunkRepository.deleteByContentId(contentId);
+    }
+
+    /**
+     * Distinct lower-cased words of the text, in order of first appearance,
+     * cut to the length the term column holds. Used for both indexing and
+     * queries so the two always agree.
+     */
+    static Set<String> terms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (text == null) {
+            return terms;
+        }
+        Matcher matcher = WORD.matcher(text.toLowerCase(Locale.ROOT));
+        while (matcher.find()) {
+            String word = matcher.group();
+            if (word.length() >= MIN_TERM_LENGTH) {
+                terms.add(word.length() > ContentTerm.MAX_LENGTH ? word.substring(0, ContentTerm.MAX_LENGTH) : word);
+            }
+        }
+        return terms;
+    }
+
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private void indexTerms(List<ContentTextChunk> chunks) {
+        List<ContentTerm> rows = new ArrayList<>();
+        for (ContentTextChunk chunk : chunks) {
+            for (String term : terms(chunk.getText())) {
+                rows.add(new ContentTerm(term, chunk.getChunkId(), chunk.getContentId(), chunk.getCourseId()));
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_TERM_SQL, rows, TERM_BATCH_SIZE, (ps, row) -> {
+            ps.setString(1, row.getTerm());
+            ps.setLong(2, row.getChunkId());
+            ps.setLong(3, row.getContentId());
+            ps.setObject(4, row.getCourseId(), Types.BIGINT);
+        });
+        termCounter.increment(rows.size());
+    }
+
+    private void indexContent(Long contentId) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Content content = contentRepository.findById(contentId).orElse(null);
+            if (content == null || content.getFileUrl() == null) {
+                return;
+            }
+
+            DocumentTextExtractor.DocumentFormat format =
+                    textExtractor.detectFormat(content.getFileName(), content.getFileType());
+            Path path = Paths.get(content.getFileUrl());
+            if (format == null || !Files.isReadable(path)) {
+                contentRepository.updateIndexStatus(contentId, Content.IndexStatus.UNSUPPORTED);
+                unsupportedCounter.increment();
+                return;
+            }
+
+            String text = textExtractor.extract(path, format);
+            List<String> chunks = textExtractor.chunk(text, chunkSize);
+            Long courseId = content.getCourse() != null ? content.getCourse().getCourseId() : null;
+
+            List<ContentTextChunk> rows = new ArrayList<>(chunks.size());
+            for (int i = 0; i < chunks.size(); i++) {
+                rows.add(new ContentTextChunk(contentId, courseId, i, chunks.get(i)));
+            }
+            // The old index is replaced and the status flipped together: a failure part way
+            // rolls back to the previous index instead of leaving a partial one behind
+            transactionTemplate.executeWithoutResult(status -> {
+                termRepository.deleteByContentId(contentId);
+                chunkRepository.deleteByContentId(contentId);
+                indexTerms(chunkRepository.saveAll(rows));
+                contentRepository.updateIndexStatus(contentId, Content.IndexStatus.INDEXED);
+            });
+
+            indexedCounter.increment();
+            chunkCounter.increment(rows.size());
+            byteCounter.increment(Files.size(path));
+            logger.info("Indexed content {} into {} chunks", contentId, rows.size());
+        } catch (Exception e) {
+            logger.error("Failed to index content {}: {}", contentId, e.getMessage(), e);
+            contentRepository.updateIndexStatus(contentId, Content.IndexStatus.FAILED);
+            failedCounter.increment();
+        } finally {
+            sample.stop(extractionTimer);
+            inFlight.remove(contentId);
+        }
+    }
+}
@@ -1,10 +1,20 @@
 package com.example.soa.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.example.soa.config.CacheConfig;
+import com.example.soa.Dto.ContentSnapshot;
 import com.example.soa.Model.Content;
-import com.example.soa.Model.Course;
 import com.example.soa.exception.ContentNotFoundException;
 import com.example.soa.Repository.ContentRepository;
 import org.slf4j.Logger;
@@ -16,11 +26,25 @@ public class ContentService {
     
     @Autowired
     private ContentRepository contentRepository;
+
+    @Autowired
+    private ContentIndexingService contentIndexingService;
+
+    @Autowired
+    private CacheManager cacheManager;
     
     public Content uploadContent(Content content) {
         logger.info("Uploading content for course ID: {}", content.getCourse().getCourseId());
+        if (content.getFileUrl() != null) {
+            content.setIndexStatus(Content.IndexStatus.PENDING);
+        }
         Content savedContent = contentRepository.save(content);
         logger.info("Content uploaded successfully with ID: {}", savedContent.getContentId());
+        // Cached courses and modules list their content
+        evictOwners(savedContent);
+        if (savedContent.getIndexStatus() == Content.IndexStatus.PENDING) {
+            contentIndexingService.submit(savedContent.getContentId());
+        }
         return savedContent;
     }
     
@@ -39,15 +63,69 @@ public class ContentService {
         return content;
     }
     
-    public Content updateContent(Content content) {
-        logger.info("Updating content with ID: {}", content.getContentId());
+    // Only a read-only snapshot is cached; updates always load the entity
+    @Cacheable(cacheNames = CacheConfig.CONTENTS, key = "#contentId")
+    @Transactional(readOnly = true)
+    public ContentSnapshot getContentSnapshot(Long contentId) {
+        return ContentSnapshot.of(getContentById(contentId));
+    }
+    
+    /**
+     * Several items at once: those in the content cache are taken from it,
+     * the rest are read with one IN query and cached. IDs that do not exist
+     * are left out of the result.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, ContentSnapshot> getContentsByIds(Collection<Long> contentIds) {
+        Map<Long, ContentSnapshot> found = new HashMap<>();
+        Cache contents = cacheManager.getCache(CacheConfig.CONTENTS);
+        List<Long> missing = new ArrayList<>();
+        for (Long id : contentIds) {
+            ContentSnapshot cached = contents != null ? contents.get(id, ContentSnapshot.class) : null;
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Content content : contentRepository.findAllById(missing)) {
+                ContentSnapshot snapshot = ContentSnapshot.of(content);
+                found.put(content.getContentId(), snapshot);
+                if (contents != null) {
+                    contents.put(content.getContentId(), snapshot);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Copies the editable fields of {@code changes} onto the stored content.
+     * Only changed columns are written, so the index status kept by
+     * ContentIndexingService is left as it is.
+     *
+     * @param changes title, description, text, active flag, order and the version the client edited
+     */
+    @Transactional
+    public Content updateContent(Long contentId, Content changes) {
+        logger.info("Updating content with ID: {}", contentId);
         
-        // Verify content exists
-        Content existingContent = contentRepository.findById(content.getContentId())
-                .orElseThrow(() -> new ContentNotFoundException("Content not found with ID: " + content.getContentId()));
+        Content existingContent = contentRepository.findById(contentId)
+                .orElseThrow(() -> new ContentNotFoundException("Content not found with ID: " + contentId));
+        // The client edited an older version; a concurrent save in between is caught by @Version
+        if (changes.getVersion() != null && !changes.getVersion().equals(existingContent.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Content.class, contentId);
+        }
+        existingContent.setTitle(changes.getTitle());
+        existingContent.setDescription(changes.getDescription());
+        existingContent.setContent(changes.getContent());
+        existingContent.setIsActive(changes.getIsActive());
+        existingContent.setOrderIndex(changes.getOrderIndex());
         
-        // Update the content
-        Content updatedContent = contentRepository.save(content);
+        Content updatedContent = contentRepository.saveAndFlush(existingContent);
+        CacheConfig.evictAfterCommit(cacheManager, CacheConfig.CONTENTS, contentId);
+        evictOwners(updatedContent);
         logger.info("Content updated successfully with ID: {}", updatedContent.getContentId());
         return updatedContent;
     }
@@ -60,6 +138,19 @@ public class ContentService {
                 .orElseThrow(() -> new ContentNotFoundException("Content not found with ID: " + contentId));
         
         contentRepository.delete(content);
+        contentIndexingService.removeIndex(contentId);
+        CacheConfig.evictAfterCommit(cacheManager, CacheConfig.CONTENTS, contentId);
+        evictOwners(content);
         logger.info("Content deleted successfully with ID: {}", contentId);
     }
-}
\ No newline at end of file
+
+    // The owning course and module are only known once the content is loaded, so evict them by hand
+    private void evictOwners(Content content) {
+        if (content.getCourse() != null) {
+            CacheConfig.evictAfterCommit(cacheManager, CacheConfig.COURSES, content.getCourse().getCourseId());
+        }
+        if (content.getModule() != null) {
+            CacheConfig.evictAfterCommit(cacheManager, CacheConfig.MODULES, content.getModule().getModuleId());
+        }
+    }
+}
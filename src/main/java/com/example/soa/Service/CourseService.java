@@ -1,5 +1,7 @@
 package com.example.soa.Service;
 
+import com.example.soa.config.CacheConfig;
+import com.example.soa.Dto.CourseSnapshot;
 import com.example.soa.Model.Course;
 import com.example.soa.Model.Enrollment;
 import com.example.soa.Model.User;
@@ -7,10 +9,16 @@ import com.example.soa.Repository.CourseRepository;
 import com.example.soa.Repository.UserRepository;
 import com.example.soa.exception.CourseNotFoundException;
 import com.example.soa.exception.UserNotFoundException;
+import com.example.soa.loader.RequestLoader;
+import com.example.soa.security.UserPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -26,6 +34,12 @@ public class CourseService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private RequestLoader requestLoader;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     public Course createCourse(Course course) {
         // If instructor ID is provided, verify the instructor exists
         if (course.getInstructor() != null && course.getInstructor().getUserId() != null) {
@@ -45,9 +59,20 @@ public class CourseService {
                 .orElseThrow(() -> new CourseNotFoundException("Course not found with ID: " + courseId));
     }
 
+    // Only a read-only snapshot is cached; writes always load the entity
+    @Cacheable(cacheNames = CacheConfig.COURSES, key = "#courseId")
+    @Transactional(readOnly = true)
+    public CourseSnapshot getCourseSnapshot(Long courseId) {
+        return CourseSnapshot.of(getCourseById(courseId));
+    }
+
     public Course updateCourse(Long courseId, Course course) {
         Course existingCourse = courseRepository.findById(courseId)
                 .orElseThrow(() -> new CourseNotFoundException("Course not found with ID: " + courseId));
+        // The client edited an older version; a concurrent save in between is caught by @Version
+        if (course.getVersion() != null && !course.getVersion().equals(existingCourse.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Course.class, courseId);
+        }
         existingCourse.setTitle(course.getTitle());
         existingCourse.setDescription(course.getDescription());
         
@@ -69,6 +94,7 @@ public class CourseService {
         }
         
         Course updatedCourse = courseRepository.save(existingCourse);
+        CacheConfig.evictAfterCommit(cacheManager, CacheConfig.COURSES, courseId);
 
         // Send notifications to enrolled students
         for (Enrollment enrollment : updatedCourse.getEnrollments()) {
@@ -93,26 +119,34 @@ public class CourseService {
         Course existingCourse = courseRepository.findById(courseId)
                 .orElseThrow(() -> new CourseNotFoundException("Course not found with ID: " + courseId));
         courseRepository.delete(existingCourse);
+        CacheConfig.evictAfterCommit(cacheManager, CacheConfig.COURSES, courseId);
     }
 
     public Course assignInstructor(Long courseId, Long instructorId) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new CourseNotFoundException("Course not found with ID: " + courseId));
-        User instructor = userRepository.findById(instructorId)
+        User instructor = requestLoader.user(instructorId)
                 .orElseThrow(() -> new UserNotFoundException("Instructor not found with ID: " + instructorId));
         course.setInstructor(instructor);
-        return courseRepository.save(course);
+        Course savedCourse = courseRepository.save(course);
+        CacheConfig.evictAfterCommit(cacheManager, CacheConfig.COURSES, courseId);
+        return savedCourse;
     }
     
     public User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        // Already read by the JWT filter in this request
+        if (authentication.getPrincipal() instanceof UserPrincipal principal && principal.getId() != null) {
+            return requestLoader.user(principal.getId())
+                    .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + principal.getId()));
+        }
         String email = authentication.getName();
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException("User not found with email: " + email));
     }
     
     public List<Course> getCoursesByInstructor(Long instructorId) {
-        User instructor = userRepository.findById(instructorId)
+        User instructor = requestLoader.user(instructorId)
                 .orElseThrow(() -> new UserNotFoundException("Instructor not found with ID: " + instructorId));
         return courseRepository.findByInstructor(instructor);
     }
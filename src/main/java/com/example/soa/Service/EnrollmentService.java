@@ -6,9 +6,11 @@ import com.example.soa.Model.Course;
 import com.example.soa.Repository.EnrollmentRepository;
 import com.example.soa.Repository.UserRepository;
 import com.example.soa.Repository.CourseRepository;
+import com.example.soa.config.CacheConfig;
 import com.example.soa.exception.EnrollmentNotFoundException;
 import com.example.soa.exception.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
 import org.slf4j.Logger;
@@ -31,6 +33,9 @@ public class EnrollmentService {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     public Enrollment enrollStudent(Long studentId, Long courseId) {
         logger.info("Enrolling student with ID: {} to course with ID: {}", studentId, courseId);
         
@@ -55,6 +60,8 @@ public class EnrollmentService {
         enrollment.setCompletionStatus(false);
         
         Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
+        // Cached courses carry their enrollment list
+        CacheConfig.evictAfterCommit(cacheManager, CacheConfig.COURSES, courseId);
         logger.info("Student enrolled successfully with enrollment ID: {}", savedEnrollment.getEnrollmentId());
         return savedEnrollment;
     }
@@ -64,6 +71,7 @@ public class EnrollmentService {
         Enrollment enrollment = enrollmentRepository.findByStudent_UserIdAndCourse_CourseId(studentId, courseId)
                 .orElseThrow(() -> new EnrollmentNotFoundException("Enrollment not found for student ID: " + studentId + " and course ID: " + courseId));
         enrollmentRepository.delete(enrollment);
+        CacheConfig.evictAfterCommit(cacheManager, CacheConfig.COURSES, courseId);
         logger.info("Student unenrolled successfully from course with ID: {}", courseId);
     }
 
@@ -0,0 +1,134 @@
+package com.example.soa.Service;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HexFormat;
+
+/**
+ * Weak ETags for the large JSON lists, computed from a single aggregate query
+ * over the rows behind each list (row count, highest id, latest updated_at)
+ * instead of from the serialized body. A matching If-None-Match is answered
+ * with 304 before the list is loaded or mapped.
+ *
+ * Inserts raise the highest id, deletes lower the count and edits move
+ * updated_at, so any change to a row shown in a list changes its tag. Lists
+ * whose content depends on the caller include the caller in the tag.
+ */
+@Service
+public class EntityTagService {
+
+    // Must be stored by the client to be revalidated, but never served without asking
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    // Course cards carry their enrollment, content and assessment ids
+    private static final String COURSES_SQL =
+            "SELECT (SELECT COUNT(*) FROM courses), (SELECT MAX(course_id) FROM courses), " +
+            "(SELECT MAX(updated_at) FROM courses), " +
+            "(SELECT COUNT(*) FROM enrollment), (SELECT MAX(enrollment_id) FROM enrollment), " +
+            "(SELECT COUNT(*) FROM content), (SELECT MAX(content_id) FROM content), " +
+            "(SELECT MAX(updated_at) FROM content), " +
+            "(SELECT COUNT(*) FROM assessments), (SELECT MAX(assessment_id) FROM assessments)";
+
+    // Access to content depends on the caller's role and enrollment in the course
+    private static final String COURSE_CONTENT_SQL =
+            "SELECT (SELECT COUNT(*) FROM content WHERE course_id = ?), " +
+            "(SELECT MAX(content_id) FROM content WHERE course_id = ?), " +
+            "(SELECT MAX(updated_at) FROM content WHERE course_id = ?), " +
+            "(SELECT COUNT(*) FROM enrollment WHERE course_id = ?), " +
+            "(SELECT MAX(enrollment_id) FROM enrollment WHERE course_id = ?), " +
+            "(SELECT MAX(updated_at) FROM enrollment WHERE course_id = ?), " +
+            "(SELECT updated_at FROM users WHERE user_id = ?)";
+
+    // Roster rows carry the student's name and email
+    private static final String ROSTER_SQL =
+            "SELECT COUNT(*), MAX(e.enrollment_id), MAX(e.updated_at), MAX(u.updated_at) " +
+            "FROM enrollment e LEFT JOIN users u ON u.user_id = e.student_id WHERE e.course_id = ?";
+
+    // A student's enrollments carry the course title
+    private static final String STUDENT_ENROLLMENTS_SQL =
+            "SELECT COUNT(*), MAX(e.enrollment_id), MAX(e.updated_at), MAX(c.updated_at) " +
+            "FROM enrollment e LEFT JOIN courses c ON c.course_id = e.course_id WHERE e.student_id = ?";
+
+    // Read flags are also changed in bulk, which does not move updated_at
+    private static final String NOTIFICATIONS_SQL =
+            "SELECT COUNT(*), MAX(notification_id), MAX(updated_at), " +
+            "SUM(CASE WHEN is_read THEN 1 ELSE 0 END) FROM notification WHERE recipient_email = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EntityTagService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Sets the revalidation headers and compares the tag with If-None-Match.
+     *
+     * @return true if the response has been completed as 304 and the caller
+     *         should return null without building a body
+     */
+    public boolean checkNotModified(ServletWebRequest request, String etag) {
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE.getHeaderValue());
+        }
+        return request.checkNotModified(etag);
+    }
+
+    /**
+     * @param userId the caller, for lists filtered by role; null if the list is the same for everyone
+     */
+    public String courses(Long userId) {
+        return query("courses:" + userId, COURSES_SQL);
+    }
+
+    public String courseContent(Long courseId, Long userId) {
+        return query("content:" + courseId + ":" + userId, COURSE_CONTENT_SQL,
+                courseId, courseId, courseId, courseId, courseId, courseId, userId);
+    }
+
+    public String courseRoster(Long courseId) {
+        return query("roster:" + courseId, ROSTER_SQL, courseId);
+    }
+
+    public String studentEnrollments(Long studentId) {
+        return query("enrollments:" + studentId, STUDENT_ENROLLMENTS_SQL, studentId);
+    }
+
+    public String notifications(String recipientEmail) {
+        return query("notifications:" + recipientEmail, NOTIFICATIONS_SQL, recipientEmail);
+    }
+
+    private String query(String scope, String sql, Object... args) {
+        String aggregate = jdbcTemplate.query(sql, EntityTagService::joinColumns, args);
+        return weakTag(scope + "|" + aggregate);
+    }
+
+    private static String joinColumns(ResultSet rs) throws SQLException {
+        StringBuilder joined = new StringBuilder();
+        if (rs.next()) {
+            int columns = rs.getMetaData().getColumnCount();
+            for (int i = 1; i <= columns; i++) {
+                joined.append(rs.getString(i)).append('|');
+            }
+        }
+        return joined.toString();
+    }
+
+    // The aggregate itself would leak row counts, so only a digest of it is sent
+    static String weakTag(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return "W/\"" + HexFormat.of().formatHex(digest, 0, 12) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
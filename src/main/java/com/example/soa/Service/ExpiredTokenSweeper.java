@@ -0,0 +1,105 @@
+package com.example.soa.Service;
+
+import com.example.soa.Repository.PasswordResetTokenRepository;
+import com.example.soa.Repository.RefreshTokenRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Periodically deletes expired refresh and password-reset tokens.
+ *
+ * Each batch selects up to {@code app.token-sweep.batch-size} expired IDs
+ * through the expiry index and deletes them with one set-based statement in a
+ * short transaction of its own, so the sweep never holds locks on a large
+ * range. A run stops after {@code app.token-sweep.max-batches} batches per
+ * table; whatever is left is picked up by the next run.
+ */
+@Service
+public class ExpiredTokenSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpiredTokenSweeper.class);
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.token-sweep.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.token-sweep.max-batches:100}")
+    private int maxBatches;
+
+    private Counter refreshTokensSwept;
+    private Counter passwordResetTokensSwept;
+
+    @PostConstruct
+    public void init() {
+        refreshTokensSwept = meterRegistry.counter("auth.tokens.swept", "type", "refresh");
+        passwordResetTokensSwept = meterRegistry.counter("auth.tokens.swept", "type", "password_reset");
+    }
+
+    @Scheduled(initialDelayString = "${app.token-sweep.initial-delay-ms:60000}",
+               fixedDelayString = "${app.token-sweep.interval-ms:900000}")
+    public void sweep() {
+        Instant cutoff = Instant.now();
+        int refresh = sweep("refresh", cutoff, refreshTokenRepository::findExpiredIds,
+                refreshTokenRepository::deleteByIds, refreshTokensSwept);
+        int passwordReset = sweep("password reset", cutoff, passwordResetTokenRepository::findExpiredIds,
+                passwordResetTokenRepository::deleteByIds, passwordResetTokensSwept);
+        if (refresh > 0 || passwordReset > 0) {
+            logger.info("Swept {} expired refresh tokens and {} expired password reset tokens", refresh, passwordReset);
+        }
+    }
+
+    private int sweep(String type, Instant cutoff,
+                      BiFunction<Instant, Pageable, List<Long>> findExpired,
+                      ToIntFunction<Collection<Long>> delete,
+                      Counter counter) {
+        int swept = 0;
+        try {
+            for (int batch = 0; batch < maxBatches; batch++) {
+                List<Long> ids = findExpired.apply(cutoff, PageRequest.of(0, batchSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                Integer deleted = transactionTemplate.execute(status -> delete.applyAsInt(ids));
+                int count = deleted != null ? deleted : 0;
+                swept += count;
+                counter.increment(count);
+                if (ids.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            // Batches already deleted stay deleted; the rest waits for the next run
+            logger.error("Sweeping expired {} tokens failed: {}", type, e.getMessage());
+        }
+        return swept;
+    }
+}
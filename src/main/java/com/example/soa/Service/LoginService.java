@@ -0,0 +1,83 @@
+package com.example.soa.Service;
+
+import com.example.soa.Model.User;
+import com.example.soa.Repository.UserRepository;
+import com.example.soa.security.JwtTokenProvider;
+import com.example.soa.security.UserPrincipal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+/**
+ * The password login path, kept to the minimum number of round-trips: one
+ * read of the user by email (usually answered by the query cache), the
+ * password check, one refresh-token upsert and one JWT signature.
+ */
+@Service
+public class LoginService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginService.class);
+
+    private final UserRepository userRepository;
+    private final PasswordVerificationService passwordVerificationService;
+    private final RefreshTokenService refreshTokenService;
+    private final JwtTokenProvider tokenProvider;
+
+    public LoginService(UserRepository userRepository,
+                        PasswordVerificationService passwordVerificationService,
+                        RefreshTokenService refreshTokenService,
+                        JwtTokenProvider tokenProvider) {
+        this.userRepository = userRepository;
+        this.passwordVerificationService = passwordVerificationService;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenProvider = tokenProvider;
+    }
+
+    public static final class LoginResult {
+        private final UserPrincipal user;
+        private final String accessToken;
+        private final String refreshToken;
+
+        LoginResult(UserPrincipal user, String accessToken, String refreshToken) {
+            this.user = user;
+            this.accessToken = accessToken;
+            this.refreshToken = refreshToken;
+        }
+
+        public UserPrincipal getUser() {
+            return user;
+        }
+
+        public String getAccessToken() {
+            return accessToken;
+        }
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+    }
+
+    /**
+     * @throws UsernameNotFoundException if no user has the email
+     * @throws BadCredentialsException   if the password does not match
+     * @throws com.example.soa.exception.TooManyRequestsException if password
+     *         verification is saturated
+     * @throws com.example.soa.exception.ServiceUnavailableException if the
+     *         password check timed out
+     */
+    public LoginResult login(String email, String password) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        if (!passwordVerificationService.verify(user, password)) {
+            throw new BadCredentialsException("Invalid email or password");
+        }
+        UserPrincipal principal = UserPrincipal.create(user);
+        String refreshToken = refreshTokenService.createRefreshToken(user.getUserId());
+        String accessToken = tokenProvider.generateToken(principal);
+        logger.info("User {} logged in", user.getUserId());
+        return new LoginResult(principal, accessToken, refreshToken);
+    }
+}
@@ -1,10 +1,15 @@
 package com.example.soa.Service;
 
+import com.example.soa.Dto.ModuleSnapshot;
 import com.example.soa.Model.Module;
-import com.example.soa.Model.Course;
 import com.example.soa.Repository.ModuleRepository;
+import com.example.soa.config.CacheConfig;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -13,6 +18,9 @@ public class ModuleService {
     @Autowired
     private ModuleRepository moduleRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     public List<Module> getModulesByCourseId(Long courseId) {
         return moduleRepository.findByCourse_CourseId(courseId);
     }
@@ -21,6 +29,45 @@ public class ModuleService {
         return moduleRepository.findById(moduleId).orElse(null);
     }
 
+    // Only a read-only snapshot is cached; writes below always load the entity
+    @Cacheable(cacheNames = CacheConfig.MODULES, key = "#moduleId", unless = "#result == null")
+    @Transactional(readOnly = true)
+    public ModuleSnapshot getModuleSnapshot(Long moduleId) {
+        return moduleRepository.findById(moduleId).map(ModuleSnapshot::of).orElse(null);
+    }
+
+    public Module createModule(Module module) {
+        return moduleRepository.save(module);
+    }
+
+    /**
+     * Changes the title and description of the module as currently stored,
+     * leaving its content untouched.
+     *
+     * @param expectedVersion version the client edited, or null to skip the check
+     * @return the updated module, or null if it does not exist
+     */
+    @Transactional
+    public Module updateModule(Long moduleId, String title, String description, Long expectedVersion) {
+        Module module = moduleRepository.findById(moduleId).orElse(null);
+        if (module == null) {
+            return null;
+        }
+        if (expectedVersion != null && !expectedVersion.equals(module.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Module.class, moduleId);
+        }
+        module.setTitle(title);
+        module.setDescription(description);
+        CacheConfig.evictAfterCommit(cacheManager, CacheConfig.MODULES, moduleId);
+        return moduleRepository.saveAndFlush(module);
+    }
+
+    @Transactional
+    public void deleteModule(Long moduleId) {
+        moduleRepository.deleteById(moduleId);
+        CacheConfig.evictAfterCommit(cacheManager, CacheConfig.MODULES, moduleId);
+    }
+
     public Module addContentToModule(Long moduleId, Long contentId, Long id) {
         // TODO Auto-generated method stub
         throw new UnsupportedOperationException("Unimplemented method 'addContentToModule'");
@@ -30,4 +77,4 @@ public class ModuleService {
         // TODO Auto-generated method stub
         throw new UnsupportedOperationException("Unimplemented method 'removeContentFromModule'");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,141 @@
+package com.example.soa.Service;
+
+import com.example.soa.Model.User;
+import com.example.soa.exception.ServiceUnavailableException;
+import com.example.soa.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password checks on a dedicated pool instead of the servlet thread.
+ *
+ * BCrypt is deliberately CPU-bound, so during a login storm it would otherwise
+ * occupy every Tomcat thread and stall unrelated endpoints. The pool has one
+ * thread per CPU (or {@code app.password-verify.workers}) and a short bounded
+ * queue; a request that finds the queue full is turned away at once with
+ * {@link TooManyRequestsException}, and one that waited longer than
+ * {@code app.password-verify.timeout-ms} is abandoned with a
+ * {@link ServiceUnavailableException}. Either way the request thread is released
+ * quickly.
+ */
+@Service
+public class PasswordVerificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordVerificationService.class);
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.password-verify.workers:0}")
+    private int workers;
+
+    @Value("${app.password-verify.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${app.password-verify.timeout-ms:3000}")
+    private long timeoutMs;
+
+    @Value("${app.password-verify.retry-after-seconds:2}")
+    private int retryAfterSeconds;
+
+    private ThreadPoolExecutor executor;
+
+    private Timer hashTimer;
+    private Timer waitTimer;
+    private Counter rejectedCounter;
+    private Counter timedOutCounter;
+
+    @PostConstruct
+    public void init() {
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-verify-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        hashTimer = meterRegistry.timer("auth.password.verify.duration");
+        waitTimer = meterRegistry.timer("auth.password.verify.queue.wait");
+        rejectedCounter = meterRegistry.counter("auth.password.verify.rejected", "reason", "queue_full");
+        timedOutCounter = meterRegistry.counter("auth.password.verify.rejected", "reason", "timeout");
+        meterRegistry.gauge("auth.password.verify.queue.size", executor, e -> e.getQueue().size());
+        meterRegistry.gauge("auth.password.verify.active", executor, ThreadPoolExecutor::getActiveCount);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Checks the password on the verification pool and waits for the result.
+     *
+     * @throws TooManyRequestsException    if the queue is full
+     * @throws ServiceUnavailableException if the check did not finish in time
+     */
+    public boolean verify(User user, String password) {
+        long queuedAt = System.nanoTime();
+        Future<Boolean> result;
+        try {
+            result = executor.submit(() -> {
+                long started = System.nanoTime();
+                waitTimer.record(started - queuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return userService.validatePassword(user, password);
+                } finally {
+                    hashTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            logger.warn("Password verification queue full, rejecting request for {}", user.getEmail());
+            throw new TooManyRequestsException("Too many sign-in attempts right now, try again shortly",
+                    retryAfterSeconds);
+        }
+
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Drops the check if it has not started yet
+            result.cancel(true);
+            timedOutCounter.increment();
+            throw new ServiceUnavailableException("Password verification is overloaded, try again later");
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Password verification was interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.example.soa.Service;
+
+import com.example.soa.exception.BadRequestException;
+import com.example.soa.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns an uploaded profile picture into a few small, square JPEG variants.
+ *
+ * The upload is decoded once on a bounded worker pool, center-cropped and
+ * scaled down to each of {@code app.profile-pictures.sizes}; the original is
+ * not kept. Variant files are named {@code <key>-<size>.jpg} under
+ * {@code uploads/profile-pictures}, so a picture's URLs never change content
+ * and a new upload always gets a new key. The profile points at the default
+ * size; {@link #variantUrl(String, int)} maps it to any other.
+ *
+ * The upload request waits up to {@code app.profile-pictures.timeout-ms} for
+ * the variants. A full queue is refused with {@link TooManyRequestsException},
+ * a failed write surfaces as {@link UncheckedIOException}; a slow job still
+ * finishes and updates the profile in the background.
+ *
+ * Each worker holds the decoded upload and its square crop at up to 4 bytes
+ * per pixel each, so {@code app.profile-pictures.max-pixels} bounds memory at
+ * roughly {@code workers * max-pixels * 8} bytes: about 128 MB per worker at
+ * the 16 megapixel default.
+ */
+@Service
+public class ProfilePictureService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProfilePictureService.class);
+
+    public static final String URL_PREFIX = "/uploads/profile-pictures/";
+
+    private static final Pattern VARIANT_URL = Pattern.compile("^" + Pattern.quote(URL_PREFIX) + "([0-9a-f-]{36})-(\\d+)\\.jpg$");
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.profile-pictures.dir:uploads/profile-pictures}")
+    private String directory;
+
+    @Value("${app.profile-pictures.sizes:48,128,512}")
+    private int[] sizes;
+
+    @Value("${app.profile-pictures.default-size:128}")
+    private int defaultSize;
+
+    @Value("${app.profile-pictures.jpeg-quality:0.82}")
+    private float jpegQuality;
+
+    @Value("${app.profile-pictures.max-pixels:16000000}")
+    private long maxPixels;
+
+    @Value("${app.profile-pictures.workers:2}")
+    private int workers;
+
+    @Value("${app.profile-pictures.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${app.profile-pictures.timeout-ms:10000}")
+    private long timeoutMs;
+
+    @Value("${app.profile-pictures.retry-after-seconds:5}")
+    private int retryAfterSeconds;
+
+    private Path root;
+    private ThreadPoolExecutor executor;
+
+    private Timer processingTimer;
+    private Counter uploadedBytes;
+    private Counter variantBytes;
+
+    @PostConstruct
+    public void init() throws IOException {
+        sizes = Arrays.stream(sizes).sorted().distinct().toArray();
+        if (Arrays.binarySearch(sizes, defaultSize) < 0) {
+            throw new IllegalStateException("app.profile-pictures.default-size must be one of the configured sizes");
+        }
+        root = Paths.get(directory);
+        Files.createDirectories(root);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "profile-picture-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        processingTimer = meterRegistry.timer("profile.pictures.processing.duration");
+        uploadedBytes = meterRegistry.counter("profile.pictures.bytes", "kind", "uploaded");
+        variantBytes = meterRegistry.counter("profile.pictures.bytes", "kind", "variants");
+        meterRegistry.gauge("profile.pictures.queue.size", executor, e -> e.getQueue().size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public static final class Upload {
+        private final Map<Integer, String> urls;
+        private final boolean ready;
+
+        Upload(Map<Integer, String> urls, boolean ready) {
+            this.urls = urls;
+            this.ready = ready;
+        }
+
+        public Map<Integer, String> getUrls() {
+            return urls;
+        }
+
+        /**
+         * False when the variants were still being produced when the request
+         * stopped waiting; the profile is updated once they exist.
+         */
+        public boolean isReady() {
+            return ready;
+        }
+    }
+
+    /**
+     * Produces the variants of a new picture for the user and points the
+     * user's profile at the default size.
+     *
+     * @throws BadRequestException      if the upload is not a readable image
+     * @throws TooManyRequestsException if the pool is saturated
+     * @throws UncheckedIOException     if a variant could not be written
+     */
+    public Upload upload(Long userId, byte[] image) {
+        String key = UUID.randomUUID().toString();
+        Map<Integer, String> urls = new LinkedHashMap<>();
+        for (int size : sizes) {
+            urls.put(size, URL_PREFIX + key + "-" + size + ".jpg");
+        }
+
+        Future<?> job;
+        try {
+            job = executor.submit(() -> process(userId, key, image));
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException("Too many profile pictures are being processed, try again shortly",
+                    retryAfterSeconds);
+        }
+        uploadedBytes.increment(image.length);
+
+        try {
+            job.get(timeoutMs, TimeUnit.MILLISECONDS);
+            return new Upload(urls, true);
+        } catch (TimeoutException e) {
+            logger.info("Profile picture {} for user {} is still processing", key, userId);
+            return new Upload(urls, false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Upload(urls, false);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Profile picture processing failed", cause);
+        }
+    }
+
+    public int getDefaultSize() {
+        return defaultSize;
+    }
+
+    /**
+     * Maps a stored picture URL to the variant closest to, and not smaller
+     * than, the requested size. URLs that are not variants (pictures uploaded
+     * before the pipeline, external links) are returned unchanged.
+     */
+    public String variantUrl(String storedUrl, int size) {
+        if (storedUrl == null) {
+            return null;
+        }
+        Matcher matcher = VARIANT_URL.matcher(storedUrl);
+        if (!matcher.matches()) {
+            return storedUrl;
+        }
+        int chosen = sizes[sizes.length - 1];
+        for (int candidate : sizes) {
+            if (candidate >= size) {
+                chosen = candidate;
+                break;
+            }
+        }
+        return URL_PREFIX + matcher.group(1) + "-" + chosen + ".jpg";
+    }
+
+    private void process(Long userId, String key, byte[] image) {
+        long started = System.nanoTime();
+        try {
+            BufferedImage decoded = decode(image);
+            BufferedImage square = cropToSquare(decoded);
+            for (int i = sizes.length - 1; i >= 0; i--) {
+                // Each variant is scaled from the next larger one, which is both cheaper and sharper
+                square = scale(square, Math.min(sizes[i], square.getWidth()));
+                Path target = root.resolve(key + "-" + sizes[i] + ".jpg");
+                writeJpeg(square, target);
+                variantBytes.increment(Files.size(target));
+            }
+            replaceProfilePicture(userId, URL_PREFIX + key + "-" + defaultSize + ".jpg");
+        } catch (IOException e) {
+            deleteVariants(key);
+            logger.error("Could not write profile picture {} for user {}: {}", key, userId, e.getMessage());
+            throw new UncheckedIOException("Could not write profile picture " + key, e);
+        } catch (RuntimeException e) {
+            deleteVariants(key);
+            logger.warn("Profile picture {} for user {} failed: {}", key, userId, e.getMessage());
+            throw e;
+        } finally {
+            processingTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Reads the dimensions before decoding, so a tiny file cannot expand into gigabytes of pixels
+    private BufferedImage decode(byte[] image) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(image))) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new BadRequestException("Profile picture must be a JPEG, PNG, GIF or BMP image");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new BadRequestException("Profile picture is too large (" + reader.getWidth(0) + "x"
+                            + reader.getHeight(0) + ")");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage cropToSquare(BufferedImage image) {
+        int side = Math.min(image.getWidth(), image.getHeight());
+        int x = (image.getWidth() - side) / 2;
+        int y = (image.getHeight() - side) / 2;
+        // Also flattens transparency onto white, which JPEG cannot carry
+        BufferedImage square = new BufferedImage(side, side, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = square.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, side, side);
+            g.drawImage(image, 0, 0, side, side, x, y, x + side, y + side, null);
+        } finally {
+            g.dispose();
+        }
+        return square;
+    }
+
+    // Halves repeatedly before the last step; a single bilinear pass over a large factor aliases badly
+    private static BufferedImage scale(BufferedImage image, int size) {
+        BufferedImage current = image;
+        int width = current.getWidth();
+        while (width != size) {
+            width = Math.max(size, width / 2);
+            BufferedImage next = new BufferedImage(width, width, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, width, width, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        }
+        return current;
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        Path temp = Files.createTempFile(root, "variant", ".tmp");
+        try {
+            try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(jpegQuality);
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+                writer.setOutput(output);
+                writer.write(null, new IIOImage(image, null, null), param);
+            }
+            // Readers never see a half-written variant
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            writer.dispose();
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void replaceProfilePicture(Long userId, String url) {
+        String previous = userService.replaceProfilePicture(userId, url);
+        if (previous != null) {
+            Matcher matcher = VARIANT_URL.matcher(previous);
+            if (matcher.matches()) {
+                deleteVariants(matcher.group(1));
+            }
+        }
+    }
+
+    private void deleteVariants(String key) {
+        for (int size : sizes) {
+            try {
+                Files.deleteIfExists(root.resolve(key + "-" + size + ".jpg"));
+            } catch (IOException e) {
+                logger.warn("Could not delete profile picture variant {}-{}: {}", key, size, e.getMessage());
+            }
+        }
+    }
+}
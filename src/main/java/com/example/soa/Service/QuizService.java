@@ -1,8 +1,14 @@
 package com.example.soa.Service;
 
+import com.example.soa.Dto.ItemAnalysisDTO;
+import com.example.soa.Dto.QuizStatisticsDTO;
 import com.example.soa.Model.Quiz;
-import com.example.soa.Model.Question;
 import com.example.soa.Model.Score;
+import com.example.soa.analysis.ItemAnalysisService;
+import com.example.soa.analysis.ItemResponseRecorder;
+import com.example.soa.grading.AnswerKey;
+import com.example.soa.grading.GradingEngine;
+import com.example.soa.leaderboard.LeaderboardService;
 import com.example.soa.Repository.QuizRepository;
 import com.example.soa.Repository.ScoreRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +16,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -17,11 +24,23 @@ import java.util.Map;
 public class QuizService {
     private final QuizRepository quizRepository;
     private final ScoreRepository scoreRepository;
+    private final GradingEngine gradingEngine;
+    private final QuizStatisticsService statisticsService;
+    private final LeaderboardService leaderboardService;
+    private final ItemResponseRecorder itemResponseRecorder;
+    private final ItemAnalysisService itemAnalysisService;
 
     @Autowired
-    public QuizService(QuizRepository quizRepository, ScoreRepository scoreRepository) {
+    public QuizService(QuizRepository quizRepository, ScoreRepository scoreRepository, GradingEngine gradingEngine,
+                       QuizStatisticsService statisticsService, LeaderboardService leaderboardService,
+                       ItemResponseRecorder itemResponseRecorder, ItemAnalysisService itemAnalysisService) {
         this.quizRepository = quizRepository;
         this.scoreRepository = scoreRepository;
+        this.gradingEngine = gradingEngine;
+        this.statisticsService = statisticsService;
+        this.leaderboardService = leaderboardService;
+        this.itemResponseRecorder = itemResponseRecorder;
+        this.itemAnalysisService = itemAnalysisService;
     }
 
     @Transactional
@@ -49,37 +68,42 @@ public class QuizService {
         quiz.setDescription(quizDetails.getDescription());
         quiz.setTimeLimit(quizDetails.getTimeLimit());
         quiz.setActive(quizDetails.isActive());
+        gradingEngine.invalidateQuiz(id);
+        itemResponseRecorder.invalidateQuiz(id);
         return quizRepository.save(quiz);
     }
 
     @Transactional
     public void deleteQuiz(Long id) {
         quizRepository.deleteById(id);
+        statisticsService.deleteStatistics(id);
+        itemResponseRecorder.deleteResponses(id);
+        gradingEngine.invalidateQuiz(id);
+        leaderboardService.invalidateQuiz(id);
+        itemAnalysisService.invalidateQuiz(id);
     }
 
     @Transactional
     public Score submitQuiz(Long quizId, String studentId, Map<Long, String> answers, Integer timeSpentInSeconds) {
-        Quiz quiz = getQuiz(quizId);
-        int totalScore = 0;
-        int totalPossibleScore = 0;
-
-        for (Question question : quiz.getQuestions()) {
-            totalPossibleScore += question.getPoints();
-            String studentAnswer = answers.get(question.getId());
-            if (studentAnswer != null && studentAnswer.equals(question.getCorrectAnswer())) {
-                totalScore += question.getPoints();
-            }
-        }
+        // Graded against the cached answer key; the quiz itself is only referenced, never loaded
+        AnswerKey<Long> answerKey = gradingEngine.quizKey(quizId);
+        Quiz quiz = quizRepository.getReferenceById(quizId);
+        List<Long> correctQuestionIds = new ArrayList<>();
+        int earned = answerKey.grade(answers, correctQuestionIds::add);
+        statisticsService.recordSubmission(quizId, earned, answerKey.getTotalPoints(), correctQuestionIds);
 
         Score score = new Score();
         score.setQuiz(quiz);
         score.setStudentId(studentId);
-        score.setScore(totalScore);
-        score.setTotalPossibleScore(totalPossibleScore);
+        score.setScore(earned);
+        score.setTotalPossibleScore(answerKey.getTotalPoints());
         score.setSubmissionTime(LocalDateTime.now());
         score.setTimeSpentInSeconds(timeSpentInSeconds);
 
-        return scoreRepository.save(score);
+        Score savedScore = scoreRepository.save(score);
+        itemResponseRecorder.record(quizId, savedScore.getId(), earned, answers);
+        leaderboardService.recordQuizScore(quizId, studentId, earned, savedScore.getSubmissionTime());
+        return savedScore;
     }
 
     public List<Score> getStudentScores(String studentId) {
@@ -90,11 +114,26 @@ public class QuizService {
         return scoreRepository.findByQuizId(quizId);
     }
 
+    public ItemAnalysisDTO getItemAnalysis(Long quizId) {
+        getQuiz(quizId);
+        return itemAnalysisService.getAnalysis(quizId);
+    }
+
+    public ItemAnalysisDTO refreshItemAnalysis(Long quizId) {
+        getQuiz(quizId);
+        itemAnalysisService.refresh(quizId);
+        return itemAnalysisService.getAnalysis(quizId);
+    }
+
+    public QuizStatisticsDTO getQuizStatistics(Long quizId) {
+        return statisticsService.getStatistics(quizId);
+    }
+
     public Double getQuizAverageScore(Long quizId) {
-        return scoreRepository.getAverageScoreForQuiz(quizId);
+        return statisticsService.getStatistics(quizId).getAverageScore();
     }
 
     public Integer getQuizHighestScore(Long quizId) {
-        return scoreRepository.getHighestScoreForQuiz(quizId);
+        return statisticsService.getStatistics(quizId).getHighestScore();
     }
 }
\ No newline at end of file
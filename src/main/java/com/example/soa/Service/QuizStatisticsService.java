@@ -0,0 +1,158 @@
+package com.example.soa.Service;
+
+import com.example.soa.Dto.QuizStatisticsDTO;
+import com.example.soa.Model.QuizStatistics;
+import com.example.soa.Repository.QuizStatisticsRepository;
+import com.example.soa.Repository.ScoreRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the per-quiz {@link QuizStatistics} row.
+ *
+ * Submissions lock the row and fold their score in within the submitting
+ * transaction, so the statistics commit or roll back together with the score.
+ * A quiz without a row (new, or scored before statistics existed) is seeded
+ * from its scores in a separate transaction first. Seeding is a plain insert,
+ * so a seeder that loses the race fails instead of overwriting the row, and
+ * the submission always applies its delta to the row re-read under the lock.
+ */
+@Service
+public class QuizStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuizStatisticsService.class);
+
+    private final QuizStatisticsRepository statisticsRepository;
+    private final ScoreRepository scoreRepository;
+    private final TransactionTemplate seedTransaction;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public QuizStatisticsService(QuizStatisticsRepository statisticsRepository,
+                                 ScoreRepository scoreRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.statisticsRepository = statisticsRepository;
+        this.scoreRepository = scoreRepository;
+        this.seedTransaction = new TransactionTemplate(transactionManager);
+        this.seedTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Folds one graded submission into the quiz statistics. Must run in the
+     * transaction that saves the score, and before the score is saved.
+     */
+    @Transactional
+    public void recordSubmission(Long quizId, int score, int totalPossibleScore, Collection<Long> correctQuestionIds) {
+        QuizStatistics statistics = lockStatistics(quizId);
+        statistics.record(score, totalPossibleScore, correctQuestionIds);
+    }
+
+    @Transactional(readOnly = true)
+    public QuizStatisticsDTO getStatistics(Long quizId) {
+        QuizStatistics statistics = statisticsRepository.findById(quizId).orElseGet(() -> recompute(quizId));
+        return toDTO(statistics);
+    }
+
+    /**
+     * Rebuilds the score accumulators from the scores table. Per-question
+     * counts and their submission count cannot be rebuilt (scores do not keep
+     * answers) and are left as is.
+     */
+    @Transactional
+    public QuizStatistics rebuild(Long quizId) {
+        QuizStatistics recomputed = recompute(quizId);
+        QuizStatistics statistics = statisticsRepository.findByIdForUpdate(quizId).orElse(null);
+        if (statistics == null) {
+            return statisticsRepository.save(recomputed);
+        }
+        statistics.setSubmissionCount(recomputed.getSubmissionCount());
+        statistics.setScoreSum(recomputed.getScoreSum());
+        statistics.setScoreSumOfSquares(recomputed.getScoreSumOfSquares());
+        statistics.setMaxScore(recomputed.getMaxScore());
+        statistics.getHistogram().clear();
+        statistics.getHistogram().putAll(recomputed.getHistogram());
+        return statistics;
+    }
+
+    @Transactional
+    public void deleteStatistics(Long quizId) {
+        if (statisticsRepository.existsById(quizId)) {
+            statisticsRepository.deleteById(quizId);
+        }
+    }
+
+    /**
+     * Computes the score accumulators from scratch, the same way submissions
+     * update them, without persisting anything.
+     */
+    public QuizStatistics recompute(Long quizId) {
+        QuizStatistics statistics = new QuizStatistics(quizId);
+        for (ScoreRepository.ScoreRow row : scoreRepository.findScoreRowsByQuizId(quizId)) {
+            statistics.recordScore(row.getScore(), row.getTotalPossibleScore());
+        }
+        return statistics;
+    }
+
+    private QuizStatistics lockStatistics(Long quizId) {
+        return statisticsRepository.findByIdForUpdate(quizId).orElseGet(() -> {
+            seed(quizId);
+            return statisticsRepository.findByIdForUpdate(quizId)
+                    .orElseThrow(() -> new IllegalStateException("Statistics missing for quiz " + quizId));
+        });
+    }
+
+    private void seed(Long quizId) {
+        try {
+            // persist, not save: an assigned id would make save a merge that overwrites a concurrent seed
+            seedTransaction.executeWithoutResult(status -> {
+                entityManager.persist(recompute(quizId));
+                entityManager.flush();
+            });
+            logger.info("Seeded statistics for quiz {}", quizId);
+        } catch (DataIntegrityViolationException | PersistenceException e) {
+            // A concurrent submission seeded the row first
+            logger.debug("Statistics for quiz {} were seeded concurrently", quizId);
+        }
+    }
+
+    private QuizStatisticsDTO toDTO(QuizStatistics statistics) {
+        QuizStatisticsDTO dto = new QuizStatisticsDTO();
+        dto.setQuizId(statistics.getQuizId());
+        dto.setSubmissionCount(statistics.getSubmissionCount());
+        dto.setAverageScore(statistics.getAverageScore() != null ? statistics.getAverageScore() : 0.0);
+        dto.setHighestScore(statistics.getMaxScore() != null ? statistics.getMaxScore() : 0);
+        dto.setStandardDeviation(statistics.getStandardDeviation() != null ? statistics.getStandardDeviation() : 0.0);
+
+        List<Long> histogram = new ArrayList<>(QuizStatistics.HISTOGRAM_BUCKETS);
+        for (int bucket = 0; bucket < QuizStatistics.HISTOGRAM_BUCKETS; bucket++) {
+            histogram.add(statistics.getHistogram().getOrDefault(bucket, 0L));
+        }
+        dto.setHistogram(histogram);
+
+        Map<Long, Double> correctRates = new TreeMap<>();
+        // Only submissions that recorded per-question results, not seeded ones
+        long submissions = statistics.getQuestionSubmissionCount();
+        for (Map.Entry<Long, Long> entry : statistics.getQuestionCorrectCounts().entrySet()) {
+            correctRates.put(entry.getKey(), submissions == 0 ? 0.0 : (double) entry.getValue() / submissions);
+        }
+        dto.setQuestionCorrectRates(correctRates);
+        return dto;
+    }
+}
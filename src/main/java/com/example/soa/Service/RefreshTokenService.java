@@ -1,66 +1,94 @@
 package com.example.soa.Service;
 
 import com.example.soa.Model.RefreshToken;
-import com.example.soa.Model.User;
-import com.example.soa.exception.ActiveTokenException;
 import com.example.soa.exception.TokenExpiredException;
 import com.example.soa.exception.TokenNotFoundException;
 import com.example.soa.exception.UserNotFoundException;
 import com.example.soa.Repository.RefreshTokenRepository;
 import com.example.soa.Repository.UserRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.Timestamp;
 import java.time.Instant;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.Base64;
 
+/**
+ * Issues and verifies refresh tokens.
+ *
+ * A token is 256 random bits handed to the client once; the database keeps
+ * only its SHA-256 hash, one row per user. Issuing a token on login is a
+ * single upsert that replaces the user's previous token, and verifying one is
+ * a single lookup on the unique hash index.
+ */
 @Service
 public class RefreshTokenService {
 
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    // MySQL upsert keyed on the unique user_id; replaces the previous token in place
+    private static final String UPSERT_SQL =
+            "INSERT INTO refresh_tokens (user_id, token_hash, expiry_date) VALUES (?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE token_hash = VALUES(token_hash), expiry_date = VALUES(expiry_date)";
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
     @Value("${app.refreshTokenExpirationMs}") // Ensure this matches your properties file
     private Long refreshTokenExpirationMs;
 
     private final RefreshTokenRepository refreshTokenRepository;
     private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
 
-    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository) {
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository,
+                               JdbcTemplate jdbcTemplate) {
         this.refreshTokenRepository = refreshTokenRepository;
         this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
-    public Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
-    }
-
-    @Transactional
-    public RefreshToken createRefreshToken(Long userId) {
-        // Delete existing refresh tokens for the user
-        refreshTokenRepository.deleteByUser(userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId)));
-
-        // Create new refresh token
-        RefreshToken refreshToken = new RefreshToken();
-        refreshToken.setUser(userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId)));
-        refreshToken.setExpiryDate(Instant.now().plusMillis(refreshTokenExpirationMs));
-        refreshToken.setToken(UUID.randomUUID().toString());
-
-        refreshToken = refreshTokenRepository.save(refreshToken);
-        return refreshToken;
+    /**
+     * Issues a new refresh token for the user, replacing any previous one.
+     *
+     * @return the token to hand to the client; it is not stored and cannot be
+     *         recovered later
+     */
+    public String createRefreshToken(Long userId) {
+        byte[] raw = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(raw);
+        String token = ENCODER.encodeToString(raw);
+        Instant expiryDate = Instant.now().plusMillis(refreshTokenExpirationMs);
+        try {
+            jdbcTemplate.update(UPSERT_SQL, userId, hash(token), Timestamp.from(expiryDate));
+        } catch (DataIntegrityViolationException e) {
+            // The only foreign key is the user
+            throw new UserNotFoundException("User not found with id: " + userId);
+        }
+        return token;
     }
 
     public RefreshToken verifyRefreshToken(String token) {
-        return refreshTokenRepository.findByToken(token)
+        return refreshTokenRepository.findByTokenHash(hash(token))
                 .map(this::verifyExpiration)
                 .orElseThrow(() -> new TokenNotFoundException("Refresh token not found in database"));
     }
 
     private RefreshToken verifyExpiration(RefreshToken token) {
         if (token.getExpiryDate().compareTo(Instant.now()) < 0) {
-            // Log instead of deleting first
-            System.out.println("Refresh token expired: " + token.getToken());
+            logger.debug("Refresh token {} expired at {}", token.getId(), token.getExpiryDate());
             throw new TokenExpiredException("Refresh token has expired. Please log in again.");
         }
         return token;
@@ -72,7 +100,17 @@ public class RefreshTokenService {
         if (!userRepository.existsById(userId)) {
             throw new UserNotFoundException("User not found with id: " + userId);
         }
-        refreshTokenRepository.deleteByUser(userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId)));
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    static byte[] hash(String token) {
+        if (token == null) {
+            throw new TokenNotFoundException("Refresh token is missing");
+        }
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
@@ -0,0 +1,296 @@
+package com.example.soa.Service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams all submissions of an assessment as CSV or NDJSON.
+ *
+ * Submissions, their students and their answers are read with one ordered
+ * join through a forward-only cursor, and each submission is written as soon
+ * as its last answer row has been seen. Only the current submission is held in
+ * memory, however large the assessment.
+ *
+ * On MySQL the query runs with the driver's streaming fetch size
+ * ({@link Integer#MIN_VALUE}), which reads rows off the socket one at a time
+ * without needing {@code useCursorFetch} on the shared datasource URL. Other
+ * databases get {@code app.export.fetch-size}.
+ */
+@Service
+public class SubmissionExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionExportService.class);
+
+    private static final String EXPORT_SQL =
+            "SELECT s.submission_id, s.student_id, u.name AS student_name, u.email AS student_email, " +
+            "s.submission_date, s.score, s.graded_by, s.graded_date, s.feedback, a.question, a.answer " +
+            "FROM submission s " +
+            "LEFT JOIN users u ON u.user_id = s.student_id " +
+            "LEFT JOIN student_answers a ON a.submission_id = s.submission_id " +
+            "WHERE s.assessment_id = ? " +
+            "ORDER BY s.submission_id";
+
+    private static final String[] CSV_COLUMNS = {
+            "submission_id", "student_id", "student_name", "student_email", "submission_date",
+            "score", "graded_by", "graded_date", "feedback", "answers"
+    };
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format fromParameter(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value + ". Use csv or ndjson");
+            }
+        }
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.export.fetch-size:1000}")
+    private int fetchSize;
+
+    private JdbcTemplate exportTemplate;
+
+    @PostConstruct
+    public void init() throws MetaDataAccessException {
+        // Dedicated template so the streaming fetch size does not leak into other queries
+        exportTemplate = new JdbcTemplate(dataSource);
+        String database = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        exportTemplate.setFetchSize("MySQL".equalsIgnoreCase(database) ? Integer.MIN_VALUE : fetchSize);
+    }
+
+    /**
+     * Writes the export to the given stream.
+     *
+     * @return the number of submissions written
+     */
+    public long export(Long assessmentId, Format format, OutputStream output) throws IOException {
+        long start = System.currentTimeMillis();
+        Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+        ExportWriter exportWriter = format == Format.CSV ? new CsvWriter(writer) : new NdjsonWriter(writer);
+        SubmissionAccumulator accumulator = new SubmissionAccumulator(exportWriter);
+
+        exportWriter.start();
+        try {
+            exportTemplate.query(EXPORT_SQL, accumulator::accept, assessmentId);
+            accumulator.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+
+        logger.info("Exported {} submissions of assessment {} as {} in {} ms",
+                accumulator.written, assessmentId, format, System.currentTimeMillis() - start);
+        return accumulator.written;
+    }
+
+    private static final class ExportedSubmission {
+        long submissionId;
+        Long studentId;
+        String studentName;
+        String studentEmail;
+        Timestamp submissionDate;
+        Float score;
+        Long gradedBy;
+        Timestamp gradedDate;
+        String feedback;
+        final Map<String, String> answers = new LinkedHashMap<>();
+    }
+
+    private interface ExportWriter {
+        void start() throws IOException;
+
+        void write(ExportedSubmission submission) throws IOException;
+    }
+
+    // Folds consecutive answer rows of the same submission into one record
+    private static final class SubmissionAccumulator {
+        private final ExportWriter writer;
+        private ExportedSubmission current;
+        private long written;
+
+        SubmissionAccumulator(ExportWriter writer) {
+            this.writer = writer;
+        }
+
+        void accept(ResultSet rs) throws SQLException {
+            long submissionId = rs.getLong("submission_id");
+            if (current == null || current.submissionId != submissionId) {
+                flushCurrent();
+                current = new ExportedSubmission();
+                current.submissionId = submissionId;
+                current.studentId = rs.getObject("student_id", Long.class);
+                current.studentName = rs.getString("student_name");
+                current.studentEmail = rs.getString("student_email");
+                current.submissionDate = rs.getTimestamp("submission_date");
+                current.score = rs.getObject("score", Float.class);
+                current.gradedBy = rs.getObject("graded_by", Long.class);
+                current.gradedDate = rs.getTimestamp("graded_date");
+                current.feedback = rs.getString("feedback");
+            }
+            String question = rs.getString("question");
+            if (question != null) {
+                current.answers.put(question, rs.getString("answer"));
+            }
+        }
+
+        void finish() {
+            flushCurrent();
+        }
+
+        private void flushCurrent() {
+            if (current == null) {
+                return;
+            }
+            try {
+                writer.write(current);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            written++;
+            current = null;
+        }
+    }
+
+    private final class CsvWriter implements ExportWriter {
+        private final Writer out;
+
+        CsvWriter(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void start() throws IOException {
+            out.write(String.join(",", CSV_COLUMNS));
+            out.write("\r\n");
+        }
+
+        @Override
+        public void write(ExportedSubmission submission) throws IOException {
+            out.write(Long.toString(submission.submissionId));
+            field(submission.studentId);
+            field(submission.studentName);
+            field(submission.studentEmail);
+            field(submission.submissionDate != null ? submission.submissionDate.toLocalDateTime() : null);
+            field(submission.score);
+            field(submission.gradedBy);
+            field(submission.gradedDate != null ? submission.gradedDate.toLocalDateTime() : null);
+            field(submission.feedback);
+            // Answers stay one column so the header is the same for every assessment
+            field(objectMapper.writeValueAsString(submission.answers));
+            out.write("\r\n");
+        }
+
+        private void field(Object value) throws IOException {
+            out.write(',');
+            if (value == null) {
+                return;
+            }
+            String text = value.toString();
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                out.write(text);
+                return;
+            }
+            out.write('"');
+            out.write(text.replace("\"", "\"\""));
+            out.write('"');
+        }
+    }
+
+    private final class NdjsonWriter implements ExportWriter {
+        private final Writer out;
+
+        NdjsonWriter(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void write(ExportedSubmission submission) throws IOException {
+            JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.writeStartObject();
+            json.writeNumberField("submissionId", submission.submissionId);
+            writeNumber(json, "studentId", submission.studentId);
+            json.writeStringField("studentName", submission.studentName);
+            json.writeStringField("studentEmail", submission.studentEmail);
+            json.writeStringField("submissionDate", submission.submissionDate != null ? submission.submissionDate.toLocalDateTime().toString() : null);
+            if (submission.score != null) {
+                json.writeNumberField("score", submission.score);
+            } else {
+                json.writeNullField("score");
+            }
+            writeNumber(json, "gradedBy", submission.gradedBy);
+            json.writeStringField("gradedDate", submission.gradedDate != null ? submission.gradedDate.toLocalDateTime().toString() : null);
+            json.writeStringField("feedback", submission.feedback);
+            json.writeObjectFieldStart("answers");
+            for (Map.Entry<String, String> answer : submission.answers.entrySet()) {
+                json.writeStringField(answer.getKey(), answer.getValue());
+            }
+            json.writeEndObject();
+            json.writeEndObject();
+            json.flush();
+            out.write('\n');
+        }
+
+        private void writeNumber(JsonGenerator json, String field, Long value) throws IOException {
+            if (value != null) {
+                json.writeNumberField(field, value);
+            } else {
+                json.writeNullField(field);
+            }
+        }
+    }
+}
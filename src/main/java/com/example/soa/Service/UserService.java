@@ -96,27 +96,34 @@ public class UserService {
         userRepository.delete(user);
     }
 
+    /**
+     * Checks the password and, when it matches a hash in an older format
+     * (plaintext or a different BCrypt cost), stores it again in the current
+     * one. The rehash only replaces the exact value that was verified, so it
+     * never overwrites a password changed in the meantime.
+     */
     public boolean validatePassword(User user, String password) {
         logger.info("Validating password for user: {}", user.getEmail());
-        logger.debug("Raw password length: {}", password.length());
-        logger.debug("Stored hashed password: {}", user.getPassword());
-        
-        // TEMPORARY FIX: Check if the stored password is not in BCrypt format
-        // If it's not a BCrypt hash, compare directly for testing purposes
-        if (!user.getPassword().startsWith("$2a$") && !user.getPassword().startsWith("$2b$") && !user.getPassword().startsWith("$2y$")) {
-            logger.warn("Using direct password comparison for user: {} as password is not BCrypt hashed", user.getEmail());
-            boolean isDirectMatch = password.equals(user.getPassword());
-            logger.info("Direct password validation result for user {}: {}", user.getEmail(), isDirectMatch);
-            return isDirectMatch;
-        }
-        
-        // Normal BCrypt validation
-        boolean isValid = passwordEncoder.matches(password, user.getPassword());
+        String stored = user.getPassword();
+        boolean isValid = passwordEncoder.matches(password, stored);
         logger.info("Password validation result for user {}: {}", user.getEmail(), isValid);
         if (!isValid) {
             logger.warn("Password validation failed for user: {}", user.getEmail());
+            return false;
         }
-        return isValid;
+        if (passwordEncoder.upgradeEncoding(stored)) {
+            try {
+                String upgraded = passwordEncoder.encode(password);
+                if (userRepository.replacePassword(user.getUserId(), stored, upgraded) == 1) {
+                    user.setPassword(upgraded);
+                    logger.info("Upgraded password hash for user: {}", user.getEmail());
+                }
+            } catch (RuntimeException e) {
+                // The login itself succeeded; the upgrade is retried next time
+                logger.warn("Could not upgrade password hash for user {}: {}", user.getEmail(), e.getMessage());
+            }
+        }
+        return true;
     }
 
     @Transactional
@@ -135,6 +142,28 @@ public class UserService {
         return profile;
     }
 
+    /**
+     * Points the user's profile at a new picture, keeping the rest of the
+     * profile.
+     *
+     * @return the previous picture URL, or null
+     */
+    @Transactional
+    public String replaceProfilePicture(Long userId, String profilePictureUrl) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+        Profile profile = user.getProfile();
+        if (profile == null) {
+            profile = new Profile();
+            profile.setUser(user);
+            user.setProfile(profile);
+        }
+        String previous = profile.getProfilePictureUrl();
+        profile.setProfilePictureUrl(profilePictureUrl);
+        userRepository.save(user);
+        return previous;
+    }
+
     @Transactional
     public User updateUserRole(Long userId, String role) {
         User user = userRepository.findById(userId)
@@ -0,0 +1,130 @@
+package com.example.soa.analysis;
+
+import com.example.soa.Dto.ItemAnalysisDTO;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mergeable sums for one question, from which difficulty, discrimination and
+ * option frequencies follow. The "rest score" of an attempt is its score minus
+ * the points earned on this question, so an item is not correlated with
+ * itself.
+ *
+ * Options are merged by their text, so attempts encoded against different
+ * layouts of the same question combine even if options were reordered.
+ */
+final class ItemAccumulator {
+
+    private final Long questionId;
+    private long attempts;
+    private long correct;
+    private long omitted;
+    private long otherAnswers;
+    private double restSum;
+    private double restSumOfSquares;
+    private double correctRestSum;
+    private final Map<String, OptionSums> options = new LinkedHashMap<>();
+
+    private static final class OptionSums {
+        boolean correct;
+        long count;
+        double restSum;
+    }
+
+    ItemAccumulator(Long questionId) {
+        this.questionId = questionId;
+    }
+
+    /**
+     * Folds in one column of a block: per answer code, how many attempts chose
+     * it and the sum of their rest scores.
+     */
+    void add(ResponseLayout layout, int question, long[] codeCounts, double[] codeRestSums,
+             double columnRestSumOfSquares) {
+        ResponseLayout.QuestionSpec spec = layout.getQuestion(question);
+        for (int code = 0; code < codeCounts.length; code++) {
+            long count = codeCounts[code];
+            if (count == 0) {
+                continue;
+            }
+            attempts += count;
+            restSum += codeRestSums[code];
+            if (layout.isCorrect(question, code)) {
+                correct += count;
+                correctRestSum += codeRestSums[code];
+            }
+            if (code == ResponseLayout.BLANK) {
+                omitted += count;
+            } else if (code < ResponseLayout.FIRST_OPTION || code - ResponseLayout.FIRST_OPTION >= spec.options.size()) {
+                otherAnswers += count;
+            } else {
+                OptionSums sums = options.computeIfAbsent(spec.options.get(code - ResponseLayout.FIRST_OPTION),
+                        option -> new OptionSums());
+                sums.correct = layout.isCorrect(question, code);
+                sums.count += count;
+                sums.restSum += codeRestSums[code];
+            }
+        }
+        restSumOfSquares += columnRestSumOfSquares;
+    }
+
+    void merge(ItemAccumulator other) {
+        attempts += other.attempts;
+        correct += other.correct;
+        omitted += other.omitted;
+        otherAnswers += other.otherAnswers;
+        restSum += other.restSum;
+        restSumOfSquares += other.restSumOfSquares;
+        correctRestSum += other.correctRestSum;
+        other.options.forEach((option, sums) -> {
+            OptionSums merged = options.computeIfAbsent(option, key -> new OptionSums());
+            merged.correct = sums.correct;
+            merged.count += sums.count;
+            merged.restSum += sums.restSum;
+        });
+    }
+
+    ItemAnalysisDTO.ItemDTO toDTO() {
+        ItemAnalysisDTO.ItemDTO item = new ItemAnalysisDTO.ItemDTO();
+        item.setQuestionId(questionId);
+        item.setAttempts(attempts);
+        item.setOmitted(omitted);
+        item.setOtherAnswers(otherAnswers);
+        if (attempts > 0) {
+            double p = (double) correct / attempts;
+            item.setDifficulty(p);
+            item.setDiscrimination(pointBiserial(p));
+        }
+        List<ItemAnalysisDTO.OptionDTO> optionDTOs = new ArrayList<>(options.size());
+        options.forEach((option, sums) -> {
+            ItemAnalysisDTO.OptionDTO dto = new ItemAnalysisDTO.OptionDTO();
+            dto.setOption(option);
+            dto.setCorrect(sums.correct);
+            dto.setCount(sums.count);
+            dto.setFrequency(attempts > 0 ? (double) sums.count / attempts : 0);
+            dto.setMeanRestScore(sums.count > 0 ? sums.restSum / sums.count : null);
+            optionDTOs.add(dto);
+        });
+        item.setOptions(optionDTOs);
+        return item;
+    }
+
+    // Undefined when everyone (or no one) answered correctly, or all rest scores are equal
+    private Double pointBiserial(double p) {
+        long incorrect = attempts - correct;
+        if (correct == 0 || incorrect == 0) {
+            return null;
+        }
+        double mean = restSum / attempts;
+        double variance = restSumOfSquares / attempts - mean * mean;
+        if (variance <= 1e-12) {
+            return null;
+        }
+        double correctMean = correctRestSum / correct;
+        double incorrectMean = (restSum - correctRestSum) / incorrect;
+        return (correctMean - incorrectMean) / Math.sqrt(variance) * Math.sqrt(p * (1 - p));
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.soa.analysis;
+
+import com.example.soa.Dto.ItemAnalysisDTO;
+import com.example.soa.Model.QuizResponseLayout;
+import com.example.soa.Repository.QuizResponseLayoutRepository;
+import com.example.soa.Repository.QuizResponseRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Computes and caches item analysis per quiz.
+ *
+ * A coordinator thread reads the quiz's packed responses in keyset pages and
+ * hands each page to a pool of workers, which transpose it into
+ * {@link ResponseBlock columns} and reduce it to per-question sums; the
+ * coordinator then merges the sums of all pages. When the worker queue is full
+ * the coordinator processes the page itself, which keeps memory bounded
+ * however many attempts a quiz has.
+ *
+ * The last result for a quiz is served from memory. Once newer attempts exist
+ * it is still served, flagged as refreshing, while a new run computes the
+ * replacement.
+ */
+@Service
+public class ItemAnalysisService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ItemAnalysisService.class);
+
+    @Autowired
+    private QuizResponseRepository responseRepository;
+
+    @Autowired
+    private QuizResponseLayoutRepository layoutRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.item-analysis.workers:0}")
+    private int workers;
+
+    @Value("${app.item-analysis.page-size:5000}")
+    private int pageSize;
+
+    @Value("${app.item-analysis.max-concurrent-jobs:2}")
+    private int maxConcurrentJobs;
+
+    private ThreadPoolExecutor coordinators;
+    private ThreadPoolExecutor reducers;
+
+    private final Map<Long, Result> results = new ConcurrentHashMap<>();
+    private final Map<Long, Boolean> running = new ConcurrentHashMap<>();
+
+    private Timer jobTimer;
+
+    private static final class Result {
+        final ItemAnalysisDTO analysis;
+        final long lastScoreId;
+
+        Result(ItemAnalysisDTO analysis, long lastScoreId) {
+            this.analysis = analysis;
+            this.lastScoreId = lastScoreId;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        int reducerThreads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        coordinators = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxConcurrentJobs * 4),
+                daemonThreads("item-analysis-coordinator-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        reducers = new ThreadPoolExecutor(reducerThreads, reducerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(reducerThreads * 2),
+                daemonThreads("item-analysis-worker-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        jobTimer = meterRegistry.timer("quiz.item-analysis.duration");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinators.shutdownNow();
+        reducers.shutdownNow();
+    }
+
+    /**
+     * Returns the cached analysis of the quiz, starting a run if there is none
+     * yet or attempts were recorded since it was computed.
+     */
+    public ItemAnalysisDTO getAnalysis(Long quizId) {
+        Result result = results.get(quizId);
+        if (result == null) {
+            refresh(quizId);
+            return ItemAnalysisDTO.pending(quizId);
+        }
+        if (responseRepository.existsByQuizIdAndScoreIdGreaterThan(quizId, result.lastScoreId)) {
+            try {
+                refresh(quizId);
+            } catch (IllegalStateException e) {
+                // Busy: the previous result is still worth serving
+                logger.debug("Item analysis refresh of quiz {} deferred: {}", quizId, e.getMessage());
+            }
+        }
+        return result.analysis.withRefreshing(running.containsKey(quizId));
+    }
+
+    /**
+     * Starts a run for the quiz unless one is already in progress.
+     *
+     * @throws IllegalStateException if too many runs are already queued
+     */
+    public void refresh(Long quizId) {
+        if (running.putIfAbsent(quizId, Boolean.TRUE) != null) {
+            return;
+        }
+        try {
+            coordinators.execute(() -> run(quizId));
+        } catch (RejectedExecutionException e) {
+            running.remove(quizId);
+            throw new IllegalStateException("Too many item analyses are running, try again later");
+        }
+    }
+
+    public void invalidateQuiz(Long quizId) {
+        results.remove(quizId);
+    }
+
+    private void run(Long quizId) {
+        long started = System.nanoTime();
+        try {
+            Map<Long, ResponseLayout> layouts = new ConcurrentHashMap<>();
+            for (QuizResponseLayout row : layoutRepository.findByQuizId(quizId)) {
+                layouts.put(row.getLayoutId(), ResponseLayout.fromJson(row.getLayoutId(), row.getQuestions()));
+            }
+
+            List<Future<Map<Long, ItemAccumulator>>> pages = new ArrayList<>();
+            long lastScoreId = 0;
+            long attempts = 0;
+            while (true) {
+                List<QuizResponseRepository.ResponseRow> page =
+                        responseRepository.findPage(quizId, lastScoreId, PageRequest.of(0, pageSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+                lastScoreId = page.get(page.size() - 1).getScoreId();
+                attempts += page.size();
+                pages.add(reducers.submit(() -> reduce(page, layouts)));
+                if (page.size() < pageSize) {
+                    break;
+                }
+            }
+
+            Map<Long, ItemAccumulator> items = new HashMap<>();
+            for (Future<Map<Long, ItemAccumulator>> page : pages) {
+                page.get().forEach((questionId, sums) -> items.merge(questionId, sums, (a, b) -> {
+                    a.merge(b);
+                    return a;
+                }));
+            }
+
+            ItemAnalysisDTO analysis = new ItemAnalysisDTO();
+            analysis.setQuizId(quizId);
+            analysis.setStatus(ItemAnalysisDTO.Status.READY);
+            analysis.setAttemptCount(attempts);
+            analysis.setComputedAt(LocalDateTime.now());
+            analysis.setItems(items.values().stream()
+                    .map(ItemAccumulator::toDTO)
+                    .sorted(Comparator.comparing(ItemAnalysisDTO.ItemDTO::getQuestionId))
+                    .toList());
+            results.put(quizId, new Result(analysis, lastScoreId));
+            logger.info("Item analysis of quiz {} covered {} attempts in {} pages", quizId, attempts, pages.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.error("Item analysis of quiz {} failed: {}", quizId, e.getCause().getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Item analysis of quiz {} failed: {}", quizId, e.getMessage());
+        } finally {
+            running.remove(quizId);
+            jobTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Map<Long, ItemAccumulator> reduce(List<QuizResponseRepository.ResponseRow> page,
+                                              Map<Long, ResponseLayout> layouts) {
+        Map<Long, List<QuizResponseRepository.ResponseRow>> byLayout = new HashMap<>();
+        for (QuizResponseRepository.ResponseRow row : page) {
+            byLayout.computeIfAbsent(row.getLayoutId(), id -> new ArrayList<>()).add(row);
+        }
+        Map<Long, ItemAccumulator> items = new HashMap<>();
+        byLayout.forEach((layoutId, rows) -> {
+            // Created after the run started
+            ResponseLayout layout = layouts.computeIfAbsent(layoutId, id -> layoutRepository.findById(id)
+                    .map(row -> ResponseLayout.fromJson(row.getLayoutId(), row.getQuestions()))
+                    .orElse(null));
+            if (layout != null) {
+                new ResponseBlock(layout, rows).accumulateInto(items);
+            }
+        });
+        return items;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
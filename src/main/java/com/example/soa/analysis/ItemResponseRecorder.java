@@ -0,0 +1,112 @@
+package com.example.soa.analysis;
+
+import com.example.soa.Model.Question;
+import com.example.soa.Model.Quiz;
+import com.example.soa.Model.QuizResponseLayout;
+import com.example.soa.Repository.QuizRepository;
+import com.example.soa.Repository.QuizResponseLayoutRepository;
+import com.example.soa.Repository.QuizResponseRepository;
+import com.example.soa.util.TransactionHooks;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the answers of every quiz attempt as a packed {@link ResponseLayout}
+ * row, in the transaction that saves the score. The layout of a quiz is looked
+ * up (or created, in its own transaction) once and kept until the quiz
+ * changes, so recording costs one narrow insert per attempt.
+ */
+@Component
+public class ItemResponseRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ItemResponseRecorder.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO quiz_responses (score_id, quiz_id, layout_id, score, choices) VALUES (?, ?, ?, ?, ?)";
+
+    private final QuizRepository quizRepository;
+    private final QuizResponseRepository responseRepository;
+    private final QuizResponseLayoutRepository layoutRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate layoutTransaction;
+
+    private final Map<Long, ResponseLayout> layouts = new ConcurrentHashMap<>();
+
+    public ItemResponseRecorder(QuizRepository quizRepository,
+                                QuizResponseRepository responseRepository,
+                                QuizResponseLayoutRepository layoutRepository,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager) {
+        this.quizRepository = quizRepository;
+        this.responseRepository = responseRepository;
+        this.layoutRepository = layoutRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.layoutTransaction = new TransactionTemplate(transactionManager);
+        this.layoutTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Records one graded attempt. Must run in the transaction that saves the
+     * score.
+     */
+    public void record(Long quizId, Long scoreId, int score, Map<Long, String> answers) {
+        ResponseLayout layout = layouts.computeIfAbsent(quizId, this::resolveLayout);
+        jdbcTemplate.update(INSERT_SQL, scoreId, quizId, layout.getLayoutId(), score, layout.encode(answers));
+    }
+
+    public void invalidateQuiz(Long quizId) {
+        TransactionHooks.afterCommit(() -> layouts.remove(quizId));
+    }
+
+    public void deleteResponses(Long quizId) {
+        responseRepository.deleteByQuizId(quizId);
+        layoutRepository.deleteByQuizId(quizId);
+        invalidateQuiz(quizId);
+    }
+
+    private ResponseLayout resolveLayout(Long quizId) {
+        try {
+            return layoutTransaction.execute(status -> findOrCreateLayout(quizId));
+        } catch (DataIntegrityViolationException e) {
+            // Another submission created the same layout first
+            return layoutTransaction.execute(status -> findOrCreateLayout(quizId));
+        }
+    }
+
+    private ResponseLayout findOrCreateLayout(Long quizId) {
+        Quiz quiz = quizRepository.findById(quizId)
+                .orElseThrow(() -> new RuntimeException("Quiz not found with id: " + quizId));
+        // Same question order as the quiz's answer key
+        List<ResponseLayout.QuestionSpec> specs = quiz.getQuestions().stream()
+                .sorted(Comparator.comparing(Question::getId))
+                .map(question -> new ResponseLayout.QuestionSpec(question.getId(),
+                        question.getPoints() != null ? question.getPoints() : 1,
+                        question.getCorrectAnswer(), question.getOptions()))
+                .toList();
+        String json = ResponseLayout.toJson(specs);
+        String fingerprint = ResponseLayout.fingerprint(json);
+
+        QuizResponseLayout row = layoutRepository.findByQuizIdAndFingerprint(quizId, fingerprint).orElseGet(() -> {
+            QuizResponseLayout created = new QuizResponseLayout();
+            created.setQuizId(quizId);
+            created.setFingerprint(fingerprint);
+            created.setQuestions(json);
+            QuizResponseLayout saved = layoutRepository.saveAndFlush(created);
+            logger.info("Recorded response layout {} for quiz {} ({} questions)", saved.getLayoutId(), quizId, specs.size());
+            return saved;
+        });
+        return new ResponseLayout(row.getLayoutId(), specs);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.soa.analysis;
+
+import com.example.soa.Repository.QuizResponseRepository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A page of attempts encoded against one layout, transposed into columns: the
+ * scores in one array and, per question, the answer codes of every attempt
+ * in another. Statistics are then a tight pass over each column.
+ */
+final class ResponseBlock {
+
+    private final ResponseLayout layout;
+    private final int size;
+    private final int[] scores;
+    private final byte[][] columns;
+
+    ResponseBlock(ResponseLayout layout, List<QuizResponseRepository.ResponseRow> rows) {
+        this.layout = layout;
+        this.size = rows.size();
+        this.scores = new int[size];
+        int questions = layout.getQuestionCount();
+        this.columns = new byte[questions][size];
+        for (int r = 0; r < size; r++) {
+            QuizResponseRepository.ResponseRow row = rows.get(r);
+            scores[r] = row.getScore();
+            byte[] choices = row.getChoices();
+            int width = Math.min(questions, choices.length);
+            for (int q = 0; q < width; q++) {
+                columns[q][r] = choices[q];
+            }
+        }
+    }
+
+    void accumulateInto(Map<Long, ItemAccumulator> items) {
+        long[] counts = new long[256];
+        double[] restSums = new double[256];
+        for (int q = 0; q < columns.length; q++) {
+            byte[] column = columns[q];
+            int points = layout.getQuestion(q).points;
+            boolean[] correct = correctCodes(q);
+            Arrays.fill(counts, 0);
+            Arrays.fill(restSums, 0);
+            double restSumOfSquares = 0;
+            for (int r = 0; r < size; r++) {
+                int code = column[r] & 0xFF;
+                double rest = correct[code] ? scores[r] - points : scores[r];
+                counts[code]++;
+                restSums[code] += rest;
+                restSumOfSquares += rest * rest;
+            }
+            Long questionId = layout.getQuestion(q).id;
+            items.computeIfAbsent(questionId, ItemAccumulator::new).add(layout, q, counts, restSums, restSumOfSquares);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private boolean[] correctCodes(int question) {
+        boolean[] correct = new boolean[256];
+        for (int code = 0; code < correct.length; code++) {
+            correct[code] = layout.isCorrect(question, code);
+        }
+        return correct;
+    }
+}
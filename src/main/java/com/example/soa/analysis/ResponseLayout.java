@@ -0,0 +1,153 @@
+package com.example.soa.analysis;
+
+import com.example.soa.grading.AnswerKey;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled form of a {@link com.example.soa.Model.QuizResponseLayout}: how the
+ * answers of an attempt are packed into one byte per question and how to read
+ * them back.
+ *
+ * A byte is {@link #BLANK}, a free-text answer that was wrong or right, or
+ * {@link #FIRST_OPTION} plus the index of the chosen option. Whether a choice
+ * was correct follows from the layout, which fixes the correct answer, so the
+ * packed answers need no separate correctness flags.
+ */
+public final class ResponseLayout {
+
+    public static final int BLANK = 0;
+    public static final int OTHER_INCORRECT = 1;
+    public static final int OTHER_CORRECT = 2;
+    public static final int FIRST_OPTION = 3;
+    public static final int MAX_OPTIONS = 256 - FIRST_OPTION;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<List<QuestionSpec>> SPECS_TYPE = new TypeReference<>() {
+    };
+
+    /** One question of a layout, as stored in the layout's JSON. */
+    public static class QuestionSpec {
+        public Long id;
+        public int points;
+        public String correctAnswer;
+        public List<String> options = new ArrayList<>();
+
+        public QuestionSpec() {
+        }
+
+        public QuestionSpec(Long id, int points, String correctAnswer, List<String> options) {
+            this.id = id;
+            this.points = points;
+            this.correctAnswer = correctAnswer;
+            this.options = options != null ? new ArrayList<>(options) : new ArrayList<>();
+        }
+    }
+
+    private final Long layoutId;
+    private final List<QuestionSpec> questions;
+    private final String[] correctAnswers;
+    private final int[] correctOptions;
+    private final List<Map<String, Integer>> optionIndexes;
+
+    public ResponseLayout(Long layoutId, List<QuestionSpec> questions) {
+        this.layoutId = layoutId;
+        this.questions = List.copyOf(questions);
+        int size = questions.size();
+        this.correctAnswers = new String[size];
+        this.correctOptions = new int[size];
+        this.optionIndexes = new ArrayList<>(size);
+        for (int q = 0; q < size; q++) {
+            QuestionSpec spec = questions.get(q);
+            correctAnswers[q] = AnswerKey.normalize(spec.correctAnswer);
+            correctOptions[q] = -1;
+            Map<String, Integer> index = new HashMap<>();
+            for (int o = 0; o < Math.min(spec.options.size(), MAX_OPTIONS); o++) {
+                String option = AnswerKey.normalize(spec.options.get(o));
+                if (option != null && index.putIfAbsent(option, o) == null && option.equals(correctAnswers[q])) {
+                    correctOptions[q] = o;
+                }
+            }
+            optionIndexes.add(index);
+        }
+    }
+
+    public static ResponseLayout fromJson(Long layoutId, String json) {
+        try {
+            return new ResponseLayout(layoutId, MAPPER.readValue(json, SPECS_TYPE));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable response layout " + layoutId, e);
+        }
+    }
+
+    public static String toJson(List<QuestionSpec> questions) {
+        try {
+            return MAPPER.writeValueAsString(questions);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize response layout", e);
+        }
+    }
+
+    public static String fingerprint(String json) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(json.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Packs an attempt's answers, keyed by question ID, into one byte per
+     * question.
+     */
+    public byte[] encode(Map<Long, String> answers) {
+        byte[] packed = new byte[questions.size()];
+        if (answers == null) {
+            return packed;
+        }
+        for (int q = 0; q < packed.length; q++) {
+            String answer = AnswerKey.normalize(answers.get(questions.get(q).id));
+            int code;
+            if (answer == null) {
+                code = BLANK;
+            } else {
+                Integer option = optionIndexes.get(q).get(answer);
+                if (option != null) {
+                    code = FIRST_OPTION + option;
+                } else {
+                    code = answer.equals(correctAnswers[q]) ? OTHER_CORRECT : OTHER_INCORRECT;
+                }
+            }
+            packed[q] = (byte) code;
+        }
+        return packed;
+    }
+
+    public boolean isCorrect(int question, int code) {
+        return code == OTHER_CORRECT || (code >= FIRST_OPTION && code - FIRST_OPTION == correctOptions[question]);
+    }
+
+    public Long getLayoutId() {
+        return layoutId;
+    }
+
+    public int getQuestionCount() {
+        return questions.size();
+    }
+
+    public QuestionSpec getQuestion(int question) {
+        return questions.get(question);
+    }
+}
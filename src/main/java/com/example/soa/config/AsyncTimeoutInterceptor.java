@@ -0,0 +1,35 @@
+package com.example.soa.config;
+
+import jakarta.servlet.ServletRequest;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Lets a single handler choose the timeout of its async processing.
+ *
+ * A handler that returns a {@code StreamingResponseBody} has no way to pass a
+ * timeout, so it calls {@link #setTimeout} and this interceptor applies the
+ * value just before the request goes async. Every other request keeps the
+ * container's default.
+ */
+public class AsyncTimeoutInterceptor implements CallableProcessingInterceptor {
+
+    private static final String TIMEOUT_ATTRIBUTE = AsyncTimeoutInterceptor.class.getName() + ".timeout";
+
+    public static void setTimeout(ServletRequest request, long timeoutMillis) {
+        request.setAttribute(TIMEOUT_ATTRIBUTE, timeoutMillis);
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        Object timeout = request.getAttribute(TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (timeout instanceof Long millis && request instanceof AsyncWebRequest asyncRequest) {
+            asyncRequest.setTimeout(millis);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.soa.config;
+
+import com.example.soa.util.TransactionHooks;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the Spring Cache abstraction for the hot aggregate lookups.
+ *
+ * The backing store is configured through the standard spring.cache.*
+ * properties (Caffeine, size and TTL bounded, with stats recorded so they show
+ * up under /actuator/metrics and /actuator/caches). Setting
+ * spring.cache.type=none turns every cache into a pass-through.
+ *
+ * The caches hold read-only snapshots (CourseSnapshot, ModuleSnapshot,
+ * ContentSnapshot), never entities: a cached entity saved back would merge
+ * whatever it held when it was cached over newer rows and collections.
+ *
+ * Writes evict through {@link #evictAfterCommit} rather than {@code @CacheEvict}:
+ * an entry evicted inside the write transaction can be cached again from the
+ * old row by a concurrent read before the write commits.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String COURSES = "courses";
+    public static final String MODULES = "modules";
+    public static final String CONTENTS = "contents";
+    public static final String ASSESSMENT_QUESTIONS = "assessment-questions";
+
+    public static void evictAfterCommit(CacheManager cacheManager, String cacheName, Object key) {
+        TransactionHooks.afterCommit(() -> {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.evict(key);
+            }
+        });
+    }
+}
@@ -2,6 +2,7 @@ package com.example.soa.config;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
@@ -13,7 +14,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -21,14 +21,18 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.example.soa.security.BCryptCostCalibrator;
 import com.example.soa.security.CustomOidcUserService;
 import com.example.soa.security.CustomUserDetailsService;
 import com.example.soa.security.JwtAuthenticationEntryPoint;
 import com.example.soa.security.JwtAuthenticationFilter;
 import com.example.soa.security.JwtTokenProvider;
+import com.example.soa.security.UpgradingPasswordEncoder;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 
+import java.time.Duration;
 import java.util.List;
 
 @Configuration
@@ -58,16 +62,29 @@ public class SecurityConfig {
         return new JwtAuthenticationFilter(tokenProvider, customUserDetailsService);
     }
 
+    /**
+     * BCrypt at {@code app.password.bcrypt-cost}, or at the highest cost that
+     * fits {@code app.password.bcrypt-target-ms} on this machine when the cost
+     * is 0. Older hashes keep verifying and are rehashed on the next login.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.password.bcrypt-cost:10}") int cost,
+            @Value("${app.password.bcrypt-target-ms:250}") long targetMs,
+            @Value("${app.password.bcrypt-min-cost:10}") int minCost,
+            @Value("${app.password.accept-plaintext:true}") boolean acceptPlaintext) {
+        if (cost <= 0) {
+            cost = BCryptCostCalibrator.calibrate(Duration.ofMillis(targetMs), minCost);
+            logger.info("BCrypt cost calibrated to {} for a {} ms budget", cost, targetMs);
+        }
+        return new UpgradingPasswordEncoder(cost, acceptPlaintext);
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(customUserDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         authProvider.setHideUserNotFoundExceptions(false);
         return authProvider;
     }
@@ -135,6 +152,9 @@ public class SecurityConfig {
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
             .authorizeHttpRequests(auth -> auth
+                // The request was authorized before it went async; the stateless JWT filter does not run on the re-dispatch
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // Public endpoints
                 .requestMatchers("/", "/index.html", "/static/**", "/login", "/oauth2/**").permitAll()
                 .requestMatchers("/swagger-ui/**", "/swagger-ui.html", "/api-docs/**", "/v3/api-docs/**").permitAll()
@@ -0,0 +1,67 @@
+package com.example.soa.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+import org.springframework.web.servlet.resource.VersionStrategy;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chooses the Cache-Control header for static resources.
+ *
+ * A request for the current fingerprinted URL of an asset (the one
+ * {@link ResourceUrlProvider} would generate) can never change, so it is
+ * cached for a year and marked immutable. Anything else, including
+ * {@code index.html} and stale fingerprints, must be revalidated, which the
+ * resource handler answers with a 304 from Last-Modified.
+ *
+ * Handlers that set their own cache period are left alone.
+ */
+class StaticResourceCacheInterceptor implements HandlerInterceptor {
+
+    static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+    static final CacheControl REVALIDATE = CacheControl.noCache().cachePublic();
+
+    private final VersionStrategy versionStrategy;
+    private final ObjectProvider<ResourceUrlProvider> resourceUrlProvider;
+
+    StaticResourceCacheInterceptor(VersionStrategy versionStrategy,
+                                   ObjectProvider<ResourceUrlProvider> resourceUrlProvider) {
+        this.versionStrategy = versionStrategy;
+        this.resourceUrlProvider = resourceUrlProvider;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof ResourceHttpRequestHandler resourceHandler)
+                || resourceHandler.getCacheControl() != null
+                || resourceHandler.getCacheSeconds() >= 0) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        CacheControl cacheControl = isCurrentFingerprint(path) ? IMMUTABLE : REVALIDATE;
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        return true;
+    }
+
+    private boolean isCurrentFingerprint(String path) {
+        String version = versionStrategy.extractVersion(path);
+        if (version == null) {
+            return false;
+        }
+        ResourceUrlProvider urlProvider = resourceUrlProvider.getIfAvailable();
+        if (urlProvider == null) {
+            return false;
+        }
+        // Cached by the resource chain, so this does not rehash the file
+        String current = urlProvider.getForLookupPath(versionStrategy.removeVersion(path, version));
+        return path.equals(current);
+    }
+}
@@ -1,18 +1,34 @@
 package com.example.soa.config;
 
+import com.example.soa.Service.ProfilePictureService;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Value("${app.profile-pictures.dir:uploads/profile-pictures}")
+    private String profilePictureDirectory;
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // Register resource handler for profile pictures
+        // Profile picture variants get a new name on every upload, so a URL's content never changes
+        registry.addResourceHandler(ProfilePictureService.URL_PREFIX + "**")
+                .addResourceLocations(Paths.get(profilePictureDirectory).toUri().toString())
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable())
+                .resourceChain(true);
+
+        // Register resource handler for other uploads
         registry.addResourceHandler("/uploads/**")
                 .addResourceLocations("file:uploads/")
-                .setCachePeriod(3600) // Cache for 1 hour
+                .setCacheControl(CacheControl.maxAge(1, TimeUnit.HOURS))
                 .resourceChain(true);
     }
-}
\ No newline at end of file
+}
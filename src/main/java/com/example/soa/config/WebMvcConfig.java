@@ -1,25 +1,83 @@
 package com.example.soa.config;
 
+import com.example.soa.loader.RequestQueryLogInterceptor;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.CachingResourceResolver;
+import org.springframework.web.servlet.resource.CachingResourceTransformer;
+import org.springframework.web.servlet.resource.ContentVersionStrategy;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
 
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    static final String[] STATIC_LOCATIONS = {
+            "classpath:/static/",
+            "classpath:/public/",
+            "classpath:/resources/",
+            "classpath:/META-INF/resources/",
+            "classpath:/templates/"
+    };
+
+    private final ContentVersionStrategy versionStrategy = new ContentVersionStrategy();
+    private final ObjectProvider<ResourceUrlProvider> resourceUrlProvider;
+    private final int queryWarnThreshold;
+
+    public WebMvcConfig(ObjectProvider<ResourceUrlProvider> resourceUrlProvider,
+                        @Value("${app.request-loader.warn-queries:50}") int queryWarnThreshold) {
+        this.resourceUrlProvider = resourceUrlProvider;
+        this.queryWarnThreshold = queryWarnThreshold;
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        // Resolved paths, URLs and encodings are cached in memory, so the
+        // locations are probed once per asset rather than on every request.
+        // Precompressed .br/.gz siblings are served when the client accepts them.
+        ConcurrentMapCache cache = new ConcurrentMapCache("static-resources");
         registry.addResourceHandler("/**")
-                .addResourceLocations("classpath:/static/")
-                .addResourceLocations("classpath:/public/")
-                .addResourceLocations("classpath:/resources/")
-                .addResourceLocations("classpath:/META-INF/resources/")
-                .addResourceLocations("classpath:/templates/");
+                .addResourceLocations(STATIC_LOCATIONS)
+                .resourceChain(false)
+                .addResolver(new CachingResourceResolver(cache))
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new VersionResourceResolver().addVersionStrategy(versionStrategy, "/**"))
+                .addTransformer(new CachingResourceTransformer(cache));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new StaticResourceCacheInterceptor(versionStrategy, resourceUrlProvider));
+        registry.addInterceptor(new RequestQueryLogInterceptor(queryWarnThreshold)).addPathPatterns("/api/**");
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new AsyncTimeoutInterceptor());
     }
 
     @Override
     public void addViewControllers(ViewControllerRegistry registry) {
         registry.addViewController("/").setViewName("forward:/index.html");
     }
-}
\ No newline at end of file
+
+    /**
+     * Rewrites static links in Thymeleaf templates to their fingerprinted
+     * form, e.g. {@code @{/css/app.css}} to {@code /css/app-<md5>.css}.
+     */
+    @Bean
+    public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+        return new ResourceUrlEncodingFilter();
+    }
+}
@@ -1,34 +1,58 @@
 package com.example.soa.controller;
 
 import com.example.soa.Dto.AssessmentDTO;
+import com.example.soa.Dto.AssessmentQuestionDTO;
+import com.example.soa.Dto.AssessmentQuestionSetDTO;
 import com.example.soa.Dto.QuizAnswerDTO;
 import com.example.soa.Dto.SubmissionDTO;
+import com.example.soa.Dto.SubmissionGradeDTO;
 import com.example.soa.Model.Assessment;
 import com.example.soa.Model.Course;
 import com.example.soa.Model.QuizAnswer;
 import com.example.soa.Model.Submission;
 import com.example.soa.Model.User;
+import com.example.soa.config.AsyncTimeoutInterceptor;
 import com.example.soa.exception.AssessmentNotFoundException;
+import com.example.soa.exception.BadRequestException;
+import com.example.soa.exception.ResourceNotFoundException;
+import com.example.soa.grading.BulkRegradeService;
+import com.example.soa.grading.RegradeJob;
+import com.example.soa.leaderboard.LeaderboardService;
+import com.example.soa.loader.RequestLoader;
 import com.example.soa.mapper.AssessmentMapper;
 import com.example.soa.Repository.AssessmentRepository;
 import com.example.soa.Repository.CourseRepository;
 import com.example.soa.Repository.QuizAnswerRepository;
 import com.example.soa.Repository.SubmissionRepository;
+import com.example.soa.Service.AssessmentQuestionService;
+import com.example.soa.Service.AssessmentService;
+import com.example.soa.Service.SubmissionExportService;
 import com.example.soa.security.UserPrincipal;
+import com.example.soa.session.AnswerDraftBuffer;
+import com.example.soa.session.DraftKey;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import jakarta.servlet.http.HttpServletRequest;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -52,6 +76,30 @@ public class AssessmentController {
     @Autowired
     private AssessmentMapper assessmentMapper;
 
+    @Autowired
+    private BulkRegradeService bulkRegradeService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private SubmissionExportService submissionExportService;
+
+    @Autowired
+    private AssessmentService assessmentService;
+
+    @Autowired
+    private AssessmentQuestionService assessmentQuestionService;
+
+    @Autowired
+    private AnswerDraftBuffer answerDraftBuffer;
+
+    @Autowired
+    private RequestLoader requestLoader;
+
+    @Value("${app.export.timeout-ms:600000}")
+    private long exportTimeoutMs;
+
     @PostMapping("/create")
     @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR')")
     public ResponseEntity<?> createAssessment(
@@ -186,6 +234,7 @@ public class AssessmentController {
             }
             
             assessmentRepository.delete(assessment);
+            leaderboardService.invalidateCourse(course.getCourseId());
             
             logger.info("Assessment deleted successfully with ID: {}", assessmentId);
             return ResponseEntity.noContent().build();
@@ -197,6 +246,88 @@ public class AssessmentController {
         }
     }
 
+    @GetMapping("/{assessmentId}/questions")
+    public ResponseEntity<?> getAssessmentQuestions(
+            @PathVariable Long assessmentId,
+            @RequestParam(required = false) Integer version,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        try {
+            Assessment assessment = assessmentRepository.findById(assessmentId)
+                .orElseThrow(() -> new AssessmentNotFoundException("Assessment not found with ID: " + assessmentId));
+
+            // Only the course's instructor and admins see the correct answers; enrolled students see the questions
+            boolean canSeeAnswers = !currentUser.getRole().name().equals("STUDENT") && canManage(assessment, currentUser);
+            if (!canSeeAnswers && !(currentUser.getRole().name().equals("STUDENT")
+                    && requestLoader.isEnrolled(currentUser.getId(), assessment.getCourse().getCourseId()))) {
+                logger.warn("User {} attempting to view questions of assessment {} without access", currentUser.getId(), assessmentId);
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ErrorResponse("You don't have permission to view these questions"));
+            }
+
+            AssessmentQuestionSetDTO questions = version != null
+                ? assessmentQuestionService.getQuestions(assessmentId, version)
+                : assessmentQuestionService.getCurrentQuestions(assessmentId);
+            return ResponseEntity.ok(canSeeAnswers ? questions : questions.withoutAnswers());
+        } catch (AssessmentNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @PutMapping("/{assessmentId}/questions")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR')")
+    public ResponseEntity<?> publishAssessmentQuestions(
+            @PathVariable Long assessmentId,
+            @RequestBody List<AssessmentQuestionDTO> questions,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        try {
+            Assessment assessment = assessmentRepository.findById(assessmentId)
+                .orElseThrow(() -> new AssessmentNotFoundException("Assessment not found with ID: " + assessmentId));
+
+            if (!canManage(assessment, currentUser)) {
+                logger.warn("User {} attempting to edit questions for course they don't own", currentUser.getId());
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ErrorResponse("You don't have permission to edit these questions"));
+            }
+
+            return ResponseEntity.ok(assessmentQuestionService.publishQuestions(assessmentId, questions));
+        } catch (AssessmentNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error publishing assessment questions: {}", e.getMessage());
+            return ResponseEntity
+                .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse("Failed to publish questions: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{assessmentId}/draft")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<?> getDraftAnswers(
+            @PathVariable Long assessmentId,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        ResponseEntity<?> denied = draftAccessDenied(assessmentId, currentUser);
+        if (denied != null) {
+            return denied;
+        }
+        return ResponseEntity.ok(answerDraftBuffer.get(DraftKey.assessment(currentUser.getId(), assessmentId)));
+    }
+
+    // Autosave target: answers are buffered and written behind, so this never waits on the database
+    @PatchMapping("/{assessmentId}/draft")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<?> saveDraftAnswers(
+            @PathVariable Long assessmentId,
+            @RequestBody Map<String, String> answers,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        ResponseEntity<?> denied = draftAccessDenied(assessmentId, currentUser);
+        if (denied != null) {
+            return denied;
+        }
+        return ResponseEntity.ok(answerDraftBuffer.save(DraftKey.assessment(currentUser.getId(), assessmentId), answers));
+    }
+
     @PostMapping("/{assessmentId}/submit")
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<?> submitAssessment(
@@ -218,9 +349,17 @@ public class AssessmentController {
             submission.setAssessment(assessment);
             submission.setStudent(student);
             submission.setSubmissionDate(java.time.LocalDateTime.now());
-            submission.setStudentAnswers(submissionDTO.getSubmittedAnswers());
+            // Autosaved answers count unless the submission itself changes them
+            DraftKey draftKey = DraftKey.assessment(currentUser.getId(), assessmentId);
+            Map<String, String> answers = new HashMap<>(answerDraftBuffer.get(draftKey));
+            if (submissionDTO.getSubmittedAnswers() != null) {
+                answers.putAll(submissionDTO.getSubmittedAnswers());
+            }
+            submission.setStudentAnswers(answers);
+            submission.setQuestionVersion(assessment.getQuestionVersion());
             
             Submission savedSubmission = submissionRepository.save(submission);
+            answerDraftBuffer.discard(draftKey);
             
             logger.info("Assessment submitted successfully by student {}", currentUser.getId());
             return ResponseEntity.ok(savedSubmission);
@@ -264,6 +403,40 @@ public class AssessmentController {
         }
     }
 
+    // Typed as StreamingResponseBody so MVC streams the body; errors go through GlobalExceptionHandler
+    @GetMapping("/{assessmentId}/submissions/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR')")
+    public ResponseEntity<StreamingResponseBody> exportSubmissions(
+            @PathVariable Long assessmentId,
+            @RequestParam(defaultValue = "csv") String format,
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            HttpServletRequest request) {
+        SubmissionExportService.Format exportFormat;
+        try {
+            exportFormat = SubmissionExportService.Format.fromParameter(format);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+
+        Assessment assessment = assessmentRepository.findById(assessmentId)
+            .orElseThrow(() -> new ResourceNotFoundException("Assessment not found with ID: " + assessmentId));
+
+        if (!canManage(assessment, currentUser)) {
+            logger.warn("User {} attempting to export submissions for course they don't own", currentUser.getId());
+            throw new AccessDeniedException("You don't have permission to export these submissions");
+        }
+
+        // Written on an async thread straight to the response; nothing is buffered here.
+        // Large exports outlive the default async timeout, so this request gets its own.
+        AsyncTimeoutInterceptor.setTimeout(request, exportTimeoutMs);
+        StreamingResponseBody body = output -> submissionExportService.export(assessmentId, exportFormat, output);
+        String fileName = "assessment-" + assessmentId + "-submissions." + exportFormat.getExtension();
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+            .body(body);
+    }
+
     @PostMapping("/{assessmentId}/grade/{submissionId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR')")
     public ResponseEntity<?> gradeSubmission(
@@ -298,6 +471,7 @@ public class AssessmentController {
             }
             
             Submission gradedSubmission = submissionRepository.save(submission);
+            leaderboardService.invalidateCourse(course.getCourseId());
             
             logger.info("Submission graded successfully");
             return ResponseEntity.ok(gradedSubmission);
@@ -309,6 +483,104 @@ public class AssessmentController {
         }
     }
 
+    @PostMapping("/{assessmentId}/grades")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR')")
+    public ResponseEntity<?> gradeSubmissions(
+            @PathVariable Long assessmentId,
+            @RequestBody List<SubmissionGradeDTO> grades,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        try {
+            Assessment assessment = assessmentRepository.findById(assessmentId)
+                .orElseThrow(() -> new AssessmentNotFoundException("Assessment not found with ID: " + assessmentId));
+
+            if (!canManage(assessment, currentUser)) {
+                logger.warn("User {} attempting to grade submissions for course they don't own", currentUser.getId());
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ErrorResponse("You don't have permission to grade these submissions"));
+            }
+
+            int graded = assessmentService.gradeSubmissions(assessmentId, grades, currentUser.getId());
+            return ResponseEntity.ok(Map.of("graded", graded));
+        } catch (AssessmentNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error bulk grading submissions: {}", e.getMessage());
+            return ResponseEntity
+                .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse("Failed to grade submissions: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/{assessmentId}/regrade")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR')")
+    public ResponseEntity<?> regradeSubmissions(
+            @PathVariable Long assessmentId,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        try {
+            Assessment assessment = assessmentRepository.findById(assessmentId)
+                .orElseThrow(() -> new AssessmentNotFoundException("Assessment not found with ID: " + assessmentId));
+
+            if (!canManage(assessment, currentUser)) {
+                logger.warn("User {} attempting to re-grade assessment for course they don't own", currentUser.getId());
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ErrorResponse("You don't have permission to re-grade this assessment"));
+            }
+
+            RegradeJob job = bulkRegradeService.start(assessment);
+            return ResponseEntity.accepted().body(job);
+        } catch (AssessmentNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error starting re-grade: {}", e.getMessage());
+            return ResponseEntity
+                .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponse("Failed to start re-grade: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/regrade-jobs/{jobId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR')")
+    public ResponseEntity<?> getRegradeJob(
+            @PathVariable String jobId,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        RegradeJob job = bulkRegradeService.getJob(jobId).orElse(null);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse("Re-grade job not found: " + jobId));
+        }
+        Assessment assessment = assessmentRepository.findById(job.getAssessmentId()).orElse(null);
+        if (assessment != null && !canManage(assessment, currentUser)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(new ErrorResponse("You don't have permission to view this re-grade job"));
+        }
+        return ResponseEntity.ok(job);
+    }
+
+    // Drafts are buffered and stored per key, so only existing assessments of the student's courses get one
+    private ResponseEntity<?> draftAccessDenied(Long assessmentId, UserPrincipal currentUser) {
+        Long courseId = assessmentRepository.findCourseId(assessmentId).orElse(null);
+        if (courseId == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse("Assessment not found with ID: " + assessmentId));
+        }
+        if (!requestLoader.isEnrolled(currentUser.getId(), courseId)) {
+            logger.warn("User {} attempting to use drafts of assessment {} without enrollment", currentUser.getId(), assessmentId);
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(new ErrorResponse("You are not enrolled in this assessment's course"));
+        }
+        return null;
+    }
+
+    private boolean canManage(Assessment assessment, UserPrincipal currentUser) {
+        return currentUser.getRole().name().equals("ADMIN") ||
+            assessment.getCourse().getInstructor().getUserId().equals(currentUser.getId());
+    }
+
     private static class ErrorResponse {
         private String message;
 
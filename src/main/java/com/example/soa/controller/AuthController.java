@@ -6,6 +6,7 @@ import com.example.soa.Model.User;
 import com.example.soa.Dto.UpdateProfileRequest;
 import com.example.soa.Repository.PasswordResetTokenRepository;
 import com.example.soa.Service.EmailService;
+import com.example.soa.Service.LoginService;
 import com.example.soa.Service.PasswordResetService;
 import com.example.soa.payload.ApiResponse;
 import com.example.soa.payload.LoginRequest;
@@ -14,24 +15,27 @@ import com.example.soa.payload.TokenRefreshRequest;
 import com.example.soa.payload.TokenRefreshResponse;
 import com.example.soa.security.JwtTokenProvider;
 import com.example.soa.security.UserPrincipal;
+import com.example.soa.Service.PasswordVerificationService;
 import com.example.soa.Service.RefreshTokenService;
 import com.example.soa.Service.UserService;
 import com.example.soa.exception.TokenExpiredException;
 import com.example.soa.exception.TokenNotFoundException;
+import com.example.soa.exception.ServiceUnavailableException;
+import com.example.soa.exception.TooManyRequestsException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.micrometer.core.instrument.util.StringUtils;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,9 +43,7 @@ import org.slf4j.LoggerFactory;
 import jakarta.mail.MessagingException;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.io.IOException;
@@ -97,6 +99,7 @@ public class AuthController {
     private final JwtTokenProvider tokenProvider;
     private final RefreshTokenService refreshTokenService;
     private final PasswordResetService passwordResetService;
+    private final LoginService loginService;
     
     @Autowired
     private EmailService emailService;
@@ -104,17 +107,22 @@ public class AuthController {
     @Autowired
     private PasswordResetTokenRepository passwordResetTokenRepository;
 
+    @Autowired
+    private PasswordVerificationService passwordVerificationService;
+
     public AuthController(
             AuthenticationManager authenticationManager,
             UserService userService,
             JwtTokenProvider tokenProvider,
             RefreshTokenService refreshTokenService,
-            PasswordResetService passwordResetService) {
+            PasswordResetService passwordResetService,
+            LoginService loginService) {
         this.authenticationManager = authenticationManager;
         this.userService = userService;
         this.tokenProvider = tokenProvider;
         this.refreshTokenService = refreshTokenService;
         this.passwordResetService = passwordResetService;
+        this.loginService = loginService;
     }
 
     @PostMapping("/login")
@@ -135,61 +143,13 @@ public class AuthController {
                     .body(createErrorResponse("Invalid request", "Password cannot be empty"));
             }
 
-            // Check if user exists
-            Optional<User> userOptional = userService.findByEmail(loginRequest.getEmail());
-            if (userOptional.isEmpty()) {
-                logger.error("Login failed: User not found with email: {}", loginRequest.getEmail());
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(createErrorResponse("Authentication failed", "User not found with email: " + loginRequest.getEmail()));
-            }
-
-            User user = userOptional.get();
-            logger.info("Found user with ID: {}, Role: {}", user.getUserId(), user.getRole());
-
-            // Custom authentication logic to handle plaintext passwords
-            if (!userService.validatePassword(user, loginRequest.getPassword())) {
-                logger.error("Authentication failed for user: {} - Error: Bad credentials", loginRequest.getEmail());
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(createErrorResponse("Authentication failed", "Invalid email or password"));
-            }
-            
-            // Create UserPrincipal from the user object
-            UserPrincipal userPrincipal = UserPrincipal.create(user);
-            
-            // Create authentication token with authenticated user
-            // Convert user role to Spring Security authorities
-            List<GrantedAuthority> authorities = new ArrayList<>();
-            authorities.add(new org.springframework.security.core.authority.SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
-            
-            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                userPrincipal, // Use UserPrincipal as the principal
-                null, // No credentials needed here as we've already validated
-                authorities // Use the manually created authorities
-            );
-            
-            // Set authentication in security context
-            Authentication authentication = authToken;
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-
-            // Generate JWT
-            String jwt = tokenProvider.generateToken(authentication);
-            logger.info("JWT token generated for user: {}", loginRequest.getEmail());
-
-            // Generate refresh token
-            String refreshToken = tokenProvider.generateRefreshToken(authentication);
-            logger.info("Refresh token generated for user: {}", loginRequest.getEmail());
-
-            // Save refresh token
-            RefreshToken refreshTokenEntity = refreshTokenService.createRefreshToken(user.getUserId());
-            logger.info("Refresh token saved to database for user: {}", loginRequest.getEmail());
-
-            // Get user details from authentication
-            UserPrincipal authenticatedUser = (UserPrincipal) authentication.getPrincipal();
+            LoginService.LoginResult login = loginService.login(loginRequest.getEmail(), loginRequest.getPassword());
+            UserPrincipal authenticatedUser = login.getUser();
 
             // Create response
             Map<String, Object> response = new HashMap<>();
-            response.put("accessToken", jwt);
-            response.put("refreshToken", refreshTokenEntity.getToken());
+            response.put("accessToken", login.getAccessToken());
+            response.put("refreshToken", login.getRefreshToken());
             response.put("tokenType", "Bearer");
             response.put("id", authenticatedUser.getId());
             response.put("email", authenticatedUser.getEmail());
@@ -199,10 +159,16 @@ public class AuthController {
 
             return ResponseEntity.ok(response);
 
+        } catch (UsernameNotFoundException e) {
+            logger.error("Login failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(createErrorResponse("Authentication failed", e.getMessage()));
         } catch (AuthenticationException e) {
             logger.error("Authentication failed for user: {} - Error: {}", loginRequest.getEmail(), e.getMessage());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(createErrorResponse("Authentication failed", "Invalid email or password"));
+        } catch (TooManyRequestsException | ServiceUnavailableException e) {
+            return passwordVerificationBusy(e);
         } catch (Exception e) {
             logger.error("Unexpected error during login: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -329,8 +295,8 @@ public class AuthController {
         try {
             String requestRefreshToken = request.getRefreshToken();
             RefreshToken refreshToken = refreshTokenService.verifyRefreshToken(requestRefreshToken);
-            User user = refreshToken.getUser();
-            String token = tokenProvider.generateTokenFromUserId(user.getUserId());
+            // The lazy proxy already carries the id, so this does not load the user
+            String token = tokenProvider.generateTokenFromUserId(refreshToken.getUser().getUserId());
             return ResponseEntity.ok(new TokenRefreshResponse(token, requestRefreshToken));
         } catch (Exception e) {
             logger.error("Error refreshing token: {}", e.getMessage());
@@ -388,7 +354,7 @@ public class AuthController {
             User user = userOptional.get();
             
             // Validate old password
-            if (!userService.validatePassword(user, request.getOldPassword())) {
+            if (!passwordVerificationService.verify(user, request.getOldPassword())) {
                 logger.error("Password change failed for user ID {}: Incorrect old password", userId);
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(createErrorResponse("Authentication failed", "Current password is incorrect"));
@@ -400,6 +366,8 @@ public class AuthController {
             
             return ResponseEntity.ok(Map.of("message", "Password changed successfully"));
             
+        } catch (TooManyRequestsException | ServiceUnavailableException e) {
+            return passwordVerificationBusy(e);
         } catch (Exception e) {
             logger.error("Password change failed for user ID {}: {}", userId, e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -427,6 +395,21 @@ public class AuthController {
         }
     }
 
+    /**
+     * 429 with Retry-After when the password verification queue is full, 503
+     * when a queued check timed out.
+     */
+    private ResponseEntity<?> passwordVerificationBusy(RuntimeException e) {
+        if (e instanceof TooManyRequestsException tooMany) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(tooMany.getRetryAfterSeconds()))
+                .body(createErrorResponse("Too many requests", e.getMessage()));
+        }
+        logger.warn("Password verification unavailable: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .body(createErrorResponse("Service unavailable", e.getMessage()));
+    }
+
     private Map<String, String> createErrorResponse(String error, String message) {
         Map<String, String> response = new HashMap<>();
         response.put("error", error);
@@ -561,7 +544,7 @@ public class AuthController {
                     .orElseThrow(() -> new RuntimeException("User not found"));
             
             // Validate old password
-            if (!userService.validatePassword(user, oldPassword)) {
+            if (!passwordVerificationService.verify(user, oldPassword)) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(createErrorResponse("Password change failed", "Current password is incorrect"));
             }
@@ -570,6 +553,8 @@ public class AuthController {
             userService.updatePassword(user.getUserId(), newPassword);
             
             return ResponseEntity.ok("Password updated successfully");
+        } catch (TooManyRequestsException | ServiceUnavailableException e) {
+            return passwordVerificationBusy(e);
         } catch (Exception e) {
             logger.error("Error changing password: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
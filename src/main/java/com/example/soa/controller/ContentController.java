@@ -1,32 +1,44 @@
 package com.example.soa.controller;
 
 import com.example.soa.Dto.ContentDTO;
+import com.example.soa.Dto.ContentSearchResultDTO;
+import com.example.soa.Dto.ContentSnapshot;
 import com.example.soa.Model.Content;
+import com.example.soa.Model.ContentTextChunk;
 import com.example.soa.Model.Course;
 import com.example.soa.Model.Module;
 import com.example.soa.Model.User;
 import com.example.soa.exception.ContentNotFoundException;
+import com.example.soa.exception.CourseNotFoundException;
 import com.example.soa.exception.AccessDeniedException;
 import com.example.soa.Service.ContentService;
 import com.example.soa.Service.ContentAccessService;
-import com.example.soa.Service.CourseService;
+import com.example.soa.Service.ContentIndexingService;
+import com.example.soa.Service.EntityTagService;
+import com.example.soa.loader.RequestLoader;
+import com.example.soa.mapper.ContentMapper;
 import com.example.soa.security.UserPrincipal;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
@@ -43,7 +55,19 @@ public class ContentController {
     private ContentAccessService contentAccessService;
     
     @Autowired
-    private CourseService courseService;
+    private RequestLoader requestLoader;
+
+    @Autowired
+    private ContentIndexingService contentIndexingService;
+
+    @Autowired
+    private ContentMapper contentMapper;
+
+    @Autowired
+    private EntityTagService entityTagService;
+
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int SNIPPET_RADIUS = 120;
 
     @Operation(summary = "Upload new content")
     @CrossOrigin(origins = "http://localhost:3000")
@@ -56,7 +80,8 @@ public class ContentController {
             logger.info("Uploading new content for course ID: {}", contentDTO.getCourseId());
             
             // Validate that user can upload content for this course
-            Course course = courseService.getCourseById(contentDTO.getCourseId());
+            Course course = requestLoader.course(contentDTO.getCourseId())
+                    .orElseThrow(() -> new CourseNotFoundException("Course not found with ID: " + contentDTO.getCourseId()));
             if (!currentUser.getRole().name().equals("ADMIN") && 
                 !course.getInstructor().getUserId().equals(currentUser.getId())) {
                 logger.warn("User {} attempting to upload content for course they don't own", currentUser.getId());
@@ -205,7 +230,8 @@ public class ContentController {
             logger.info("Uploading new content via JSON for course ID: {}", contentDTO.getCourseId());
             
             // Validate that user can upload content for this course
-            Course course = courseService.getCourseById(contentDTO.getCourseId());
+            Course course = requestLoader.course(contentDTO.getCourseId())
+                    .orElseThrow(() -> new CourseNotFoundException("Course not found with ID: " + contentDTO.getCourseId()));
             if (!currentUser.getRole().name().equals("ADMIN") && 
                 !course.getInstructor().getUserId().equals(currentUser.getId())) {
                 logger.warn("User {} attempting to upload content for course they don't own", currentUser.getId());
@@ -315,8 +341,15 @@ public class ContentController {
 
     @Operation(summary = "Get content for a specific course")
     @GetMapping("/course/{courseId}")
-    public ResponseEntity<?> getCourseContent(@PathVariable Long courseId) {
+    public ResponseEntity<?> getCourseContent(
+            @PathVariable Long courseId,
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            ServletWebRequest request) {
         try {
+            Long userId = currentUser != null ? currentUser.getId() : null;
+            if (entityTagService.checkNotModified(request, entityTagService.courseContent(courseId, userId))) {
+                return null;
+            }
             logger.info("Fetching content for course ID: {}", courseId);
             List<Content> contents = contentService.getCourseContent(courseId);
             
@@ -340,6 +373,7 @@ public class ContentController {
                 dto.setFileUrl(content.getFileUrl());
                 dto.setIsActive(content.getIsActive());
                 dto.setOrderIndex(content.getOrderIndex());
+                dto.setVersion(content.getVersion());
                 dto.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(ContentController.class)
                     .getContent(content.getContentId())).withSelfRel());
                 return dto;
@@ -354,33 +388,89 @@ public class ContentController {
         }
     }
 
+    @Operation(summary = "Search the text of uploaded documents")
+    @GetMapping("/search")
+    public ResponseEntity<?> searchContent(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            if (query == null || query.trim().length() < 2) {
+                return ResponseEntity.badRequest()
+                        .body(Map.of("message", "Search term must be at least 2 characters"));
+            }
+            String term = query.trim();
+            logger.info("Searching content text for '{}' in course {}", term, courseId);
+
+            // Scoped to the caller's courses in the query itself, so the limit only counts readable hits
+            Collection<Long> courseIds = contentAccessService.accessibleCourseIds();
+            if (courseId != null) {
+                courseIds = courseIds == null || courseIds.contains(courseId) ? List.of(courseId) : List.of();
+            }
+            List<ContentTextChunk> chunks = contentIndexingService.search(
+                    term, courseIds, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
+
+            // Resolve all matching documents in one batch
+            Set<Long> matchedIds = chunks.stream().map(ContentTextChunk::getContentId).collect(Collectors.toSet());
+            Map<Long, ContentSnapshot> found = requestLoader.contents(matchedIds);
+            List<ContentSearchResultDTO> results = new ArrayList<>();
+            for (ContentTextChunk chunk : chunks) {
+                ContentSnapshot content = found.get(chunk.getContentId());
+                if (content == null) {
+                    logger.debug("Search hit for deleted content {}", chunk.getContentId());
+                    continue;
+                }
+                ContentSearchResultDTO dto = new ContentSearchResultDTO();
+                dto.setContentId(content.contentId());
+                dto.setCourseId(chunk.getCourseId());
+                dto.setTitle(content.title());
+                dto.setChunkIndex(chunk.getChunkIndex());
+                dto.setSnippet(snippet(chunk.getText(), term));
+                dto.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(ContentController.class)
+                    .getContent(content.contentId())).withSelfRel());
+                results.add(dto);
+            }
+
+            logger.info("Found {} accessible matches for '{}'", results.size(), term);
+            return ResponseEntity.ok(results);
+        } catch (Exception e) {
+            logger.error("Error searching content: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Failed to search content: " + e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Re-index the text of all uploaded documents")
+    @PostMapping("/reindex")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> reindexContent() {
+        int marked = contentIndexingService.reindexAll();
+        return ResponseEntity.accepted().body(Map.of("queued", marked));
+    }
+
+    private String snippet(String text, String term) {
+        int hit = text.toLowerCase().indexOf(term.toLowerCase());
+        if (hit < 0) {
+            return text.length() <= SNIPPET_RADIUS * 2 ? text : text.substring(0, SNIPPET_RADIUS * 2);
+        }
+        int start = Math.max(0, hit - SNIPPET_RADIUS);
+        int end = Math.min(text.length(), hit + term.length() + SNIPPET_RADIUS);
+        return (start > 0 ? "..." : "") + text.substring(start, end) + (end < text.length() ? "..." : "");
+    }
+
     @Operation(summary = "Get content by ID")
     @GetMapping("/{contentId}")
     public ResponseEntity<?> getContent(@PathVariable Long contentId) {
         try {
             logger.info("Fetching content with ID: {}", contentId);
-            Content content = contentService.getContentById(contentId);
+            ContentSnapshot content = contentService.getContentSnapshot(contentId);
             
             // Verify user has access to this content
             contentAccessService.verifyContentAccess(content);
             
-            ContentDTO contentDTO = new ContentDTO();
-            contentDTO.setContentId(content.getContentId());
-            contentDTO.setCourseId(content.getCourse().getCourseId());
-            contentDTO.setType(content.getType().name());
-            contentDTO.setUrlFileLocation(content.getUrlFileLocation());
-            contentDTO.setUploadDate(content.getUploadDate());
-            contentDTO.setFileSize(content.getFileSize());
-            contentDTO.setFileType(content.getFileType());
-            contentDTO.setDescription(content.getDescription());
-            contentDTO.setTitle(content.getTitle());
-            contentDTO.setFileName(content.getFileName());
-            contentDTO.setFileUrl(content.getFileUrl());
-            contentDTO.setIsActive(content.getIsActive());
-            contentDTO.setOrderIndex(content.getOrderIndex());
+            ContentDTO contentDTO = contentMapper.toContentDTO(content);
             contentDTO.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(ContentController.class)
                 .getContent(contentId)).withSelfRel());
-            contentDTO.setModuleId(content.getModule() != null ? content.getModule().getModuleId() : null);
             
             logger.info("Fetched content with ID: {}", contentId);
             return ResponseEntity.ok(contentDTO);
@@ -409,31 +499,36 @@ public class ContentController {
         try {
             logger.info("Updating content with ID: {}", contentId);
             
-            Content existingContent = contentService.getContentById(contentId);
-            Course course = existingContent.getCourse();
+            ContentSnapshot existingContent = contentService.getContentSnapshot(contentId);
             
             // Verify user has permission to update this content
             if (!currentUser.getRole().name().equals("ADMIN") && 
-                !course.getInstructor().getUserId().equals(currentUser.getId())) {
+                !currentUser.getId().equals(existingContent.instructorId())) {
                 logger.warn("User {} attempting to update content for course they don't own", currentUser.getId());
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
             
-            // Update content fields
-            existingContent.setTitle(contentDTO.getTitle());
-            existingContent.setDescription(contentDTO.getDescription());
-            existingContent.setContent(contentDTO.getContent() != null ? contentDTO.getContent() : "");
-            existingContent.setIsActive(contentDTO.getIsActive());
-            existingContent.setOrderIndex(contentDTO.getOrderIndex());
+            // Applied to the stored row; a version the client read before is rejected
+            Content changes = new Content();
+            changes.setTitle(contentDTO.getTitle());
+            changes.setDescription(contentDTO.getDescription());
+            changes.setContent(contentDTO.getContent() != null ? contentDTO.getContent() : "");
+            changes.setIsActive(contentDTO.getIsActive());
+            changes.setOrderIndex(contentDTO.getOrderIndex());
+            changes.setVersion(contentDTO.getVersion());
             
-            Content updatedContent = contentService.updateContent(existingContent);
+            Content updatedContent = contentService.updateContent(contentId, changes);
             
             // Map to DTO
             contentDTO.setContentId(updatedContent.getContentId());
             contentDTO.setUploadDate(updatedContent.getUploadDate());
             contentDTO.setCourseId(updatedContent.getCourse().getCourseId());
+            contentDTO.setVersion(updatedContent.getVersion());
             
             return ResponseEntity.ok(contentDTO);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("message", "Content was changed by someone else, reload and try again"));
         } catch (Exception e) {
             logger.error("Error updating content: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -450,12 +545,11 @@ public class ContentController {
         try {
             logger.info("Deleting content with ID: {}", contentId);
             
-            Content content = contentService.getContentById(contentId);
-            Course course = content.getCourse();
+            ContentSnapshot content = contentService.getContentSnapshot(contentId);
             
             // Verify user has permission to delete this content
             if (!currentUser.getRole().name().equals("ADMIN") && 
-                !course.getInstructor().getUserId().equals(currentUser.getId())) {
+                !currentUser.getId().equals(content.instructorId())) {
                 logger.warn("User {} attempting to delete content for course they don't own", currentUser.getId());
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
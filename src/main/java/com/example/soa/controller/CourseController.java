@@ -1,16 +1,20 @@
 package com.example.soa.controller;
 
 import com.example.soa.Dto.CourseDTO;
+import com.example.soa.Dto.CourseSnapshot;
 import com.example.soa.Model.Course;
 import com.example.soa.Model.User;
 import com.example.soa.Service.ContentService;
+import com.example.soa.Service.EntityTagService;
 import com.example.soa.exception.CourseNotFoundException;
 import com.example.soa.mapper.CourseMapper;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import com.example.soa.Service.CourseService;
 import com.example.soa.Service.UserService;
 
@@ -28,10 +32,13 @@ public class CourseController {
 
     private final CourseService courseService;
     private final CourseMapper courseMapper;
+    private final EntityTagService entityTagService;
 
-    public CourseController(CourseService courseService, CourseMapper courseMapper) {
+    public CourseController(CourseService courseService, CourseMapper courseMapper,
+                            EntityTagService entityTagService) {
         this.courseService = courseService;
         this.courseMapper = courseMapper;
+        this.entityTagService = entityTagService;
     }
 
     @PostMapping
@@ -89,7 +96,10 @@ public class CourseController {
     }
 
     @GetMapping
-    public ResponseEntity<List<CourseDTO>> getAllCourses() {
+    public ResponseEntity<List<CourseDTO>> getAllCourses(ServletWebRequest request) {
+        if (entityTagService.checkNotModified(request, entityTagService.courses(null))) {
+            return null;
+        }
         logger.info("Fetching all courses");
         List<Course> courses = courseService.getAllCourses();
         List<CourseDTO> courseDTOs = courses.stream()
@@ -113,10 +123,13 @@ public class CourseController {
 
     @GetMapping("/instructor")
     @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR')")
-    public ResponseEntity<List<CourseDTO>> getInstructorCourses() {
+    public ResponseEntity<List<CourseDTO>> getInstructorCourses(ServletWebRequest request) {
         logger.info("Fetching courses for instructor");
         // Get the currently authenticated user
         User currentUser = courseService.getCurrentUser();
+        if (entityTagService.checkNotModified(request, entityTagService.courses(currentUser.getUserId()))) {
+            return null;
+        }
         
         List<Course> courses;
         if (currentUser.getRole().equals(User.Role.ADMIN)) {
@@ -151,7 +164,7 @@ public class CourseController {
     @GetMapping("/{courseId}")
     public ResponseEntity<CourseDTO> getCourseById(@PathVariable Long courseId) {
         logger.info("Fetching course with ID: {}", courseId);
-        Course course = courseService.getCourseById(courseId);
+        CourseSnapshot course = courseService.getCourseSnapshot(courseId);
         CourseDTO courseDTO = courseMapper.toCourseDTO(course);
         try {
             courseDTO.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(CourseController.class)
@@ -179,11 +192,11 @@ public class CourseController {
         
         // Check if user has permission to update this course
         User currentUser = courseService.getCurrentUser();
-        Course existingCourse = courseService.getCourseById(courseId);
+        CourseSnapshot existingCourse = courseService.getCourseSnapshot(courseId);
         
         // Only course instructor or admin can update the course
         if (!currentUser.getRole().equals(User.Role.ADMIN) && 
-            !existingCourse.getInstructor().getUserId().equals(currentUser.getUserId())) {
+            !currentUser.getUserId().equals(existingCourse.instructorId())) {
             logger.warn("User {} trying to update course they don't own", currentUser.getUserId());
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
@@ -203,6 +216,9 @@ public class CourseController {
         } catch (CourseNotFoundException e) {
             logger.error("Course not found with ID: {}", courseId);
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (OptimisticLockingFailureException e) {
+            logger.warn("Course {} was changed by someone else, update rejected", courseId);
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
         } catch (Exception e) {
             logger.error("Error updating course with ID: {}, Error: {}", courseId, e.getMessage());
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
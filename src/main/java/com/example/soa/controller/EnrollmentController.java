@@ -4,6 +4,7 @@ import com.example.soa.Model.Enrollment;
 import com.example.soa.Dto.EnrollmentDTO;
 import com.example.soa.Dto.EnrollmentRequestDTO;
 import com.example.soa.Service.EnrollmentService;
+import com.example.soa.Service.EntityTagService;
 import com.example.soa.exception.EnrollmentNotFoundException;
 import com.example.soa.mapper.EnrollmentMapper;
 import com.example.soa.security.UserPrincipal;
@@ -11,6 +12,7 @@ import com.example.soa.Model.Course;
 import com.example.soa.Repository.CourseRepository;
 import com.example.soa.Repository.EnrollmentRepository;
 import com.example.soa.exception.ResourceNotFoundException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
@@ -19,6 +21,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,16 +42,19 @@ public class EnrollmentController {
     private final EnrollmentMapper enrollmentMapper;
     private final CourseRepository courseRepository;
     private final EnrollmentRepository enrollmentRepository;
+    private final EntityTagService entityTagService;
 
     public EnrollmentController(
             EnrollmentService enrollmentService, 
             EnrollmentMapper enrollmentMapper,
             CourseRepository courseRepository,
-            EnrollmentRepository enrollmentRepository) {
+            EnrollmentRepository enrollmentRepository,
+            EntityTagService entityTagService) {
         this.enrollmentService = enrollmentService;
         this.enrollmentMapper = enrollmentMapper;
         this.courseRepository = courseRepository;
         this.enrollmentRepository = enrollmentRepository;
+        this.entityTagService = entityTagService;
     }
 
     @PostMapping("/course/{courseId}")
@@ -105,6 +111,9 @@ public class EnrollmentController {
             }
             Enrollment updatedEnrollment = enrollmentService.updateEnrollmentProgress(enrollmentId, progress);
             return ResponseEntity.ok(updatedEnrollment);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("message", "Progress was updated concurrently, try again"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("message", "Failed to update progress: " + e.getMessage()));
@@ -112,12 +121,15 @@ public class EnrollmentController {
     }
 
     @GetMapping("/my")
-    public ResponseEntity<?> getMyEnrollments() {
+    public ResponseEntity<?> getMyEnrollments(ServletWebRequest request) {
         try {
             // Get the current authenticated user
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
             Long studentId = userPrincipal.getId();
+            if (entityTagService.checkNotModified(request, entityTagService.studentEnrollments(studentId))) {
+                return null;
+            }
             
             logger.info("Fetching enrollments for authenticated user with ID: {}", studentId);
             
@@ -157,8 +169,11 @@ public class EnrollmentController {
     }
 
     @GetMapping("/course/{courseId}")
-    public ResponseEntity<?> getEnrollmentsByCourse(@PathVariable Long courseId) {
+    public ResponseEntity<?> getEnrollmentsByCourse(@PathVariable Long courseId, ServletWebRequest request) {
         try {
+            if (entityTagService.checkNotModified(request, entityTagService.courseRoster(courseId))) {
+                return null;
+            }
             logger.info("Fetching enrollments for course with ID: {}", courseId);
             
             // Get the current authenticated user
@@ -0,0 +1,141 @@
+package com.example.soa.controller;
+
+import com.example.soa.Dto.CourseSnapshot;
+import com.example.soa.Model.User;
+import com.example.soa.Service.CourseService;
+import com.example.soa.exception.CourseNotFoundException;
+import com.example.soa.leaderboard.Leaderboard;
+import com.example.soa.leaderboard.LeaderboardEntry;
+import com.example.soa.leaderboard.LeaderboardService;
+import com.example.soa.loader.RequestLoader;
+import com.example.soa.security.UserPrincipal;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Admins and instructors see whole quiz boards (quizzes are not tied to a
+ * course); a course board is open to admins and the course instructor.
+ * Students only ever get their own row: a course board requires them to
+ * be enrolled.
+ */
+@RestController
+@RequestMapping("/api/leaderboards")
+public class LeaderboardController {
+
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private RequestLoader requestLoader;
+
+    @GetMapping("/quizzes/{quizId}")
+    public ResponseEntity<List<LeaderboardEntry>> getQuizTop(
+            @PathVariable Long quizId,
+            @RequestParam(defaultValue = "10") int limit,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        Optional<Leaderboard> board = leaderboardService.quizBoard(quizId);
+        if (board.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(visibleTop(board.get(), limit, isStaff(currentUser), currentUser));
+    }
+
+    @GetMapping("/quizzes/{quizId}/students/{studentId}")
+    public ResponseEntity<LeaderboardEntry> getQuizRank(
+            @PathVariable Long quizId,
+            @PathVariable String studentId,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        if (!isStaff(currentUser) && !isSelf(currentUser, studentId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return leaderboardService.quizBoard(quizId)
+                .flatMap(board -> board.rankOf(studentId))
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/courses/{courseId}")
+    public ResponseEntity<List<LeaderboardEntry>> getCourseTop(
+            @PathVariable Long courseId,
+            @RequestParam(defaultValue = "10") int limit,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        Optional<CourseSnapshot> course = findCourse(courseId);
+        if (course.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        boolean staff = teaches(currentUser, course.get());
+        if (!staff && !isEnrolled(currentUser, courseId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return leaderboardService.courseBoard(courseId)
+                .map(board -> ResponseEntity.ok(visibleTop(board, limit, staff, currentUser)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/courses/{courseId}/students/{studentId}")
+    public ResponseEntity<LeaderboardEntry> getCourseRank(
+            @PathVariable Long courseId,
+            @PathVariable String studentId,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        Optional<CourseSnapshot> course = findCourse(courseId);
+        if (course.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!teaches(currentUser, course.get())
+                && !(isSelf(currentUser, studentId) && isEnrolled(currentUser, courseId))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return leaderboardService.courseBoard(courseId)
+                .flatMap(board -> board.rankOf(studentId))
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Students get their own entry, with its rank, instead of the top of the board
+    private static List<LeaderboardEntry> visibleTop(Leaderboard board, int limit, boolean staff, UserPrincipal currentUser) {
+        if (staff) {
+            return board.top(clamp(limit));
+        }
+        return board.rankOf(String.valueOf(currentUser.getId())).map(List::of).orElse(List.of());
+    }
+
+    private Optional<CourseSnapshot> findCourse(Long courseId) {
+        try {
+            return Optional.of(courseService.getCourseSnapshot(courseId));
+        } catch (CourseNotFoundException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static boolean isStaff(UserPrincipal currentUser) {
+        return currentUser.getRole() == User.Role.ADMIN || currentUser.getRole() == User.Role.INSTRUCTOR;
+    }
+
+    private static boolean teaches(UserPrincipal currentUser, CourseSnapshot course) {
+        return currentUser.getRole() == User.Role.ADMIN || currentUser.getId().equals(course.instructorId());
+    }
+
+    private boolean isEnrolled(UserPrincipal currentUser, Long courseId) {
+        return currentUser.getRole() == User.Role.STUDENT && requestLoader.isEnrolled(currentUser.getId(), courseId);
+    }
+
+    private static boolean isSelf(UserPrincipal currentUser, String studentId) {
+        return String.valueOf(currentUser.getId()).equals(studentId);
+    }
+
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
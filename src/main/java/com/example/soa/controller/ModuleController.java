@@ -1,13 +1,14 @@
 package com.example.soa.controller;
 
+import com.example.soa.Dto.CourseSnapshot;
 import com.example.soa.Dto.ModuleDTO;
+import com.example.soa.Dto.ModuleSnapshot;
 import com.example.soa.Model.Module;
 import com.example.soa.Model.Course;
 import com.example.soa.Model.Content;
 import com.example.soa.Service.ModuleService;
 import com.example.soa.Service.CourseService;
 import com.example.soa.mapper.ModuleMapper;
-import com.example.soa.Repository.ModuleRepository;
 import com.example.soa.Repository.CourseRepository;
 import com.example.soa.security.UserPrincipal;
 
@@ -15,6 +16,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -41,9 +43,6 @@ public class ModuleController {
     @Autowired
     private CourseService courseService;
     
-    @Autowired
-    private ModuleRepository moduleRepository;
-    
     @Autowired
     private CourseRepository courseRepository;
     
@@ -61,7 +60,7 @@ public class ModuleController {
     @GetMapping("/{moduleId}")
     public ResponseEntity<ModuleDTO> getModuleById(@PathVariable Long moduleId) {
         logger.info("Fetching module with ID: {}", moduleId);
-        Module module = moduleService.getModuleById(moduleId);
+        ModuleSnapshot module = moduleService.getModuleSnapshot(moduleId);
         if (module == null) {
             logger.warn("Module not found with ID: {}", moduleId);
             return ResponseEntity.notFound().build();
@@ -114,7 +113,7 @@ public class ModuleController {
         module.setDescription(moduleDTO.getDescription());
         module.setContents(new ArrayList<>());
         
-        Module savedModule = moduleRepository.save(module);
+        Module savedModule = moduleService.createModule(module);
         
         logger.info("Module created successfully with ID: {}", savedModule.getModuleId());
         return ResponseEntity.ok(ModuleMapper.toModuleDTO(savedModule));
@@ -137,28 +136,34 @@ public class ModuleController {
         }
         
         // Find the existing module
-        Module module = moduleService.getModuleById(moduleId);
+        ModuleSnapshot module = moduleService.getModuleSnapshot(moduleId);
         if (module == null) {
             logger.warn("Module not found with ID: {}", moduleId);
             return ResponseEntity.notFound().build();
         }
         
         // Verify user has permission to update this module
-        Course course = module.getCourse();
         if (!currentUser.getRole().name().equals("ADMIN") && 
-            (course.getInstructor() == null || 
-             !course.getInstructor().getUserId().equals(currentUser.getId()))) {
+            !currentUser.getId().equals(module.instructorId())) {
             
             logger.warn("User {} is not authorized to update module {}", 
                      currentUser.getId(), moduleId);
             return ResponseEntity.status(403).build();
         }
         
-        // Update the module
-        module.setTitle(moduleDTO.getTitle());
-        module.setDescription(moduleDTO.getDescription());
-        
-        Module updatedModule = moduleRepository.save(module);
+        // Applied to the stored module; a version the client read before is rejected
+        Module updatedModule;
+        try {
+            updatedModule = moduleService.updateModule(
+                    moduleId, moduleDTO.getTitle(), moduleDTO.getDescription(), moduleDTO.getVersion());
+        } catch (OptimisticLockingFailureException e) {
+            logger.warn("Module {} was changed by someone else, update rejected", moduleId);
+            return ResponseEntity.status(409).build();
+        }
+        if (updatedModule == null) {
+            logger.warn("Module not found with ID: {}", moduleId);
+            return ResponseEntity.notFound().build();
+        }
         
         logger.info("Module updated successfully with ID: {}", updatedModule.getModuleId());
         return ResponseEntity.ok(ModuleMapper.toModuleDTO(updatedModule));
@@ -174,17 +179,15 @@ public class ModuleController {
         logger.info("Deleting module with ID: {}", moduleId);
         
         // Find the existing module
-        Module module = moduleService.getModuleById(moduleId);
+        ModuleSnapshot module = moduleService.getModuleSnapshot(moduleId);
         if (module == null) {
             logger.warn("Module not found with ID: {}", moduleId);
             return ResponseEntity.notFound().build();
         }
         
         // Verify user has permission to delete this module
-        Course course = module.getCourse();
         if (!currentUser.getRole().name().equals("ADMIN") && 
-            (course.getInstructor() == null || 
-             !course.getInstructor().getUserId().equals(currentUser.getId()))) {
+            !currentUser.getId().equals(module.instructorId())) {
             
             logger.warn("User {} is not authorized to delete module {}", 
                      currentUser.getId(), moduleId);
@@ -192,7 +195,7 @@ public class ModuleController {
         }
         
         // Delete the module
-        moduleRepository.delete(module);
+        moduleService.deleteModule(moduleId);
         
         logger.info("Module deleted successfully with ID: {}", moduleId);
         return ResponseEntity.noContent().build();
@@ -209,16 +212,11 @@ public class ModuleController {
         logger.info("Updating module order for course ID: {}", courseId);
         
         // Check if the course exists
-        Course course = courseService.getCourseById(courseId);
-        if (course == null) {
-            logger.warn("Course not found with ID: {}", courseId);
-            return ResponseEntity.badRequest().build();
-        }
+        CourseSnapshot course = courseService.getCourseSnapshot(courseId);
         
         // Verify user has permission to update modules for this course
         if (!currentUser.getRole().name().equals("ADMIN") && 
-            (course.getInstructor() == null || 
-             !course.getInstructor().getUserId().equals(currentUser.getId()))) {
+            !currentUser.getId().equals(course.instructorId())) {
             
             logger.warn("User {} is not authorized to update module order for course {}", 
                      currentUser.getId(), courseId);
@@ -230,12 +228,11 @@ public class ModuleController {
             Long moduleId = Long.valueOf(moduleData.get("moduleId").toString());
             Integer orderIndex = Integer.valueOf(moduleData.get("orderIndex").toString());
             
-            Module module = moduleService.getModuleById(moduleId);
-            if (module != null && module.getCourse().getCourseId().equals(courseId)) {
+            ModuleSnapshot module = moduleService.getModuleSnapshot(moduleId);
+            if (module != null && module.courseId().equals(courseId)) {
                 // For now, we're not storing orderIndex in the Module entity
                 // This would need to be added to the Module class
                 // module.setOrderIndex(orderIndex);
-                moduleRepository.save(module);
             }
         }
         
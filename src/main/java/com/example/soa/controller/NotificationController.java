@@ -5,6 +5,7 @@ import com.example.soa.Model.User;
 import com.example.soa.Model.Notification.NotificationStatus;
 import com.example.soa.Repository.NotificationRepository;
 import com.example.soa.security.UserPrincipal;
+import com.example.soa.Service.EntityTagService;
 import com.example.soa.Service.NotificationService;
 import com.example.soa.Service.UserService;
 
@@ -15,6 +16,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 import java.util.HashMap;
@@ -34,6 +36,9 @@ public class NotificationController {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private EntityTagService entityTagService;
+
     @GetMapping("/test-connection")
     public ResponseEntity<?> testConnection(@AuthenticationPrincipal UserPrincipal userPrincipal) {
         try {
@@ -74,14 +79,22 @@ public class NotificationController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Notification>> getAllNotifications(@AuthenticationPrincipal UserPrincipal currentUser) {
+    public ResponseEntity<List<Notification>> getAllNotifications(
+            @AuthenticationPrincipal UserPrincipal currentUser, ServletWebRequest request) {
+        if (entityTagService.checkNotModified(request, entityTagService.notifications(currentUser.getEmail()))) {
+            return null;
+        }
         logger.info("Fetching all notifications for user: {}", currentUser.getEmail());
         List<Notification> notifications = notificationService.getUserNotifications(currentUser.getEmail());
         return ResponseEntity.ok(notifications);
     }
 
     @GetMapping("/unread")
-    public ResponseEntity<List<Notification>> getUnreadNotifications(@AuthenticationPrincipal UserPrincipal currentUser) {
+    public ResponseEntity<List<Notification>> getUnreadNotifications(
+            @AuthenticationPrincipal UserPrincipal currentUser, ServletWebRequest request) {
+        if (entityTagService.checkNotModified(request, entityTagService.notifications(currentUser.getEmail()))) {
+            return null;
+        }
         logger.info("Fetching unread notifications for user: {}", currentUser.getEmail());
         List<Notification> notifications = notificationService.getUnreadNotifications(currentUser.getEmail());
         return ResponseEntity.ok(notifications);
@@ -1,9 +1,13 @@
 package com.example.soa.controller;
 
+import com.example.soa.Dto.ItemAnalysisDTO;
+import com.example.soa.Dto.QuizStatisticsDTO;
 import com.example.soa.Model.Quiz;
 import com.example.soa.Model.Score;
 import com.example.soa.Service.QuizService;
+import com.example.soa.exception.BadRequestException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -57,6 +61,11 @@ public class QuizController {
             @RequestParam String studentId,
             @RequestBody Map<Long, String> answers,
             @RequestParam Integer timeSpentInSeconds) {
+        // The client's clock cannot be trusted for timed quizzes; those go through /api/quiz-sessions
+        Quiz quiz = quizService.getQuiz(id);
+        if (quiz.getTimeLimit() != null && quiz.getTimeLimit() > 0) {
+            throw new BadRequestException("Timed quizzes must be taken through a quiz session");
+        }
         Score score = quizService.submitQuiz(id, studentId, answers, timeSpentInSeconds);
         return ResponseEntity.ok(score);
     }
@@ -73,16 +82,30 @@ public class QuizController {
         return ResponseEntity.ok(scores);
     }
 
+    // 202 until the first analysis of the quiz is ready
+    @GetMapping("/{id}/item-analysis")
+    public ResponseEntity<?> getItemAnalysis(@PathVariable Long id) {
+        try {
+            ItemAnalysisDTO analysis = quizService.getItemAnalysis(id);
+            return analysis.getStatus() == ItemAnalysisDTO.Status.READY
+                ? ResponseEntity.ok(analysis)
+                : ResponseEntity.status(HttpStatus.ACCEPTED).body(analysis);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/{id}/item-analysis")
+    public ResponseEntity<?> refreshItemAnalysis(@PathVariable Long id) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(quizService.refreshItemAnalysis(id));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("message", e.getMessage()));
+        }
+    }
+
     @GetMapping("/{id}/statistics")
-    public ResponseEntity<Map<String, Object>> getQuizStatistics(@PathVariable Long id) {
-        Double averageScore = quizService.getQuizAverageScore(id);
-        Integer highestScore = quizService.getQuizHighestScore(id);
-        
-        Map<String, Object> statistics = Map.of(
-            "averageScore", averageScore != null ? averageScore : 0.0,
-            "highestScore", highestScore != null ? highestScore : 0
-        );
-        
-        return ResponseEntity.ok(statistics);
+    public ResponseEntity<QuizStatisticsDTO> getQuizStatistics(@PathVariable Long id) {
+        return ResponseEntity.ok(quizService.getQuizStatistics(id));
     }
 }
\ No newline at end of file
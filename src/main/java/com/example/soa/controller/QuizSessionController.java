@@ -0,0 +1,45 @@
+package com.example.soa.controller;
+
+import com.example.soa.session.QuizAttempt;
+import com.example.soa.session.QuizSessionService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/quiz-sessions")
+public class QuizSessionController {
+    private final QuizSessionService quizSessionService;
+
+    @Autowired
+    public QuizSessionController(QuizSessionService quizSessionService) {
+        this.quizSessionService = quizSessionService;
+    }
+
+    @PostMapping
+    public ResponseEntity<QuizAttempt> startAttempt(@RequestParam Long quizId, @RequestParam String studentId) {
+        return ResponseEntity.ok(quizSessionService.start(quizId, studentId));
+    }
+
+    @GetMapping("/{attemptId}")
+    public ResponseEntity<QuizAttempt> getAttempt(@PathVariable String attemptId) {
+        return ResponseEntity.ok(quizSessionService.getAttempt(attemptId));
+    }
+
+    @PatchMapping("/{attemptId}/answers")
+    public ResponseEntity<QuizAttempt> saveAnswers(
+            @PathVariable String attemptId,
+            @RequestBody Map<Long, String> answers) {
+        return ResponseEntity.ok(quizSessionService.saveAnswers(attemptId, answers));
+    }
+
+    @PostMapping("/{attemptId}/submit")
+    public ResponseEntity<QuizAttempt> submitAttempt(
+            @PathVariable String attemptId,
+            @RequestBody(required = false) Map<Long, String> answers) {
+        return ResponseEntity.ok(quizSessionService.submit(attemptId, answers));
+    }
+}
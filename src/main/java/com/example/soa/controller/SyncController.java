@@ -0,0 +1,53 @@
+package com.example.soa.controller;
+
+import com.example.soa.Dto.SyncDTO;
+import com.example.soa.exception.BadRequestException;
+import com.example.soa.security.UserPrincipal;
+import com.example.soa.sync.SyncService;
+
+import io.swagger.v3.oas.annotations.Operation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyncController.class);
+
+    private final SyncService syncService;
+
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    @Operation(summary = "Changes visible to the current user since a sync cursor")
+    @GetMapping
+    public ResponseEntity<?> sync(@AuthenticationPrincipal UserPrincipal currentUser,
+                                  @RequestParam(required = false) String since) {
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("message", "Authentication required"));
+        }
+        try {
+            SyncDTO changes = syncService.sync(currentUser, since);
+            return ResponseEntity.ok(changes);
+        } catch (BadRequestException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Sync failed for user {}: {}", currentUser.getId(), e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Failed to sync: " + e.getMessage()));
+        }
+    }
+}
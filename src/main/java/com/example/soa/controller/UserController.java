@@ -4,10 +4,15 @@ import com.example.soa.Model.User;
 import com.example.soa.Model.Profile;
 import com.example.soa.Dto.ProfileUpdateDTO;
 import com.example.soa.Dto.UserUpdateRequest;
+import com.example.soa.exception.BadRequestException;
 import com.example.soa.exception.ResourceNotFoundException;
+import com.example.soa.exception.TooManyRequestsException;
+import com.example.soa.Service.ProfilePictureService;
 import com.example.soa.Service.UserService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -17,14 +22,11 @@ import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.validation.Valid;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/users")
@@ -33,6 +35,9 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ProfilePictureService profilePictureService;
+
     @GetMapping("/{userId}")
     @PreAuthorize("hasRole('ADMIN') or #userId == authentication.principal.id")
     public ResponseEntity<User> getUserById(@PathVariable Long userId) {
@@ -58,47 +63,26 @@ public class UserController {
             String email = authentication.getName();
             User user = userService.findByEmail(email)
                     .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
-            Long userId = user.getUserId();
-            
-            // Create uploads directory if it doesn't exist
-            String uploadDir = "uploads/profile-pictures";
-            Path uploadPath = Paths.get(uploadDir);
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
-            }
-            
-            // Generate unique filename
-            String originalFilename = file.getOriginalFilename();
-            String fileExtension = "";
-            if (originalFilename != null && originalFilename.contains(".")) {
-                fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
-            }
-            String filename = UUID.randomUUID().toString() + fileExtension;
-            
-            // Save file to server
-            Path filePath = uploadPath.resolve(filename);
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-            
-            // Update user profile with new picture URL
-            // Use a relative URL that will be resolved by the resource handler
-            String profilePictureUrl = "/" + uploadDir + "/" + filename;
-            ProfileUpdateDTO profileDTO = new ProfileUpdateDTO();
-            profileDTO.setProfilePictureUrl(profilePictureUrl);
-            
-            // If user has existing profile, preserve bio
-            User existingUser = userService.getUserById(userId)
-                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
-            if (existingUser.getProfile() != null && existingUser.getProfile().getBio() != null) {
-                profileDTO.setBio(existingUser.getProfile().getBio());
-            }
-            
-            userService.updateProfile(userId, profileDTO);
-            
-            // Return success response with URL
-            Map<String, String> response = new HashMap<>();
-            response.put("url", profilePictureUrl);
-            return ResponseEntity.ok(response);
-            
+
+            ProfilePictureService.Upload upload = profilePictureService.upload(user.getUserId(), file.getBytes());
+
+            // "url" stays the default size so existing clients keep working
+            Map<String, Object> response = new HashMap<>();
+            response.put("url", upload.getUrls().get(profilePictureService.getDefaultSize()));
+            response.put("urls", upload.getUrls());
+            response.put("ready", upload.isReady());
+            // 202 while the thumbnails are still being produced
+            return upload.isReady() ? ResponseEntity.ok(response) : ResponseEntity.accepted().body(response);
+
+        } catch (BadRequestException e) {
+            return ResponseEntity.badRequest().body("Failed to upload profile picture: " + e.getMessage());
+        } catch (TooManyRequestsException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of("message", e.getMessage()));
+        } catch (UncheckedIOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Failed to store profile picture"));
         } catch (IOException e) {
             return ResponseEntity.badRequest().body("Failed to upload profile picture: " + e.getMessage());
         } catch (Exception e) {
@@ -106,6 +90,25 @@ public class UserController {
         }
     }
 
+    /**
+     * Redirects to the user's profile picture at the smallest stored size
+     * that is at least {@code size} pixels.
+     */
+    @GetMapping("/{userId}/profile/picture")
+    public ResponseEntity<?> getProfilePicture(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "128") int size) {
+        User user = userService.getUserById(userId)
+            .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+        String url = user.getProfile() != null ? user.getProfile().getProfilePictureUrl() : null;
+        if (url == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.status(HttpStatus.FOUND)
+                .location(URI.create(profilePictureService.variantUrl(url, size)))
+                .build();
+    }
+
     @PatchMapping("/{id}")
     @PreAuthorize("#id == authentication.principal.id")
     public ResponseEntity<?> updateProfile(
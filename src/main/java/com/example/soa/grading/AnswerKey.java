@@ -0,0 +1,127 @@
+package com.example.soa.grading;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Immutable, precompiled answer key for one quiz or assessment.
+ *
+ * Questions are laid out in parallel arrays (question key, normalized correct
+ * answer, point weight) so grading a submission is a single pass over the
+ * questions with one map lookup each, and needs no entities at all.
+ *
+ * @param <K> how a submission identifies a question (question ID for quizzes,
+ *            question text for assessment quiz answers)
+ */
+public final class AnswerKey<K> {
+
+    private final Object[] questions;
+    private final String[] answers;
+    private final int[] points;
+    private final int totalPoints;
+
+    private AnswerKey(Object[] questions, String[] answers, int[] points) {
+        this.questions = questions;
+        this.answers = answers;
+        this.points = points;
+        this.totalPoints = Arrays.stream(points).sum();
+    }
+
+    /**
+     * Compiles a key from arbitrary question rows.
+     *
+     * @param rows          the questions, in a stable order
+     * @param questionOf    extracts the question key a submission answers against
+     * @param answerOf      extracts the correct answer (normalized here)
+     * @param pointsOf      extracts the point weight; null weights count as 1
+     */
+    public static <T, K> AnswerKey<K> compile(List<T> rows,
+                                              Function<T, K> questionOf,
+                                              Function<T, String> answerOf,
+                                              ToIntFunction<T> pointsOf) {
+        int size = rows.size();
+        Object[] questions = new Object[size];
+        String[] answers = new String[size];
+        int[] points = new int[size];
+        for (int i = 0; i < size; i++) {
+            T row = rows.get(i);
+            questions[i] = questionOf.apply(row);
+            answers[i] = normalize(answerOf.apply(row));
+            points[i] = pointsOf.applyAsInt(row);
+        }
+        return new AnswerKey<>(questions, answers, points);
+    }
+
+    /**
+     * Canonical form used on both sides of the comparison: trimmed, inner
+     * whitespace collapsed, case-insensitive.
+     */
+    public static String normalize(String answer) {
+        if (answer == null) {
+            return null;
+        }
+        int length = answer.length();
+        StringBuilder normalized = null;
+        boolean pendingSpace = false;
+        for (int i = 0; i < length; i++) {
+            char c = answer.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+                continue;
+            }
+            if (normalized == null) {
+                normalized = new StringBuilder(length - i);
+            } else if (pendingSpace) {
+                normalized.append(' ');
+            }
+            pendingSpace = false;
+            normalized.append(Character.toLowerCase(c));
+        }
+        return normalized != null ? normalized.toString() : null;
+    }
+
+    /**
+     * Grades one submission in O(questions).
+     *
+     * @return the number of points earned
+     */
+    public int grade(Map<K, String> responses) {
+        return grade(responses, null);
+    }
+
+    /**
+     * Grades one submission, reporting each correctly answered question.
+     *
+     * @param onCorrect receives the key of every correct question; may be null
+     * @return the number of points earned
+     */
+    @SuppressWarnings("unchecked")
+    public int grade(Map<K, String> responses, Consumer<K> onCorrect) {
+        if (responses == null || responses.isEmpty()) {
+            return 0;
+        }
+        int earned = 0;
+        for (int i = 0; i < questions.length; i++) {
+            String expected = answers[i];
+            if (expected != null && expected.equals(normalize(responses.get(questions[i])))) {
+                earned += points[i];
+                if (onCorrect != null) {
+                    onCorrect.accept((K) questions[i]);
+                }
+            }
+        }
+        return earned;
+    }
+
+    public int getQuestionCount() {
+        return questions.length;
+    }
+
+    public int getTotalPoints() {
+        return totalPoints;
+    }
+}
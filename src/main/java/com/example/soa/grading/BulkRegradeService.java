@@ -0,0 +1,243 @@
+package com.example.soa.grading;
+
+import com.example.soa.Model.Assessment;
+import com.example.soa.Repository.SubmissionRepository;
+import com.example.soa.leaderboard.LeaderboardService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TimeZone;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Re-grades every submission of a quiz assessment in the background.
+ *
+ * A coordinator thread walks the submission IDs in keyset pages and hands each
+ * page to a pool of grading workers. A worker loads only the answers of its
+ * page, grades them against a freshly compiled {@link AnswerKey} and writes the
+ * scores back with one JDBC batch in its own short transaction, so no
+ * transaction or entity graph lives for the length of the job. When the
+ * worker queue is full the coordinator grades the page itself, which keeps
+ * memory bounded regardless of the number of submissions.
+ */
+@Service
+public class BulkRegradeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkRegradeService.class);
+
+    // Written behind Hibernate's back, so the version and change timestamp are bumped here
+    private static final String UPDATE_SCORE_SQL =
+            "UPDATE submission SET score = ?, updated_at = ?, version = version + 1 WHERE submission_id = ?";
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    @Autowired
+    private GradingEngine gradingEngine;
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.regrade.workers:0}")
+    private int workers;
+
+    @Value("${app.regrade.page-size:1000}")
+    private int pageSize;
+
+    @Value("${app.regrade.max-concurrent-jobs:2}")
+    private int maxConcurrentJobs;
+
+    @Value("${app.regrade.job-retention-minutes:60}")
+    private long jobRetentionMinutes;
+
+    private ThreadPoolExecutor coordinators;
+    private ThreadPoolExecutor graders;
+    private final Map<String, RegradeJob> jobs = new ConcurrentHashMap<>();
+
+    private Counter gradedCounter;
+    private Timer jobTimer;
+
+    @PostConstruct
+    public void init() {
+        int graderThreads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        coordinators = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxConcurrentJobs * 4),
+                daemonThreads("regrade-coordinator-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        graders = new ThreadPoolExecutor(graderThreads, graderThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(graderThreads * 2),
+                daemonThreads("regrade-worker-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        gradedCounter = meterRegistry.counter("grading.regrade.submissions");
+        jobTimer = meterRegistry.timer("grading.regrade.duration");
+        meterRegistry.gauge("grading.regrade.jobs.active", coordinators, ThreadPoolExecutor::getActiveCount);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinators.shutdownNow();
+        graders.shutdownNow();
+    }
+
+    /**
+     * Starts a re-grade of the given quiz assessment, or returns the job that is
+     * already running for it.
+     *
+     * @throws IllegalArgumentException if the assessment is not a quiz
+     * @throws IllegalStateException    if too many re-grades are already queued
+     */
+    public RegradeJob start(Assessment assessment) {
+        if (assessment.getType() != Assessment.AssessmentType.QUIZ) {
+            throw new IllegalArgumentException("Only quiz assessments can be auto-graded");
+        }
+        Long assessmentId = assessment.getAssessmentId();
+        pruneFinishedJobs();
+
+        synchronized (jobs) {
+            for (RegradeJob existing : jobs.values()) {
+                if (existing.getAssessmentId().equals(assessmentId) && !existing.isFinished()) {
+                    return existing;
+                }
+            }
+            RegradeJob job = new RegradeJob(UUID.randomUUID().toString(), assessmentId,
+                    assessment.getCourse() != null ? assessment.getCourse().getCourseId() : null);
+            try {
+                coordinators.execute(() -> run(job));
+            } catch (RejectedExecutionException e) {
+                throw new IllegalStateException("Too many re-grade jobs are queued, try again later");
+            }
+            jobs.put(job.getJobId(), job);
+            logger.info("Queued re-grade job {} for assessment {}", job.getJobId(), assessmentId);
+            return job;
+        }
+    }
+
+    public Optional<RegradeJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private void run(RegradeJob job) {
+        Long assessmentId = job.getAssessmentId();
+        long startNanos = System.nanoTime();
+        try {
+            // The key was most likely just corrected, so never grade against a cached copy
+            gradingEngine.invalidateAssessment(assessmentId);
+            AnswerKey<String> answerKey = gradingEngine.assessmentKey(assessmentId);
+            job.start(submissionRepository.countByAssessment_AssessmentId(assessmentId));
+            logger.info("Re-grading {} submissions for assessment {} (job {})",
+                    job.getTotalSubmissions(), assessmentId, job.getJobId());
+
+            List<Future<?>> pages = new ArrayList<>();
+            Long afterId = 0L;
+            while (true) {
+                List<Long> submissionIds = submissionRepository.findIdsAfter(assessmentId, afterId, PageRequest.of(0, pageSize));
+                if (submissionIds.isEmpty()) {
+                    break;
+                }
+                afterId = submissionIds.get(submissionIds.size() - 1);
+                pages.add(graders.submit(() -> gradePage(job, answerKey, submissionIds)));
+            }
+            for (Future<?> page : pages) {
+                page.get();
+            }
+            job.complete();
+            if (job.getCourseId() != null) {
+                leaderboardService.invalidateCourse(job.getCourseId());
+            }
+            logger.info("Re-grade job {} completed: {} submissions in {} ms", job.getJobId(),
+                    job.getGradedSubmissions(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("Interrupted");
+        } catch (ExecutionException e) {
+            logger.error("Re-grade job {} failed: {}", job.getJobId(), e.getCause().getMessage());
+            job.fail(e.getCause().getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Re-grade job {} failed: {}", job.getJobId(), e.getMessage());
+            job.fail(e.getMessage());
+        } finally {
+            jobTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void gradePage(RegradeJob job, AnswerKey<String> answerKey, List<Long> submissionIds) {
+        Map<Long, Map<String, String>> answersBySubmission = new HashMap<>(submissionIds.size() * 2);
+        for (SubmissionRepository.AnswerRow row : submissionRepository.findAnswerRows(submissionIds)) {
+            answersBySubmission.computeIfAbsent(row.getSubmissionId(), id -> new HashMap<>())
+                    .put(row.getQuestion(), row.getAnswer());
+        }
+
+        List<Object[]> updates = new ArrayList<>(submissionIds.size());
+        for (Long submissionId : submissionIds) {
+            float score = answerKey.grade(answersBySubmission.get(submissionId));
+            updates.add(new Object[] { score, submissionId });
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(UPDATE_SCORE_SQL, updates, updates.size(), (ps, update) -> {
+                    ps.setFloat(1, (Float) update[0]);
+                    ps.setTimestamp(2, now, Calendar.getInstance(UTC));
+                    ps.setLong(3, (Long) update[1]);
+                }));
+
+        job.addGraded(updates.size());
+        gradedCounter.increment(updates.size());
+    }
+
+    private void pruneFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(jobRetentionMinutes);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.soa.grading;
+
+import com.example.soa.Repository.AssessmentQuestionRepository;
+import com.example.soa.Repository.AssessmentRepository;
+import com.example.soa.Repository.QuestionRepository;
+import com.example.soa.Repository.QuizAnswerRepository;
+import com.example.soa.Repository.QuizRepository;
+import com.example.soa.exception.AssessmentNotFoundException;
+import com.example.soa.util.TransactionHooks;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compiles quizzes and assessments into {@link AnswerKey}s once and keeps them
+ * until the underlying questions change. Keys are built from column
+ * projections, so neither compiling nor grading loads any entities. At most
+ * {@code app.grading.max-keys} keys of each kind are kept; the least used are
+ * dropped and recompiled on their next grade.
+ *
+ * Assessments with structured questions are keyed by question version; a
+ * version never changes once published, so those keys are never invalidated.
+ * Assessments that still only have legacy quiz answers use version 0.
+ */
+@Component
+public class GradingEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(GradingEngine.class);
+
+    private final QuizRepository quizRepository;
+    private final QuestionRepository questionRepository;
+    private final AssessmentRepository assessmentRepository;
+    private final QuizAnswerRepository quizAnswerRepository;
+    private final AssessmentQuestionRepository assessmentQuestionRepository;
+
+    @Value("${app.grading.max-keys:2000}")
+    private int maxKeys;
+
+    private Cache<Long, AnswerKey<Long>> quizKeys;
+    private Cache<String, AnswerKey<String>> assessmentKeys;
+
+    public GradingEngine(QuizRepository quizRepository,
+                         QuestionRepository questionRepository,
+                         AssessmentRepository assessmentRepository,
+                         QuizAnswerRepository quizAnswerRepository,
+                         AssessmentQuestionRepository assessmentQuestionRepository) {
+        this.quizRepository = quizRepository;
+        this.questionRepository = questionRepository;
+        this.assessmentRepository = assessmentRepository;
+        this.quizAnswerRepository = quizAnswerRepository;
+        this.assessmentQuestionRepository = assessmentQuestionRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        quizKeys = Caffeine.newBuilder().maximumSize(maxKeys).build();
+        assessmentKeys = Caffeine.newBuilder().maximumSize(maxKeys).build();
+    }
+
+    public AnswerKey<Long> quizKey(Long quizId) {
+        return quizKeys.get(quizId, this::compileQuiz);
+    }
+
+    /** Answer key of the assessment's current question version. */
+    public AnswerKey<String> assessmentKey(Long assessmentId) {
+        int version = assessmentRepository.findQuestionVersion(assessmentId)
+                .orElseThrow(() -> new AssessmentNotFoundException("Assessment not found with ID: " + assessmentId));
+        return assessmentKey(assessmentId, version);
+    }
+
+    public AnswerKey<String> assessmentKey(Long assessmentId, int version) {
+        return assessmentKeys.get(assessmentId + ":" + version,
+                key -> version > 0 ? compileAssessmentVersion(assessmentId, version) : compileAssessment(assessmentId));
+    }
+
+    // Drop keys only once the change is visible, so a concurrent grade cannot recompile stale rows
+    public void invalidateQuiz(Long quizId) {
+        TransactionHooks.afterCommit(() -> quizKeys.invalidate(quizId));
+    }
+
+    public void invalidateAssessment(Long assessmentId) {
+        TransactionHooks.afterCommit(() -> assessmentKeys.invalidate(assessmentId + ":0"));
+    }
+
+    private AnswerKey<Long> compileQuiz(Long quizId) {
+        if (!quizRepository.existsById(quizId)) {
+            throw new RuntimeException("Quiz not found with id: " + quizId);
+        }
+        AnswerKey<Long> key = AnswerKey.compile(questionRepository.findAnswerKeyRows(quizId),
+                QuestionRepository.AnswerKeyRow::getId,
+                QuestionRepository.AnswerKeyRow::getCorrectAnswer,
+                row -> row.getPoints() != null ? row.getPoints() : 1);
+        logger.debug("Compiled answer key for quiz {} ({} questions)", quizId, key.getQuestionCount());
+        return key;
+    }
+
+    private AnswerKey<String> compileAssessment(Long assessmentId) {
+        if (!assessmentRepository.existsById(assessmentId)) {
+            throw new AssessmentNotFoundException("Assessment not found with ID: " + assessmentId);
+        }
+        // Assessment quiz answers are unweighted: one point per question
+        AnswerKey<String> key = AnswerKey.compile(quizAnswerRepository.findAnswerKeyRows(assessmentId),
+                QuizAnswerRepository.AnswerKeyRow::getQuestion,
+                QuizAnswerRepository.AnswerKeyRow::getCorrectAnswer,
+                row -> 1);
+        logger.debug("Compiled answer key for assessment {} ({} questions)", assessmentId, key.getQuestionCount());
+        return key;
+    }
+
+    private AnswerKey<String> compileAssessmentVersion(Long assessmentId, int version) {
+        AnswerKey<String> key = AnswerKey.compile(assessmentQuestionRepository.findAnswerKeyRows(assessmentId, version),
+                AssessmentQuestionRepository.AnswerKeyRow::getQuestionKey,
+                AssessmentQuestionRepository.AnswerKeyRow::getCorrectAnswer,
+                row -> row.getPoints() != null ? row.getPoints() : 1);
+        logger.debug("Compiled answer key for assessment {} version {} ({} questions)", assessmentId, version, key.getQuestionCount());
+        return key;
+    }
+}
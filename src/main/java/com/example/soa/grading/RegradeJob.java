@@ -0,0 +1,102 @@
+package com.example.soa.grading;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress of one bulk re-grade, as reported by the job-status endpoint.
+ * Counters are updated concurrently by the grading workers.
+ */
+public class RegradeJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private final String jobId;
+    private final Long assessmentId;
+    private final Long courseId;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final AtomicInteger graded = new AtomicInteger();
+    private volatile long totalSubmissions;
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public RegradeJob(String jobId, Long assessmentId, Long courseId) {
+        this.jobId = jobId;
+        this.assessmentId = assessmentId;
+        this.courseId = courseId;
+    }
+
+    void start(long totalSubmissions) {
+        this.totalSubmissions = totalSubmissions;
+        this.startedAt = LocalDateTime.now();
+        this.status = Status.RUNNING;
+    }
+
+    void addGraded(int count) {
+        graded.addAndGet(count);
+    }
+
+    void complete() {
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.COMPLETED;
+    }
+
+    void fail(String error) {
+        this.error = error;
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.FAILED;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public Long getAssessmentId() {
+        return assessmentId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getTotalSubmissions() {
+        return totalSubmissions;
+    }
+
+    public int getGradedSubmissions() {
+        return graded.get();
+    }
+
+    public double getProgress() {
+        long total = totalSubmissions;
+        return total == 0 ? (isFinished() ? 1.0 : 0.0) : Math.min(1.0, (double) graded.get() / total);
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.soa.leaderboard;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ranked view of one quiz or course: one entry per student, ordered by score
+ * (highest first), then by who reached it first.
+ *
+ * Rank lookups and top-N reads are O(log n) (plus N); updates replace a
+ * student's entry in O(log n).
+ */
+public class Leaderboard {
+
+    private static final Comparator<LeaderboardEntry> ORDER = Comparator
+            .comparingDouble(LeaderboardEntry::getScore).reversed()
+            .thenComparing(LeaderboardEntry::getAchievedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(LeaderboardEntry::getStudentId);
+
+    private final OrderStatisticTree<LeaderboardEntry> ranking = new OrderStatisticTree<>(ORDER);
+    private final Map<String, LeaderboardEntry> entries = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Records a result, keeping only the student's best. Offering the same
+     * result twice is a no-op, so replays are harmless.
+     */
+    public void offer(String studentId, double score, LocalDateTime achievedAt) {
+        LeaderboardEntry candidate = new LeaderboardEntry(studentId, score, achievedAt, 0);
+        lock.writeLock().lock();
+        try {
+            LeaderboardEntry current = entries.get(studentId);
+            if (current == null || ORDER.compare(candidate, current) < 0) {
+                replace(current, candidate);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Overwrites the student's standing, whether it improved or not. */
+    public void set(String studentId, double score, LocalDateTime achievedAt) {
+        lock.writeLock().lock();
+        try {
+            replace(entries.get(studentId), new LeaderboardEntry(studentId, score, achievedAt, 0));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<LeaderboardEntry> rankOf(String studentId) {
+        lock.readLock().lock();
+        try {
+            LeaderboardEntry entry = entries.get(studentId);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            return Optional.of(entry.withRank(ranking.rankOf(entry) + 1));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<LeaderboardEntry> top(int limit) {
+        lock.readLock().lock();
+        try {
+            List<LeaderboardEntry> head = ranking.head(limit);
+            List<LeaderboardEntry> ranked = new ArrayList<>(head.size());
+            for (int i = 0; i < head.size(); i++) {
+                ranked.add(head.get(i).withRank(i + 1));
+            }
+            return ranked;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void replace(LeaderboardEntry current, LeaderboardEntry replacement) {
+        if (current != null) {
+            ranking.remove(current);
+        }
+        ranking.add(replacement);
+        entries.put(replacement.getStudentId(), replacement);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.soa.leaderboard;
+
+import java.time.LocalDateTime;
+
+/**
+ * One student's standing on a leaderboard. Entries are immutable; an
+ * improved score replaces the entry.
+ */
+public class LeaderboardEntry {
+
+    private final String studentId;
+    private final double score;
+    private final LocalDateTime achievedAt;
+    private final int rank;
+
+    public LeaderboardEntry(String studentId, double score, LocalDateTime achievedAt, int rank) {
+        this.studentId = studentId;
+        this.score = score;
+        this.achievedAt = achievedAt;
+        this.rank = rank;
+    }
+
+    LeaderboardEntry withRank(int rank) {
+        return new LeaderboardEntry(studentId, score, achievedAt, rank);
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public LocalDateTime getAchievedAt() {
+        return achievedAt;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.soa.leaderboard;
+
+import com.example.soa.Repository.CourseRepository;
+import com.example.soa.Repository.QuizRepository;
+import com.example.soa.Repository.ScoreRepository;
+import com.example.soa.Repository.SubmissionRepository;
+import com.example.soa.util.TransactionHooks;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Per-quiz and per-course leaderboards held in memory.
+ *
+ * A quiz board ranks each student's best attempt and is updated after every
+ * committed quiz submission. A course board ranks students by the sum of
+ * their best graded submission per assessment; grading changes are rarer
+ * and may lower a score, so they drop the course board and it is rebuilt on
+ * the next read. Boards are loaded from the database on first use and warmed
+ * in the background at startup.
+ *
+ * Only boards of quizzes and courses that exist are loaded, and at most
+ * app.leaderboard.max-boards of each kind are kept; the least used are
+ * dropped and reloaded if asked for again.
+ */
+@Service
+public class LeaderboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardService.class);
+
+    @Autowired
+    private ScoreRepository scoreRepository;
+
+    @Autowired
+    private SubmissionRepository submissionRepository;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Value("${app.leaderboard.max-boards:1000}")
+    private int maxBoards;
+
+    private Cache<Long, Leaderboard> quizBoards;
+    private Cache<Long, Leaderboard> courseBoards;
+
+    @PostConstruct
+    public void init() {
+        quizBoards = Caffeine.newBuilder().maximumSize(maxBoards).build();
+        courseBoards = Caffeine.newBuilder().maximumSize(maxBoards).build();
+    }
+
+    /** @return the quiz's board, or empty if there is no such quiz */
+    public Optional<Leaderboard> quizBoard(Long quizId) {
+        return Optional.ofNullable(quizBoards.get(quizId, this::loadQuizBoard));
+    }
+
+    /** @return the course's board, or empty if there is no such course */
+    public Optional<Leaderboard> courseBoard(Long courseId) {
+        return Optional.ofNullable(courseBoards.get(courseId, this::loadCourseBoard));
+    }
+
+    /**
+     * Applies a quiz result once the submitting transaction commits. Boards
+     * that are not loaded yet are left alone: they will read the committed
+     * score when they load. Offering is idempotent, so a result that races
+     * with a load is not counted twice.
+     */
+    public void recordQuizScore(Long quizId, String studentId, int score, LocalDateTime submittedAt) {
+        TransactionHooks.afterCommit(() -> quizBoards.asMap().computeIfPresent(quizId, (id, board) -> {
+            board.offer(studentId, score, submittedAt);
+            return board;
+        }));
+    }
+
+    public void invalidateQuiz(Long quizId) {
+        TransactionHooks.afterCommit(() -> quizBoards.invalidate(quizId));
+    }
+
+    public void invalidateCourse(Long courseId) {
+        TransactionHooks.afterCommit(() -> courseBoards.invalidate(courseId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread rebuild = new Thread(this::rebuildAll, "leaderboard-rebuild");
+        rebuild.setDaemon(true);
+        rebuild.start();
+    }
+
+    private void rebuildAll() {
+        long start = System.currentTimeMillis();
+        try {
+            List<Long> quizIds = scoreRepository.findScoredQuizIds();
+            quizIds.forEach(this::quizBoard);
+            List<Long> courseIds = submissionRepository.findGradedCourseIds();
+            courseIds.forEach(this::courseBoard);
+            logger.info("Loaded {} quiz and {} course leaderboards in {} ms",
+                    quizIds.size(), courseIds.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            // Boards still load lazily on first request
+            logger.error("Error rebuilding leaderboards: {}", e.getMessage());
+        }
+    }
+
+    // Returns null for an unknown quiz so nothing is cached for it
+    private Leaderboard loadQuizBoard(Long quizId) {
+        if (!quizRepository.existsById(quizId)) {
+            return null;
+        }
+        Leaderboard board = new Leaderboard();
+        for (ScoreRepository.LeaderboardRow row : scoreRepository.findLeaderboardRowsByQuizId(quizId)) {
+            board.offer(row.getStudentId(), row.getScore(), row.getSubmissionTime());
+        }
+        return board;
+    }
+
+    private Leaderboard loadCourseBoard(Long courseId) {
+        if (!courseRepository.existsById(courseId)) {
+            return null;
+        }
+        // Best score per (student, assessment), then summed per student
+        Map<Long, Map<Long, SubmissionRepository.GradedRow>> best = new HashMap<>();
+        for (SubmissionRepository.GradedRow row : submissionRepository.findGradedRowsByCourseId(courseId)) {
+            best.computeIfAbsent(row.getStudentId(), id -> new HashMap<>())
+                    .merge(row.getAssessmentId(), row, (current, candidate) ->
+                            candidate.getScore() > current.getScore() ? candidate : current);
+        }
+
+        Leaderboard board = new Leaderboard();
+        for (Map.Entry<Long, Map<Long, SubmissionRepository.GradedRow>> student : best.entrySet()) {
+            double total = 0;
+            LocalDateTime reachedAt = null;
+            for (SubmissionRepository.GradedRow row : student.getValue().values()) {
+                total += row.getScore();
+                if (row.getSubmissionDate() != null && (reachedAt == null || row.getSubmissionDate().isAfter(reachedAt))) {
+                    reachedAt = row.getSubmissionDate();
+                }
+            }
+            board.set(String.valueOf(student.getKey()), total, reachedAt);
+        }
+        return board;
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.soa.leaderboard;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sorted set with O(log n) expected insert, remove, rank and positional
+ * access: a treap whose nodes carry their subtree size.
+ *
+ * Not thread-safe; {@link Leaderboard} guards it with a lock.
+ */
+class OrderStatisticTree<E> {
+
+    private static final class Node<E> {
+        final E value;
+        final int priority;
+        Node<E> left;
+        Node<E> right;
+        int size = 1;
+
+        Node(E value) {
+            this.value = value;
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    private final Comparator<? super E> comparator;
+    private Node<E> root;
+
+    OrderStatisticTree(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    void add(E value) {
+        root = insert(root, value);
+    }
+
+    void remove(E value) {
+        root = delete(root, value);
+    }
+
+    /** Number of elements ordered strictly before the given value. */
+    int rankOf(E value) {
+        int rank = 0;
+        Node<E> node = root;
+        while (node != null) {
+            int cmp = comparator.compare(value, node.value);
+            if (cmp <= 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    /** The first {@code limit} elements in order. */
+    List<E> head(int limit) {
+        List<E> result = new ArrayList<>(Math.min(limit, size()));
+        Deque<Node<E>> stack = new ArrayDeque<>();
+        Node<E> node = root;
+        while ((node != null || !stack.isEmpty()) && result.size() < limit) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+            node = stack.pop();
+            result.add(node.value);
+            node = node.right;
+        }
+        return result;
+    }
+
+    private Node<E> insert(Node<E> node, E value) {
+        if (node == null) {
+            return new Node<>(value);
+        }
+        if (comparator.compare(value, node.value) < 0) {
+            node.left = insert(node.left, value);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, value);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<E> delete(Node<E> node, E value) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = comparator.compare(value, node.value);
+        if (cmp < 0) {
+            node.left = delete(node.left, value);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, value);
+        } else {
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<E> merge(Node<E> left, Node<E> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private Node<E> rotateRight(Node<E> node) {
+        Node<E> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node<E> rotateLeft(Node<E> node) {
+        Node<E> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private void update(Node<E> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+}
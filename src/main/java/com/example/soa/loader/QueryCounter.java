@@ -0,0 +1,18 @@
+package com.example.soa.loader;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate sends on behalf of the current HTTP
+ * request; registered through {@code hibernate.session_factory.statement_inspector}.
+ * Lookups answered by the first- or second-level cache send nothing and are
+ * not counted, and neither are JdbcTemplate statements.
+ */
+public class QueryCounter implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestLoader.countQuery();
+        return sql;
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.soa.loader;
+
+import com.example.soa.Dto.ContentSnapshot;
+import com.example.soa.Model.Course;
+import com.example.soa.Model.User;
+import com.example.soa.Repository.CourseRepository;
+import com.example.soa.Repository.EnrollmentRepository;
+import com.example.soa.Repository.UserRepository;
+import com.example.soa.Service.ContentService;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Memoizes lookups for the duration of one HTTP request, so the filter, the
+ * controller and the services it calls share one read of each row.
+ *
+ * Keys are grouped by kind; {@link #loadMany} fetches only the keys of a
+ * kind not seen yet in this request, in one batch query. Rows that do not
+ * exist are remembered too. The memo lives in a request attribute, so it is
+ * dropped with the request; outside a request (schedulers, worker pools)
+ * every call goes straight to the database.
+ *
+ * Values are what was read at the first lookup; a request that changes a
+ * row and then needs the new state should read it from its repository.
+ * The number of SQL statements each request ran is logged by
+ * {@link RequestQueryLogInterceptor}.
+ */
+@Component
+public class RequestLoader {
+
+    static final String STATE_ATTRIBUTE = RequestLoader.class.getName() + ".state";
+
+    private static final String USER = "user";
+    private static final String COURSE = "course";
+    private static final String CONTENT = "content";
+    private static final String ENROLLED_COURSES = "enrolled-courses";
+
+    private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final ContentService contentService;
+
+    public RequestLoader(UserRepository userRepository,
+                         CourseRepository courseRepository,
+                         EnrollmentRepository enrollmentRepository,
+                         ContentService contentService) {
+        this.userRepository = userRepository;
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.contentService = contentService;
+    }
+
+    // Per-request counters and memo; only touched by the request's own thread
+    static final class State {
+        private final Map<String, Map<Object, Optional<?>>> memo = new HashMap<>();
+        private int queries;
+        private int hits;
+        private int misses;
+
+        int getQueries() {
+            return queries;
+        }
+
+        int getHits() {
+            return hits;
+        }
+
+        int getMisses() {
+            return misses;
+        }
+    }
+
+    public Optional<User> user(Long userId) {
+        return load(USER, userId, userRepository::findById);
+    }
+
+    public Optional<Course> course(Long courseId) {
+        return load(COURSE, courseId, courseRepository::findById);
+    }
+
+    public Map<Long, ContentSnapshot> contents(Collection<Long> contentIds) {
+        return loadMany(CONTENT, contentIds, contentService::getContentsByIds);
+    }
+
+    /**
+     * One query for all of the student's enrollments answers every
+     * enrollment check in the request, whichever courses they are for.
+     */
+    public boolean isEnrolled(Long studentId, Long courseId) {
+        return enrolledCourseIds(studentId).contains(courseId);
+    }
+
+    public Set<Long> enrolledCourseIds(Long studentId) {
+        Optional<Set<Long>> courseIds = load(ENROLLED_COURSES, studentId,
+                id -> Optional.of(new HashSet<>(enrollmentRepository.findCourseIdsByStudentId(id))));
+        return courseIds.orElse(Set.of());
+    }
+
+    /**
+     * @param fetch reads one key from the database; called at most once per key and request
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> Optional<V> load(String kind, K key, Function<K, Optional<V>> fetch) {
+        State state = currentState();
+        if (state == null || key == null) {
+            return key == null ? Optional.empty() : fetch.apply(key);
+        }
+        Map<Object, Optional<?>> values = state.memo.computeIfAbsent(kind, k -> new HashMap<>());
+        Optional<V> value = (Optional<V>) values.get(key);
+        if (value != null) {
+            state.hits++;
+            return value;
+        }
+        state.misses++;
+        value = fetch.apply(key);
+        values.put(key, value);
+        return value;
+    }
+
+    /**
+     * @param fetchAll reads the given keys in one query and returns the rows found by key
+     * @return the rows that exist, by key, in the order of {@code keys}
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> Map<K, V> loadMany(String kind, Collection<K> keys, Function<Collection<K>, Map<K, V>> fetchAll) {
+        State state = currentState();
+        if (state == null) {
+            return fetchAll.apply(keys);
+        }
+        Map<Object, Optional<?>> values = state.memo.computeIfAbsent(kind, k -> new HashMap<>());
+        Set<K> missing = new LinkedHashSet<>();
+        for (K key : keys) {
+            if (key != null && !values.containsKey(key)) {
+                missing.add(key);
+            }
+        }
+        state.hits += (int) keys.stream().filter(values::containsKey).count();
+        if (!missing.isEmpty()) {
+            state.misses += missing.size();
+            Map<K, V> found = fetchAll.apply(missing);
+            for (K key : missing) {
+                values.put(key, Optional.ofNullable(found.get(key)));
+            }
+        }
+        Map<K, V> result = new LinkedHashMap<>();
+        for (K key : keys) {
+            Optional<V> value = (Optional<V>) values.get(key);
+            if (value != null && value.isPresent()) {
+                result.put(key, value.get());
+            }
+        }
+        return result;
+    }
+
+    // Called by QueryCounter for every statement Hibernate prepares
+    static void countQuery() {
+        State state = currentState();
+        if (state != null) {
+            state.queries++;
+        }
+    }
+
+    static State currentState() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        State state = (State) attributes.getAttribute(STATE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (state == null) {
+            state = new State();
+            attributes.setAttribute(STATE_ATTRIBUTE, state, RequestAttributes.SCOPE_REQUEST);
+        }
+        return state;
+    }
+}
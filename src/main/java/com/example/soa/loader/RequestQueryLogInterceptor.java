@@ -0,0 +1,39 @@
+package com.example.soa.loader;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Logs how many SQL statements each API request ran, and how many lookups
+ * the {@link RequestLoader} answered without one. Requests over the
+ * threshold are logged as warnings, the rest at debug level.
+ */
+public class RequestQueryLogInterceptor implements HandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestQueryLogInterceptor.class);
+
+    private final int warnThreshold;
+
+    public RequestQueryLogInterceptor(int warnThreshold) {
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object attribute = request.getAttribute(RequestLoader.STATE_ATTRIBUTE);
+        if (!(attribute instanceof RequestLoader.State state)) {
+            return;
+        }
+        if (state.getQueries() > warnThreshold) {
+            logger.warn("{} {} ran {} SQL statements ({} lookups memoized, {} loaded)", request.getMethod(),
+                    request.getRequestURI(), state.getQueries(), state.getHits(), state.getMisses());
+        } else if (logger.isDebugEnabled()) {
+            logger.debug("{} {} ran {} SQL statements ({} lookups memoized, {} loaded)", request.getMethod(),
+                    request.getRequestURI(), state.getQueries(), state.getHits(), state.getMisses());
+        }
+    }
+}
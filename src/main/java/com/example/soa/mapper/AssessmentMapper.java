@@ -21,6 +21,7 @@ public class AssessmentMapper {
         dto.setTitle(assessment.getTitle());
         dto.setType(assessment.getType().name());
         dto.setTotalMarks(assessment.getTotalMarks());
+        dto.setQuestionVersion(assessment.getQuestionVersion());
         dto.setSubmissions(toSubmissionDTOs(assessment.getSubmissions()));
         dto.setQuizAnswers(toQuizAnswerDTOs(assessment.getQuizAnswers()));
         return dto;
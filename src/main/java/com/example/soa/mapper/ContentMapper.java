@@ -1,6 +1,7 @@
 package com.example.soa.mapper;
 
 import com.example.soa.Dto.ContentDTO;
+import com.example.soa.Dto.ContentSnapshot;
 import com.example.soa.Model.Content;
 import com.example.soa.Model.Course;
 import com.example.soa.Model.Module;
@@ -25,12 +26,33 @@ public class ContentMapper {
         dto.setFileUrl(content.getFileUrl());
         dto.setIsActive(content.getIsActive());
         dto.setOrderIndex(content.getOrderIndex());
+        dto.setVersion(content.getVersion());
         if (content.getModule() != null) {
             dto.setModuleId(content.getModule().getModuleId());
         }
         return dto;
     }
 
+    public ContentDTO toContentDTO(ContentSnapshot content) {
+        ContentDTO dto = new ContentDTO();
+        dto.setContentId(content.contentId());
+        dto.setCourseId(content.courseId());
+        dto.setType(content.type());
+        dto.setUrlFileLocation(content.urlFileLocation());
+        dto.setUploadDate(content.uploadDate());
+        dto.setFileSize(content.fileSize());
+        dto.setFileType(content.fileType());
+        dto.setDescription(content.description());
+        dto.setTitle(content.title());
+        dto.setFileName(content.fileName());
+        dto.setFileUrl(content.fileUrl());
+        dto.setIsActive(content.isActive());
+        dto.setOrderIndex(content.orderIndex());
+        dto.setVersion(content.version());
+        dto.setModuleId(content.moduleId());
+        return dto;
+    }
+
     public Content toContent(ContentDTO contentDTO) {
         Content content = new Content();
         content.setContentId(contentDTO.getContentId());
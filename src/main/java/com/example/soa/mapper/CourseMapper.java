@@ -3,6 +3,7 @@ package com.example.soa.mapper;
 import com.example.soa.Model.Course;
 import com.example.soa.Model.User;
 import com.example.soa.Dto.CourseDTO;
+import com.example.soa.Dto.CourseSnapshot;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -23,6 +24,7 @@ public class CourseMapper {
         courseDTO.setStartDate(course.getStartDate());
         courseDTO.setEndDate(course.getEndDate());
         courseDTO.setTitle(course.getTitle());
+        courseDTO.setVersion(course.getVersion());
         
         if (course.getInstructor() != null) {
             courseDTO.setInstructorId(course.getInstructor().getUserId());
@@ -51,6 +53,24 @@ public class CourseMapper {
         return courseDTO;
     }
 
+    public CourseDTO toCourseDTO(CourseSnapshot course) {
+        CourseDTO courseDTO = new CourseDTO();
+        courseDTO.setCourseId(course.courseId());
+        courseDTO.setName(course.name());
+        courseDTO.setDescription(course.description());
+        courseDTO.setStartDate(course.startDate());
+        courseDTO.setEndDate(course.endDate());
+        courseDTO.setTitle(course.title());
+        courseDTO.setVersion(course.version());
+        courseDTO.setInstructorId(course.instructorId());
+        courseDTO.setEnrollmentIds(course.enrollmentIds());
+        courseDTO.setContentIds(course.contentIds());
+        courseDTO.setAssessmentIds(course.assessmentIds());
+        courseDTO.setTags(course.tags());
+        courseDTO.setPrerequisites(course.prerequisites());
+        return courseDTO;
+    }
+
     public Course toCourse(CourseDTO courseDTO) {
         if (courseDTO == null) {
             throw new IllegalArgumentException("CourseDTO cannot be null");
@@ -67,6 +87,7 @@ public class CourseMapper {
         course.setStartDate(courseDTO.getStartDate());
         course.setEndDate(courseDTO.getEndDate());
         course.setTitle(courseDTO.getTitle());
+        course.setVersion(courseDTO.getVersion());
         
         if (courseDTO.getInstructorId() != null) {
             User instructor = new User();
@@ -1,6 +1,7 @@
 package com.example.soa.mapper;
 
 import com.example.soa.Dto.ModuleDTO;
+import com.example.soa.Dto.ModuleSnapshot;
 import com.example.soa.Model.Module;
 import com.example.soa.Model.Content;
 
@@ -20,6 +21,7 @@ public class ModuleMapper {
         moduleDTO.setCourseId(module.getCourse().getCourseId());
         moduleDTO.setTitle(module.getTitle());
         moduleDTO.setDescription(module.getDescription());
+        moduleDTO.setVersion(module.getVersion());
         
         // Add HATEOAS links
         moduleDTO.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(ModuleController.class)
@@ -43,6 +45,31 @@ public class ModuleMapper {
         return moduleDTO;
     }
     
+    public static ModuleDTO toModuleDTO(ModuleSnapshot module) {
+        ModuleDTO moduleDTO = new ModuleDTO();
+        
+        moduleDTO.setModuleId(module.moduleId());
+        moduleDTO.setCourseId(module.courseId());
+        moduleDTO.setTitle(module.title());
+        moduleDTO.setDescription(module.description());
+        moduleDTO.setVersion(module.version());
+        
+        moduleDTO.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(ModuleController.class)
+                .getModuleById(module.moduleId())).withSelfRel());
+        
+        moduleDTO.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(ModuleController.class)
+                .getModulesByCourse(module.courseId())).withRel("modules"));
+        
+        if (!module.contentIds().isEmpty()) {
+            moduleDTO.setContentIds(module.contentIds());
+            
+            moduleDTO.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(ModuleController.class)
+                    .getModuleContent(module.moduleId())).withRel("contents"));
+        }
+        
+        return moduleDTO;
+    }
+    
     public static Module toModule(ModuleDTO moduleDTO) {
         Module module = new Module();
         
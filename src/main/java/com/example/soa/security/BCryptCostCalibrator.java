@@ -0,0 +1,64 @@
+package com.example.soa.security;
+
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Measures BCrypt on the current machine and picks the highest cost factor
+ * whose hash still fits a latency budget.
+ *
+ * Each step of the cost doubles the work, so the search stops at the first
+ * cost that is over budget. Used at startup when {@code app.password.bcrypt-cost}
+ * is 0; {@code BCryptCostBenchmark} in the tests prints the timing table used
+ * to size a deployment.
+ */
+public final class BCryptCostCalibrator {
+
+    public static final int MIN_COST = 4;
+    public static final int MAX_COST = 16;
+
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibration-Password-123";
+
+    private BCryptCostCalibrator() {
+    }
+
+    /**
+     * @param target  the most a single hash may take
+     * @param minCost the lowest cost to accept, even if it is over budget
+     * @return the chosen cost, between {@code minCost} and {@link #MAX_COST}
+     */
+    public static int calibrate(Duration target, int minCost) {
+        int chosen = Math.max(MIN_COST, minCost);
+        warmUp();
+        for (int cost = chosen; cost <= MAX_COST; cost++) {
+            if (measure(cost).compareTo(target) > 0) {
+                break;
+            }
+            chosen = cost;
+        }
+        return chosen;
+    }
+
+    /**
+     * @return the median time of a few hashes at the given cost
+     */
+    public static Duration measure(int cost) {
+        String salt = BCrypt.gensalt(cost);
+        long[] nanos = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long started = System.nanoTime();
+            BCrypt.hashpw(SAMPLE_PASSWORD, salt);
+            nanos[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(nanos);
+        return Duration.ofNanos(nanos[SAMPLES / 2]);
+    }
+
+    // Lets the JIT compile the Blowfish rounds before anything is timed
+    private static void warmUp() {
+        measure(8);
+    }
+}
@@ -2,6 +2,7 @@ package com.example.soa.security;
 
 import com.example.soa.Model.User;
 import com.example.soa.Repository.UserRepository;
+import com.example.soa.loader.RequestLoader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -15,6 +16,9 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;  // You'll need this repository
 
+    @Autowired
+    private RequestLoader requestLoader;
+
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
@@ -26,7 +30,8 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     @Transactional
     public UserDetails loadUserById(Long id) {
-        User user = userRepository.findById(id)
+        // Remembered for the request, so later lookups of the caller do not read it again
+        User user = requestLoader.user(id)
             .orElseThrow(() -> new UsernameNotFoundException("User not found with id : " + id));
         
         return UserPrincipal.create(user);
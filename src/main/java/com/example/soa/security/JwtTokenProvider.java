@@ -40,14 +40,23 @@ public class JwtTokenProvider {
     @Autowired
     private UserRepository userRepository;
 
+    // Derived once; every request used to rebuild it before signing or verifying
+    private volatile SecretKey signingKey;
+
     private SecretKey getSigningKey() {
+        SecretKey key = signingKey;
+        if (key != null) {
+            return key;
+        }
         if (jwtSecret == null || jwtSecret.trim().isEmpty()) {
             throw new IllegalArgumentException("JWT secret key cannot be null or empty.");
         }
         if (jwtSecret.length() < 32) {
             throw new IllegalArgumentException("JWT secret key must be at least 32 characters long.");
         }
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        signingKey = key;
+        return key;
     }
 
    public String generateToken(Authentication authentication) {
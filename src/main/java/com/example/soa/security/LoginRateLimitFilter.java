@@ -0,0 +1,267 @@
+package com.example.soa.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles the unauthenticated endpoints that cost real work per call: login
+ * (a BCrypt check) and forgot-password (a token row and an email).
+ *
+ * Every call first takes a token from the client IP's bucket, then from the
+ * bucket of the email in the request body, with a separate account budget per
+ * endpoint. A refused call is answered with 429 and Retry-After before it
+ * reaches the controller. Runs as a plain servlet filter, ordered ahead of
+ * the security chain. Paths are matched decoded and without path parameters,
+ * the way Spring MVC routes them, so {@code /api/auth/logi%6E} or
+ * {@code /api/auth/login;x} are throttled like the plain path.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginRateLimitFilter.class);
+
+    static final String LOGIN_PATH = "/api/auth/login";
+    static final String FORGOT_PASSWORD_PATH = "/api/auth/forgot-password";
+
+    // Both request bodies are a couple of short fields
+    private static final int MAX_BODY_BYTES = 8 * 1024;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.rate-limit.ip.capacity:30}")
+    private int ipCapacity;
+
+    @Value("${app.rate-limit.ip.refill-per-minute:30}")
+    private double ipRefillPerMinute;
+
+    @Value("${app.rate-limit.login.capacity:10}")
+    private int loginCapacity;
+
+    @Value("${app.rate-limit.login.refill-per-minute:5}")
+    private double loginRefillPerMinute;
+
+    @Value("${app.rate-limit.forgot-password.capacity:3}")
+    private int forgotPasswordCapacity;
+
+    @Value("${app.rate-limit.forgot-password.refill-per-minute:0.1}")
+    private double forgotPasswordRefillPerMinute;
+
+    @Value("${app.rate-limit.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${app.rate-limit.trust-forwarded-for:false}")
+    private boolean trustForwardedFor;
+
+    private TokenBucketLimiter ipLimiter;
+    private TokenBucketLimiter loginLimiter;
+    private TokenBucketLimiter forgotPasswordLimiter;
+
+    private Counter ipRejected;
+    private Counter loginRejected;
+    private Counter forgotPasswordRejected;
+
+    @PostConstruct
+    public void init() {
+        ipLimiter = new TokenBucketLimiter(ipCapacity, ipRefillPerMinute, maxEntries);
+        loginLimiter = new TokenBucketLimiter(loginCapacity, loginRefillPerMinute, maxEntries);
+        forgotPasswordLimiter = new TokenBucketLimiter(forgotPasswordCapacity, forgotPasswordRefillPerMinute, maxEntries);
+
+        ipRejected = meterRegistry.counter("auth.rate-limit.rejected", "limit", "ip");
+        loginRejected = meterRegistry.counter("auth.rate-limit.rejected", "limit", "login");
+        forgotPasswordRejected = meterRegistry.counter("auth.rate-limit.rejected", "limit", "forgot_password");
+        meterRegistry.gauge("auth.rate-limit.keys", List.of(Tag.of("limit", "ip")), ipLimiter, TokenBucketLimiter::size);
+        meterRegistry.gauge("auth.rate-limit.keys", List.of(Tag.of("limit", "login")), loginLimiter,
+                TokenBucketLimiter::size);
+        meterRegistry.gauge("auth.rate-limit.keys", List.of(Tag.of("limit", "forgot_password")), forgotPasswordLimiter,
+                TokenBucketLimiter::size);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String path = pathOf(request);
+        return !LOGIN_PATH.equals(path) && !FORGOT_PASSWORD_PATH.equals(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean login = LOGIN_PATH.equals(pathOf(request));
+
+        long wait = ipLimiter.tryAcquire(clientIp(request));
+        if (wait > 0) {
+            ipRejected.increment();
+            reject(response, wait);
+            return;
+        }
+
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            return;
+        }
+        String email = emailOf(body);
+        if (email != null) {
+            wait = (login ? loginLimiter : forgotPasswordLimiter).tryAcquire(email);
+            if (wait > 0) {
+                (login ? loginRejected : forgotPasswordRejected).increment();
+                logger.warn("Throttled {} for {}", login ? "login" : "password reset", email);
+                reject(response, wait);
+                return;
+            }
+        }
+
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    // Decoded, without ;params and duplicate slashes, relative to the context path
+    private static String pathOf(HttpServletRequest request) {
+        return UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        int evicted = ipLimiter.evictIdle() + loginLimiter.evictIdle() + forgotPasswordLimiter.evictIdle();
+        if (evicted > 0) {
+            logger.debug("Dropped {} idle rate limit buckets", evicted);
+        }
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (StringUtils.hasText(forwarded)) {
+                int comma = forwarded.indexOf(',');
+                return (comma >= 0 ? forwarded.substring(0, comma) : forwarded).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    // Malformed bodies are left for the controller to reject
+    private static String emailOf(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).path("email");
+            return email.isTextual() && StringUtils.hasText(email.asText())
+                    ? email.asText().trim().toLowerCase(Locale.ROOT)
+                    : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of(
+                "error", "Too many requests",
+                "message", "Too many attempts, try again in " + retryAfter + " seconds"));
+    }
+
+    /**
+     * Replays a body the filter has already read.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.soa.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token buckets keyed by string, in a size-bounded cache.
+ *
+ * Each bucket is a single {@link AtomicLong} holding the time at which it will
+ * be full again (the "theoretical arrival time" of the generic cell rate
+ * algorithm, which admits exactly what a token bucket of the same capacity and
+ * refill rate admits). A check is one map lookup and a compare-and-set loop.
+ *
+ * A bucket whose refill time has passed is full and carries no information,
+ * so {@link #evictIdle()} drops it. Past the entry limit the cache evicts the
+ * least valuable buckets in constant time per insert, so memory stays bounded
+ * under a key-spraying attack while new keys are still tracked; a sprayer that
+ * gets its buckets evicted is still held by the per-IP limiter.
+ */
+public class TokenBucketLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier nanoClock;
+    private final Cache<String, AtomicLong> buckets;
+
+    /**
+     * @param capacity        burst size, in requests
+     * @param refillPerMinute sustained rate, in requests per minute
+     * @param maxEntries      keys tracked at most
+     */
+    public TokenBucketLimiter(int capacity, double refillPerMinute, int maxEntries) {
+        this(capacity, refillPerMinute, maxEntries, System::nanoTime);
+    }
+
+    TokenBucketLimiter(int capacity, double refillPerMinute, int maxEntries, LongSupplier nanoClock) {
+        if (capacity < 1 || refillPerMinute <= 0) {
+            throw new IllegalArgumentException("Capacity and refill rate must be positive");
+        }
+        this.emissionIntervalNanos = (long) (TimeUnit.MINUTES.toNanos(1) / refillPerMinute);
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder().maximumSize(Math.max(1, maxEntries)).build();
+    }
+
+    /**
+     * Takes one token from the key's bucket.
+     *
+     * @return 0 if the request is admitted, otherwise how many nanoseconds to
+     *         wait before the next token is available
+     */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        // A concurrent eviction may drop the bucket while it is used here; the next call starts a full one
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong(now));
+        while (true) {
+            long fullAt = bucket.get();
+            long start = Math.max(fullAt, now);
+            long wait = start - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops buckets that have refilled completely.
+     *
+     * @return the number of buckets dropped
+     */
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int evicted = 0;
+        for (Map.Entry<String, AtomicLong> entry : buckets.asMap().entrySet()) {
+            // A concurrent acquire may still hold the removed bucket; it then acts on a fresh one
+            if (entry.getValue().get() - now <= 0 && buckets.asMap().remove(entry.getKey(), entry.getValue())) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        // Size-based eviction runs asynchronously; settle it first
+        buckets.cleanUp();
+        return (int) buckets.estimatedSize();
+    }
+}
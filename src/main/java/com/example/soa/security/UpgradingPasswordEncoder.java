@@ -0,0 +1,77 @@
+package com.example.soa.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Encodes new passwords with BCrypt at the configured cost and still verifies
+ * the formats already in the users table: BCrypt hashes of any cost, and
+ * (while {@code acceptPlaintext} is on) passwords that were stored in plain
+ * text by early versions of the seed data.
+ *
+ * {@link #upgradeEncoding(String)} reports every stored value that is not a
+ * BCrypt hash of at least the current cost, so the caller can rehash it once
+ * the user has proven the password. Stronger hashes are kept: with calibrated
+ * costs, nodes may disagree, and downgrading would rehash on every login.
+ */
+public class UpgradingPasswordEncoder implements PasswordEncoder {
+
+    private static final Pattern BCRYPT = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$[./A-Za-z0-9]{53}$");
+
+    private final BCryptPasswordEncoder bcrypt;
+    private final int cost;
+    private final boolean acceptPlaintext;
+
+    public UpgradingPasswordEncoder(int cost, boolean acceptPlaintext) {
+        this.bcrypt = new BCryptPasswordEncoder(cost);
+        this.cost = cost;
+        this.acceptPlaintext = acceptPlaintext;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return bcrypt.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        if (bcryptCost(encodedPassword) >= 0) {
+            return bcrypt.matches(rawPassword, encodedPassword);
+        }
+        if (!acceptPlaintext) {
+            return false;
+        }
+        // Constant-time, so a plaintext row does not leak its prefix through timing
+        return MessageDigest.isEqual(rawPassword.toString().getBytes(StandardCharsets.UTF_8),
+                encodedPassword.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        // Plaintext reports -1, so it is always upgraded
+        return bcryptCost(encodedPassword) < cost;
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    /**
+     * @return the cost factor of a BCrypt hash, or -1 if the value is not one
+     */
+    static int bcryptCost(String encodedPassword) {
+        Matcher matcher = BCRYPT.matcher(encodedPassword);
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+}
@@ -0,0 +1,463 @@
+package com.example.soa.session;
+
+import com.example.soa.Model.AnswerDraft;
+import com.example.soa.Repository.AnswerDraftRepository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for autosaved answers.
+ *
+ * Changes are merged into an in-memory draft per {@link DraftKey} and appended
+ * to a local {@link DraftWriteAheadLog}; the database only sees the drafts
+ * that changed since the last flush, written with JDBC batches every
+ * {@code app.autosave.flush-interval-ms}. However often a student changes an
+ * answer, a draft costs at most one row write per interval. Log segments are
+ * deleted once the flush covering them has committed, and any that survive a
+ * crash are replayed into the buffer on startup.
+ *
+ * A draft is discarded once its answers have been submitted; the row is
+ * removed by the next flush.
+ */
+@Service
+public class AnswerDraftBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnswerDraftBuffer.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO answer_drafts (student_id, target_type, target_id, answers, updated_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL =
+            "UPDATE answer_drafts SET answers = ?, updated_at = ? WHERE student_id = ? AND target_type = ? AND target_id = ?";
+    private static final String DELETE_SQL =
+            "DELETE FROM answer_drafts WHERE student_id = ? AND target_type = ? AND target_id = ?";
+
+    private static final TypeReference<Map<String, String>> ANSWERS_TYPE = new TypeReference<>() {
+    };
+
+    @Autowired
+    private AnswerDraftRepository answerDraftRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.autosave.wal-dir:${java.io.tmpdir}/soa-autosave-wal}")
+    private String walDirectory;
+
+    @Value("${app.autosave.flush-interval-ms:2000}")
+    private long flushIntervalMillis;
+
+    @Value("${app.autosave.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.autosave.idle-minutes:30}")
+    private long idleMinutes;
+
+    private final Map<DraftKey, Draft> drafts = new ConcurrentHashMap<>();
+    private final Set<Draft> dirty = ConcurrentHashMap.newKeySet();
+
+    // Held while a change is logged and merged, and while the log is rotated, so
+    // every change in a closed segment is already in the drafts being flushed
+    private final ReentrantLock logLock = new ReentrantLock();
+    private final Object flushLock = new Object();
+
+    private DraftWriteAheadLog log;
+    private ScheduledExecutorService flusher;
+    private Counter flushedCounter;
+
+    @PostConstruct
+    public void init() {
+        log = new DraftWriteAheadLog(Paths.get(walDirectory));
+        log.open();
+        flushedCounter = meterRegistry.counter("autosave.drafts.flushed");
+        meterRegistry.gauge("autosave.drafts.buffered", drafts, Map::size);
+        meterRegistry.gauge("autosave.drafts.dirty", dirty, Set::size);
+
+        int replayed = replay();
+        if (replayed > 0) {
+            logger.info("Replayed {} autosaved changes from {}", replayed, walDirectory);
+            flush();
+        }
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "answer-draft-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::scheduledFlush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Final autosave flush failed, changes remain in {}: {}", walDirectory, e.getMessage());
+        }
+        log.close();
+    }
+
+    /**
+     * Merges changed answers into the draft. A null answer clears a saved one.
+     *
+     * @return the draft's answers after the change
+     */
+    public Map<String, String> save(DraftKey key, Map<String, String> changes) {
+        Map<String, String> cleaned = new HashMap<>();
+        changes.forEach((question, answer) -> {
+            if (question != null) {
+                cleaned.put(question, answer);
+            }
+        });
+        String line = write(new LogRecord(key, cleaned, false));
+        while (true) {
+            Draft draft = draftFor(key);
+            logLock.lock();
+            try {
+                synchronized (draft) {
+                    if (draft.evicted) {
+                        continue;
+                    }
+                    log.append(line);
+                    draft.apply(cleaned);
+                    dirty.add(draft);
+                    return Map.copyOf(draft.answers);
+                }
+            } finally {
+                logLock.unlock();
+            }
+        }
+    }
+
+    public Map<String, String> get(DraftKey key) {
+        Draft draft = draftFor(key);
+        synchronized (draft) {
+            return Map.copyOf(draft.answers);
+        }
+    }
+
+    /**
+     * Drops the draft after its answers have been submitted.
+     */
+    public void discard(DraftKey key) {
+        String line = write(new LogRecord(key, null, true));
+        while (true) {
+            Draft draft = draftFor(key);
+            logLock.lock();
+            try {
+                synchronized (draft) {
+                    if (draft.evicted) {
+                        continue;
+                    }
+                    if (draft.answers.isEmpty() && !draft.stored) {
+                        return;
+                    }
+                    log.append(line);
+                    draft.discard();
+                    dirty.add(draft);
+                    return;
+                }
+            } finally {
+                logLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Writes every draft changed since the last flush to the database.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            long segment;
+            List<Draft> pending;
+            logLock.lock();
+            try {
+                if (dirty.isEmpty()) {
+                    return;
+                }
+                segment = log.rotate();
+                pending = new ArrayList<>(dirty);
+                dirty.removeAll(pending);
+            } finally {
+                logLock.unlock();
+            }
+
+            List<Snapshot> snapshots = new ArrayList<>(pending.size());
+            for (Draft draft : pending) {
+                snapshots.add(snapshot(draft));
+            }
+            boolean complete = true;
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeAll(snapshots));
+                snapshots.forEach(this::markFlushed);
+            } catch (RuntimeException e) {
+                // One bad draft must not hold back the others
+                logger.warn("Batch flush of {} drafts failed ({}), retrying individually", snapshots.size(), e.getMessage());
+                for (Snapshot snapshot : snapshots) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> writeAll(List.of(snapshot)));
+                        markFlushed(snapshot);
+                    } catch (RuntimeException single) {
+                        complete = false;
+                        dirty.add(snapshot.draft);
+                        logger.error("Could not flush draft {}: {}", snapshot.draft.key, single.getMessage());
+                    }
+                }
+            }
+            if (complete) {
+                log.deleteThrough(segment);
+            }
+            if (!snapshots.isEmpty()) {
+                flushedCounter.increment(snapshots.size());
+                logger.debug("Flushed {} autosaved drafts", snapshots.size());
+            }
+        }
+    }
+
+    private void scheduledFlush() {
+        try {
+            flush();
+            evictIdle();
+        } catch (RuntimeException e) {
+            // Never let an error cancel the periodic flush
+            logger.error("Autosave flush failed: {}", e.getMessage());
+        }
+    }
+
+    private Draft draftFor(DraftKey key) {
+        Draft draft = drafts.get(key);
+        if (draft != null) {
+            return draft;
+        }
+        Draft loaded = load(key);
+        Draft existing = drafts.putIfAbsent(key, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private Draft load(DraftKey key) {
+        Draft draft = new Draft(key);
+        answerDraftRepository.findByStudentIdAndTargetTypeAndTargetId(key.getStudentId(), key.getTarget(), key.getTargetId())
+                .ifPresent(row -> {
+                    draft.stored = true;
+                    Map<String, String> answers = row.getAnswers() != null ? read(row.getAnswers(), ANSWERS_TYPE) : null;
+                    if (answers != null) {
+                        draft.answers.putAll(answers);
+                    }
+                });
+        return draft;
+    }
+
+    private int replay() {
+        int[] count = {0};
+        log.replay(line -> {
+            LogRecord record;
+            try {
+                record = objectMapper.readValue(line, LogRecord.class);
+            } catch (JsonProcessingException e) {
+                // The last line of a segment may be cut short by the crash
+                logger.warn("Skipping unreadable autosave log entry");
+                return;
+            }
+            Draft draft = draftFor(new DraftKey(record.studentId, record.target, record.targetId));
+            synchronized (draft) {
+                if (record.discarded) {
+                    draft.discard();
+                } else if (record.answers != null) {
+                    draft.apply(record.answers);
+                }
+                dirty.add(draft);
+            }
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    private Snapshot snapshot(Draft draft) {
+        synchronized (draft) {
+            return new Snapshot(draft, draft.revision, draft.stored, draft.discarded,
+                    draft.discarded ? null : write(draft.answers));
+        }
+    }
+
+    private void writeAll(List<Snapshot> snapshots) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        for (Snapshot snapshot : snapshots) {
+            DraftKey key = snapshot.draft.key;
+            if (snapshot.discarded) {
+                if (snapshot.stored) {
+                    deletes.add(new Object[]{key.getStudentId(), key.getTarget().name(), key.getTargetId()});
+                }
+            } else if (snapshot.stored) {
+                updates.add(new Object[]{snapshot.answers, now, key.getStudentId(), key.getTarget().name(), key.getTargetId()});
+            } else {
+                inserts.add(new Object[]{key.getStudentId(), key.getTarget().name(), key.getTargetId(), snapshot.answers, now});
+            }
+        }
+        batch(DELETE_SQL, deletes);
+        batch(UPDATE_SQL, updates);
+        batch(INSERT_SQL, inserts);
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + batchSize, rows.size())));
+        }
+    }
+
+    private void markFlushed(Snapshot snapshot) {
+        Draft draft = snapshot.draft;
+        synchronized (draft) {
+            draft.stored = !snapshot.discarded;
+            draft.flushedRevision = snapshot.revision;
+            if (draft.discarded && draft.revision == snapshot.revision) {
+                draft.evicted = true;
+                drafts.remove(draft.key, draft);
+            }
+        }
+    }
+
+    // Clean drafts nobody touched for a while are dropped from memory; the row remains
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(idleMinutes);
+        for (Draft draft : drafts.values()) {
+            synchronized (draft) {
+                if (draft.revision == draft.flushedRevision && draft.lastTouched < cutoff) {
+                    draft.evicted = true;
+                    drafts.remove(draft.key, draft);
+                }
+            }
+        }
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize autosaved answers", e);
+        }
+    }
+
+    private <T> T read(String json, TypeReference<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            logger.warn("Ignoring unreadable stored draft: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /** A draft held in memory; guarded by its own monitor. */
+    private static final class Draft {
+        final DraftKey key;
+        final Map<String, String> answers = new HashMap<>();
+        long revision;
+        long flushedRevision;
+        boolean stored;
+        boolean discarded;
+        boolean evicted;
+        long lastTouched = System.currentTimeMillis();
+
+        Draft(DraftKey key) {
+            this.key = key;
+        }
+
+        void apply(Map<String, String> changes) {
+            changes.forEach((question, answer) -> {
+                if (answer == null) {
+                    answers.remove(question);
+                } else {
+                    answers.put(question, answer);
+                }
+            });
+            discarded = false;
+            touch();
+        }
+
+        void discard() {
+            answers.clear();
+            discarded = true;
+            touch();
+        }
+
+        private void touch() {
+            revision++;
+            lastTouched = System.currentTimeMillis();
+        }
+    }
+
+    private static final class Snapshot {
+        final Draft draft;
+        final long revision;
+        final boolean stored;
+        final boolean discarded;
+        final String answers;
+
+        Snapshot(Draft draft, long revision, boolean stored, boolean discarded, String answers) {
+            this.draft = draft;
+            this.revision = revision;
+            this.stored = stored;
+            this.discarded = discarded;
+            this.answers = answers;
+        }
+    }
+
+    /** One line of the write-ahead log. */
+    static final class LogRecord {
+        public String studentId;
+        public AnswerDraft.Target target;
+        public Long targetId;
+        public Map<String, String> answers;
+        public boolean discarded;
+
+        LogRecord() {
+        }
+
+        LogRecord(DraftKey key, Map<String, String> answers, boolean discarded) {
+            this.studentId = key.getStudentId();
+            this.target = key.getTarget();
+            this.targetId = key.getTargetId();
+            this.answers = answers;
+            this.discarded = discarded;
+        }
+    }
+}
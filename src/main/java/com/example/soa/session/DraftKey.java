@@ -0,0 +1,59 @@
+package com.example.soa.session;
+
+import com.example.soa.Model.AnswerDraft;
+
+import java.util.Objects;
+
+/**
+ * Identifies the draft answers of one student to one quiz or assessment.
+ */
+public final class DraftKey {
+
+    private final String studentId;
+    private final AnswerDraft.Target target;
+    private final Long targetId;
+
+    public DraftKey(String studentId, AnswerDraft.Target target, Long targetId) {
+        this.studentId = Objects.requireNonNull(studentId, "studentId");
+        this.target = Objects.requireNonNull(target, "target");
+        this.targetId = Objects.requireNonNull(targetId, "targetId");
+    }
+
+    public static DraftKey quiz(String studentId, Long quizId) {
+        return new DraftKey(studentId, AnswerDraft.Target.QUIZ, quizId);
+    }
+
+    public static DraftKey assessment(Long studentId, Long assessmentId) {
+        return new DraftKey(String.valueOf(studentId), AnswerDraft.Target.ASSESSMENT, assessmentId);
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public AnswerDraft.Target getTarget() {
+        return target;
+    }
+
+    public Long getTargetId() {
+        return targetId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DraftKey)) return false;
+        DraftKey other = (DraftKey) o;
+        return studentId.equals(other.studentId) && target == other.target && targetId.equals(other.targetId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(studentId, target, targetId);
+    }
+
+    @Override
+    public String toString() {
+        return target + ":" + targetId + ":" + studentId;
+    }
+}
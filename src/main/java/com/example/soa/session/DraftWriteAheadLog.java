@@ -0,0 +1,170 @@
+package com.example.soa.session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Append-only log of draft changes, one line per change, split into numbered
+ * segment files.
+ *
+ * Every append is handed to the operating system before it returns, so a
+ * crashed process loses nothing; a segment is forced to disk when it is
+ * rotated out, which bounds what a power loss can take to one flush interval.
+ * Before writing the buffered drafts to the database
+ * the buffer {@link #rotate() rotates} to a new segment, and once the write
+ * has committed it {@link #deleteThrough deletes} the segments it covered.
+ * Whatever segments are left at startup hold changes the database may not
+ * have and are replayed.
+ */
+class DraftWriteAheadLog implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DraftWriteAheadLog.class);
+
+    private static final String PREFIX = "drafts-";
+    private static final String SUFFIX = ".wal";
+
+    private final Path directory;
+    private long sequence;
+    private FileChannel channel;
+    private Writer writer;
+
+    DraftWriteAheadLog(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Opens a fresh segment after any left over from a previous run.
+     */
+    synchronized void open() {
+        try {
+            Files.createDirectories(directory);
+            List<Long> existing = segments();
+            sequence = existing.isEmpty() ? 0 : existing.get(existing.size() - 1);
+            openSegment(sequence + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open autosave log in " + directory, e);
+        }
+    }
+
+    /**
+     * Feeds every line of the segments that precede the current one to the
+     * consumer, oldest first.
+     */
+    synchronized void replay(Consumer<String> consumer) {
+        try {
+            for (long segment : segments()) {
+                if (segment >= sequence) {
+                    break;
+                }
+                try (BufferedReader reader = Files.newBufferedReader(segmentPath(segment), StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (!line.isEmpty()) {
+                            consumer.accept(line);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot replay autosave log in " + directory, e);
+        }
+    }
+
+    synchronized void append(String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to autosave log", e);
+        }
+    }
+
+    /**
+     * Closes the current segment and starts the next one.
+     *
+     * @return the sequence number of the segment that was closed
+     */
+    synchronized long rotate() {
+        long closed = sequence;
+        try {
+            channel.force(false);
+            writer.close();
+            openSegment(closed + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot rotate autosave log", e);
+        }
+        return closed;
+    }
+
+    /**
+     * Deletes every closed segment up to and including the given one.
+     */
+    synchronized void deleteThrough(long lastSegment) {
+        try {
+            for (long segment : segments()) {
+                if (segment > lastSegment || segment >= sequence) {
+                    break;
+                }
+                Files.deleteIfExists(segmentPath(segment));
+            }
+        } catch (IOException e) {
+            // The segments are replayed again on the next start, which is harmless
+            logger.warn("Could not delete flushed autosave log segments: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            if (writer != null) {
+                channel.force(false);
+                writer.close();
+            }
+        } catch (IOException e) {
+            logger.warn("Error closing autosave log: {}", e.getMessage());
+        }
+    }
+
+    private void openSegment(long segment) throws IOException {
+        channel = FileChannel.open(segmentPath(segment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        writer = Channels.newWriter(channel, StandardCharsets.UTF_8);
+        sequence = segment;
+    }
+
+    private List<Long> segments() throws IOException {
+        List<Long> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    segments.add(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    logger.warn("Ignoring unexpected file in autosave log directory: {}", name);
+                }
+            }
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%s%012d%s", PREFIX, segment, SUFFIX));
+    }
+}
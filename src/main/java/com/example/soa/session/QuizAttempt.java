@@ -0,0 +1,130 @@
+package com.example.soa.session;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An in-progress (or recently finished) quiz attempt held in memory.
+ *
+ * Answers can be autosaved concurrently; the state moves from ACTIVE to
+ * SUBMITTED or EXPIRED once, whichever of the student's submit and the
+ * deadline sweep gets there first. A null answer clears a saved one.
+ */
+public class QuizAttempt {
+
+    public enum State {
+        ACTIVE, SUBMITTED, EXPIRED
+    }
+
+    private final String attemptId;
+    private final Long quizId;
+    private final String studentId;
+    private final Instant startedAt;
+    private final Instant deadline;
+    private final Map<Long, String> answers = new ConcurrentHashMap<>();
+    private final AtomicReference<State> state = new AtomicReference<>(State.ACTIVE);
+    private volatile Instant finishedAt;
+    private volatile Long scoreId;
+    private volatile Integer score;
+    // Only touched by the auto-submit of this attempt, which never runs twice at once
+    private volatile int autoSubmitFailures;
+
+    public QuizAttempt(String attemptId, Long quizId, String studentId, Instant startedAt, Instant deadline) {
+        this.attemptId = attemptId;
+        this.quizId = quizId;
+        this.studentId = studentId;
+        this.startedAt = startedAt;
+        this.deadline = deadline;
+    }
+
+    boolean finish(State finalState) {
+        if (state.compareAndSet(State.ACTIVE, finalState)) {
+            finishedAt = Instant.now();
+            return true;
+        }
+        return false;
+    }
+
+    void recordScore(Long scoreId, Integer score) {
+        this.scoreId = scoreId;
+        this.score = score;
+    }
+
+    void saveAnswers(Map<Long, String> changes) {
+        for (Map.Entry<Long, String> change : changes.entrySet()) {
+            if (change.getKey() == null) {
+                continue;
+            }
+            if (change.getValue() == null) {
+                answers.remove(change.getKey());
+            } else {
+                answers.put(change.getKey(), change.getValue());
+            }
+        }
+    }
+
+    // Lets the student, or the deadline sweep, retry when persisting a submission failed
+    void reopen() {
+        State current = state.get();
+        if (current != State.ACTIVE && state.compareAndSet(current, State.ACTIVE)) {
+            finishedAt = null;
+        }
+    }
+
+    int recordAutoSubmitFailure() {
+        return ++autoSubmitFailures;
+    }
+
+    public String getAttemptId() {
+        return attemptId;
+    }
+
+    public Long getQuizId() {
+        return quizId;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getDeadline() {
+        return deadline;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public Long getScoreId() {
+        return scoreId;
+    }
+
+    public Integer getScore() {
+        return score;
+    }
+
+    public Map<Long, String> getAnswers() {
+        return Map.copyOf(answers);
+    }
+
+    public int getAnsweredCount() {
+        return answers.size();
+    }
+
+    public long getRemainingSeconds() {
+        if (state.get() != State.ACTIVE) {
+            return 0;
+        }
+        return Math.max(0, deadline.getEpochSecond() - Instant.now().getEpochSecond());
+    }
+}
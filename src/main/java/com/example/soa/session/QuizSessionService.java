@@ -0,0 +1,336 @@
+package com.example.soa.session;
+
+import com.example.soa.Model.Quiz;
+import com.example.soa.Model.Score;
+import com.example.soa.Service.QuizService;
+import com.example.soa.exception.BadRequestException;
+import com.example.soa.exception.ResourceNotFoundException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-side timed quiz attempts.
+ *
+ * Attempts live in a concurrent map; starting, autosaving and reading one are
+ * constant-time and never touch the database. The deadline of every attempt
+ * is registered in a {@link TimerWheel}, advanced once per tick by a single
+ * thread, so the cost of enforcing deadlines depends on how many attempts
+ * expire, not on how many are open. Expired attempts are submitted with their
+ * last autosaved answers, in batches sharing one transaction; one that cannot
+ * be saved keeps its draft and is retried every
+ * {@code app.quiz-session.autosubmit-retry-seconds}, up to
+ * {@code autosubmit-max-retries} times. Autosaves are
+ * also written through the {@link AnswerDraftBuffer}, so a restarted attempt
+ * picks up the answers saved before a crash.
+ */
+@Service
+public class QuizSessionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuizSessionService.class);
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private AnswerDraftBuffer answerDraftBuffer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.quiz-session.tick-ms:1000}")
+    private long tickMillis;
+
+    @Value("${app.quiz-session.wheel-size:4096}")
+    private int wheelSize;
+
+    @Value("${app.quiz-session.grace-seconds:5}")
+    private long graceSeconds;
+
+    @Value("${app.quiz-session.untimed-limit-minutes:180}")
+    private long untimedLimitMinutes;
+
+    @Value("${app.quiz-session.retention-minutes:10}")
+    private long retentionMinutes;
+
+    @Value("${app.quiz-session.autosubmit-batch-size:200}")
+    private int autoSubmitBatchSize;
+
+    @Value("${app.quiz-session.autosubmit-retry-seconds:30}")
+    private long autoSubmitRetrySeconds;
+
+    @Value("${app.quiz-session.autosubmit-max-retries:10}")
+    private int autoSubmitMaxRetries;
+
+    private final Map<String, QuizAttempt> attempts = new ConcurrentHashMap<>();
+    private final Map<String, String> activeAttemptByStudent = new ConcurrentHashMap<>();
+
+    private TimerWheel<QuizAttempt> wheel;
+    private ScheduledExecutorService ticker;
+    private ThreadPoolExecutor autoSubmitter;
+
+    private Counter submittedCounter;
+    private Counter autoSubmittedCounter;
+
+    @PostConstruct
+    public void init() {
+        wheel = new TimerWheel<>(wheelSize, tickMillis, System.currentTimeMillis());
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "quiz-session-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Caller runs when saturated, which slows the sweep down instead of dropping submissions
+        autoSubmitter = new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(64),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "quiz-session-autosubmit");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+
+        submittedCounter = meterRegistry.counter("quiz.sessions.submitted", "mode", "student");
+        autoSubmittedCounter = meterRegistry.counter("quiz.sessions.submitted", "mode", "deadline");
+        meterRegistry.gauge("quiz.sessions.active", activeAttemptByStudent, Map::size);
+        meterRegistry.gauge("quiz.sessions.held", attempts, Map::size);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+        autoSubmitter.shutdown();
+    }
+
+    /**
+     * Starts an attempt, or returns the student's attempt that is already in
+     * progress for this quiz.
+     */
+    public QuizAttempt start(Long quizId, String studentId) {
+        Quiz quiz = quizService.getQuiz(quizId);
+        if (!quiz.isActive()) {
+            throw new BadRequestException("Quiz " + quizId + " is not active");
+        }
+        String studentKey = quizId + ":" + studentId;
+        String attemptId = activeAttemptByStudent.compute(studentKey, (key, existingId) -> {
+            QuizAttempt existing = existingId != null ? attempts.get(existingId) : null;
+            if (existing != null && existing.getState() == QuizAttempt.State.ACTIVE) {
+                return existingId;
+            }
+            Instant now = Instant.now();
+            Duration limit = quiz.getTimeLimit() != null && quiz.getTimeLimit() > 0
+                    ? Duration.ofMinutes(quiz.getTimeLimit())
+                    : Duration.ofMinutes(untimedLimitMinutes);
+            QuizAttempt attempt = new QuizAttempt(UUID.randomUUID().toString(), quizId, studentId, now, now.plus(limit));
+            attempt.saveAnswers(fromDraft(answerDraftBuffer.get(DraftKey.quiz(studentId, quizId))));
+            attempts.put(attempt.getAttemptId(), attempt);
+            wheel.schedule(attempt, closesAt(attempt).toEpochMilli());
+            logger.debug("Started attempt {} of quiz {} for student {}", attempt.getAttemptId(), quizId, studentId);
+            return attempt.getAttemptId();
+        });
+        return attempts.get(attemptId);
+    }
+
+    public QuizAttempt getAttempt(String attemptId) {
+        QuizAttempt attempt = attempts.get(attemptId);
+        if (attempt == null) {
+            throw new ResourceNotFoundException("Quiz attempt not found: " + attemptId);
+        }
+        return attempt;
+    }
+
+    /**
+     * Merges changed answers into the attempt. Rejected once the attempt has
+     * been submitted or its deadline (plus grace) has passed.
+     */
+    public QuizAttempt saveAnswers(String attemptId, Map<Long, String> answers) {
+        QuizAttempt attempt = getAttempt(attemptId);
+        ensureOpen(attempt);
+        if (answers != null) {
+            attempt.saveAnswers(answers);
+            answerDraftBuffer.save(draftKey(attempt), toDraft(answers));
+        }
+        return attempt;
+    }
+
+    /**
+     * Submits the attempt with its saved answers plus any final changes. Time
+     * spent is measured on the server.
+     */
+    public QuizAttempt submit(String attemptId, Map<Long, String> finalAnswers) {
+        QuizAttempt attempt = getAttempt(attemptId);
+        ensureOpen(attempt);
+        if (finalAnswers != null) {
+            attempt.saveAnswers(finalAnswers);
+        }
+        if (!attempt.finish(QuizAttempt.State.SUBMITTED)) {
+            throw new BadRequestException("This attempt has already ended");
+        }
+        try {
+            persist(attempt);
+        } catch (RuntimeException e) {
+            attempt.reopen();
+            // The deadline may have fired while the submission was in flight and found nothing to do
+            wheel.schedule(attempt, closesAt(attempt).toEpochMilli());
+            throw e;
+        }
+        submittedCounter.increment();
+        answerDraftBuffer.discard(draftKey(attempt));
+        release(attempt);
+        return attempt;
+    }
+
+    void tick() {
+        try {
+            Instant now = Instant.now();
+            List<QuizAttempt> expired = new ArrayList<>();
+            for (QuizAttempt attempt : wheel.advance(now.toEpochMilli())) {
+                if (attempt.getState() == QuizAttempt.State.ACTIVE) {
+                    expired.add(attempt);
+                } else if (retentionOver(attempt, now)) {
+                    // Second firing: the retention period of a finished attempt is over
+                    attempts.remove(attempt.getAttemptId(), attempt);
+                }
+            }
+            for (int from = 0; from < expired.size(); from += autoSubmitBatchSize) {
+                List<QuizAttempt> batch = expired.subList(from, Math.min(from + autoSubmitBatchSize, expired.size()));
+                autoSubmitter.execute(() -> autoSubmit(batch));
+            }
+        } catch (RuntimeException e) {
+            // Never let an error cancel the periodic tick
+            logger.error("Error advancing quiz session timers: {}", e.getMessage());
+        }
+    }
+
+    private void autoSubmit(List<QuizAttempt> batch) {
+        List<QuizAttempt> claimed = new ArrayList<>(batch.size());
+        for (QuizAttempt attempt : batch) {
+            if (attempt.finish(QuizAttempt.State.EXPIRED)) {
+                claimed.add(attempt);
+            }
+        }
+        if (claimed.isEmpty()) {
+            return;
+        }
+        List<QuizAttempt> submitted = new ArrayList<>(claimed.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> claimed.forEach(this::persist));
+            submitted.addAll(claimed);
+        } catch (RuntimeException e) {
+            // One bad attempt must not lose the rest of the batch
+            logger.warn("Batch auto-submit of {} attempts failed ({}), retrying individually", claimed.size(), e.getMessage());
+            for (QuizAttempt attempt : claimed) {
+                try {
+                    persist(attempt);
+                    submitted.add(attempt);
+                } catch (RuntimeException single) {
+                    retryAutoSubmit(attempt, single);
+                }
+            }
+        }
+        autoSubmittedCounter.increment(submitted.size());
+        for (QuizAttempt attempt : submitted) {
+            answerDraftBuffer.discard(draftKey(attempt));
+            release(attempt);
+        }
+        logger.info("Auto-submitted {} expired quiz attempts", submitted.size());
+    }
+
+    // The draft is kept either way, so the answers survive even an attempt that is given up on
+    private void retryAutoSubmit(QuizAttempt attempt, RuntimeException failure) {
+        int failures = attempt.recordAutoSubmitFailure();
+        if (failures > autoSubmitMaxRetries) {
+            logger.error("Giving up auto-submitting attempt {} after {} failures: {}",
+                    attempt.getAttemptId(), failures, failure.getMessage());
+            release(attempt);
+            return;
+        }
+        logger.warn("Auto-submit of attempt {} failed ({}), retrying in {} s",
+                attempt.getAttemptId(), failure.getMessage(), autoSubmitRetrySeconds);
+        attempt.reopen();
+        wheel.schedule(attempt, Instant.now().plusSeconds(autoSubmitRetrySeconds).toEpochMilli());
+    }
+
+    private void persist(QuizAttempt attempt) {
+        Instant end = attempt.getFinishedAt().isBefore(attempt.getDeadline()) ? attempt.getFinishedAt() : attempt.getDeadline();
+        int timeSpent = (int) Math.max(0, Duration.between(attempt.getStartedAt(), end).getSeconds());
+        Score score = quizService.submitQuiz(attempt.getQuizId(), attempt.getStudentId(), attempt.getAnswers(), timeSpent);
+        attempt.recordScore(score.getId(), score.getScore());
+    }
+
+    // Finished attempts stay readable for the retention period, then the wheel fires again to drop them
+    private void release(QuizAttempt attempt) {
+        activeAttemptByStudent.remove(attempt.getQuizId() + ":" + attempt.getStudentId(), attempt.getAttemptId());
+        wheel.schedule(attempt, attempt.getFinishedAt().plus(Duration.ofMinutes(retentionMinutes)).toEpochMilli());
+    }
+
+    // A deadline firing for an attempt that was submitted early, or is being submitted right now, is not its release
+    private boolean retentionOver(QuizAttempt attempt, Instant now) {
+        Instant finishedAt = attempt.getFinishedAt();
+        return finishedAt != null && !finishedAt.plus(Duration.ofMinutes(retentionMinutes)).isAfter(now);
+    }
+
+    private void ensureOpen(QuizAttempt attempt) {
+        if (attempt.getState() != QuizAttempt.State.ACTIVE || Instant.now().isAfter(closesAt(attempt))) {
+            throw new BadRequestException("This attempt has ended");
+        }
+    }
+
+    private static DraftKey draftKey(QuizAttempt attempt) {
+        return DraftKey.quiz(attempt.getStudentId(), attempt.getQuizId());
+    }
+
+    // Drafts are keyed by string so quiz question IDs and assessment question keys share one store
+    private static Map<String, String> toDraft(Map<Long, String> answers) {
+        Map<String, String> draft = new HashMap<>();
+        answers.forEach((questionId, answer) -> {
+            if (questionId != null) {
+                draft.put(questionId.toString(), answer);
+            }
+        });
+        return draft;
+    }
+
+    private static Map<Long, String> fromDraft(Map<String, String> draft) {
+        Map<Long, String> answers = new HashMap<>();
+        draft.forEach((questionId, answer) -> {
+            try {
+                answers.put(Long.valueOf(questionId), answer);
+            } catch (NumberFormatException e) {
+                // Not a quiz question ID; nothing to restore
+            }
+        });
+        return answers;
+    }
+
+    private Instant closesAt(QuizAttempt attempt) {
+        return attempt.getDeadline().plusSeconds(graceSeconds);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.soa.session;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Hashed timing wheel: scheduling is O(1) and each tick only looks at the
+ * entries that hash to that tick, instead of every pending timer.
+ *
+ * Items fire at tick resolution, at most one tick after their deadline. Any
+ * thread may schedule; a single thread advances the wheel. Scheduling and
+ * advancing share a lock, so an entry can never land in a bucket the sweep has
+ * already passed (it would then wait a whole turn). Entries are never
+ * cancelled; callers ignore fired items that are no longer relevant.
+ */
+class TimerWheel<T> {
+
+    private static final class Entry<T> {
+        final T item;
+        final long deadlineMillis;
+
+        Entry(T item, long deadlineMillis) {
+            this.item = item;
+            this.deadlineMillis = deadlineMillis;
+        }
+    }
+
+    private final long tickMillis;
+    private final Queue<Entry<T>>[] buckets;
+    private long lastTick;
+
+    @SuppressWarnings("unchecked")
+    TimerWheel(int wheelSize, long tickMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.buckets = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.lastTick = startMillis / tickMillis;
+    }
+
+    synchronized void schedule(T item, long deadlineMillis) {
+        // Rounded up to the end of its tick, so an entry is never due before its bucket is visited;
+        // deadlines in a tick that was already processed fire on the next advance
+        long tick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), lastTick + 1);
+        buckets[(int) (tick % buckets.length)].add(new Entry<>(item, deadlineMillis));
+    }
+
+    /**
+     * Collects every item whose deadline is at or before {@code nowMillis},
+     * catching up on all ticks since the previous call.
+     */
+    synchronized List<T> advance(long nowMillis) {
+        List<T> due = new ArrayList<>();
+        long nowTick = nowMillis / tickMillis;
+        // After a long stall one full turn visits every bucket
+        long firstTick = Math.max(lastTick + 1, nowTick - buckets.length + 1);
+        lastTick = Math.max(lastTick, nowTick);
+        for (long tick = firstTick; tick <= nowTick; tick++) {
+            Iterator<Entry<T>> entries = buckets[(int) (tick % buckets.length)].iterator();
+            while (entries.hasNext()) {
+                Entry<T> entry = entries.next();
+                // Entries for later turns of the wheel stay in place
+                if (entry.deadlineMillis <= nowMillis) {
+                    due.add(entry.item);
+                    entries.remove();
+                }
+            }
+        }
+        return due;
+    }
+}
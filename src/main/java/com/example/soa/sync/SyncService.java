@@ -0,0 +1,287 @@
+package com.example.soa.sync;
+
+import com.example.soa.Dto.AssessmentDTO;
+import com.example.soa.Dto.SyncDTO;
+import com.example.soa.Model.Assessment;
+import com.example.soa.Model.Course;
+import com.example.soa.Model.Notification;
+import com.example.soa.Model.Tombstone;
+import com.example.soa.Model.User;
+import com.example.soa.Repository.AssessmentRepository;
+import com.example.soa.Repository.ContentRepository;
+import com.example.soa.Repository.CourseRepository;
+import com.example.soa.Repository.EnrollmentRepository;
+import com.example.soa.Repository.ModuleRepository;
+import com.example.soa.Repository.NotificationRepository;
+import com.example.soa.Repository.TombstoneRepository;
+import com.example.soa.exception.BadRequestException;
+import com.example.soa.mapper.ContentMapper;
+import com.example.soa.mapper.CourseMapper;
+import com.example.soa.mapper.ModuleMapper;
+import com.example.soa.security.UserPrincipal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delta sync for offline-capable clients: every course, module, content item,
+ * assessment and notification the caller can see that changed since their
+ * cursor, plus the IDs of the ones deleted since then.
+ *
+ * Changes are found through the (course_id, updated_at) indexes and
+ * deletions through the tombstone table, so an incremental call costs a
+ * handful of index range scans however large the courses are. A course that
+ * only just became visible (a new enrollment) is sent in full.
+ *
+ * The returned cursor trails the server clock by {@code app.sync.commit-lag-ms},
+ * so rows stamped inside a transaction that had not committed yet are picked
+ * up by the next call; rows may therefore be sent twice, never missed.
+ * A cursor older than the tombstone retention gets a full sync.
+ */
+@Service
+public class SyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyncService.class);
+
+    private final CourseRepository courseRepository;
+    private final ModuleRepository moduleRepository;
+    private final ContentRepository contentRepository;
+    private final AssessmentRepository assessmentRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final NotificationRepository notificationRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final CourseMapper courseMapper;
+    private final ContentMapper contentMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.sync.commit-lag-ms:5000}")
+    private long commitLagMs;
+
+    @Value("${app.sync.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
+
+    @Value("${app.sync.sweep-batch-size:1000}")
+    private int sweepBatchSize;
+
+    public SyncService(CourseRepository courseRepository,
+                       ModuleRepository moduleRepository,
+                       ContentRepository contentRepository,
+                       AssessmentRepository assessmentRepository,
+                       EnrollmentRepository enrollmentRepository,
+                       NotificationRepository notificationRepository,
+                       TombstoneRepository tombstoneRepository,
+                       CourseMapper courseMapper,
+                       ContentMapper contentMapper,
+                       TransactionTemplate transactionTemplate) {
+        this.courseRepository = courseRepository;
+        this.moduleRepository = moduleRepository;
+        this.contentRepository = contentRepository;
+        this.assessmentRepository = assessmentRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.notificationRepository = notificationRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.courseMapper = courseMapper;
+        this.contentMapper = contentMapper;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * @param cursor the cursor from the previous response, or null for a full sync
+     * @throws BadRequestException if the cursor is not one this service issued
+     */
+    @Transactional(readOnly = true)
+    public SyncDTO sync(UserPrincipal user, String cursor) {
+        Instant now = Instant.now();
+        Instant since = parseCursor(cursor);
+        boolean full = since == null || since.isBefore(now.minus(Duration.ofDays(tombstoneRetentionDays)));
+
+        SyncDTO result = new SyncDTO();
+        result.setFull(full);
+        result.setCursor(String.valueOf(now.minusMillis(commitLagMs).toEpochMilli()));
+
+        Set<Long> visible = new LinkedHashSet<>(visibleCourseIds(user));
+        Set<Long> fresh = new HashSet<>();
+        List<Course> changedCourses = new ArrayList<>();
+        if (full) {
+            fresh.addAll(visible);
+        } else if (!visible.isEmpty()) {
+            changedCourses.addAll(courseRepository.findByCourseIdInAndUpdatedAtGreaterThanEqualOrderByUpdatedAtAsc(visible, since));
+            if (user.getRole() == User.Role.STUDENT) {
+                fresh.addAll(enrollmentRepository.findCourseIdsEnrolledSince(user.getId(), since));
+            } else if (user.getRole() == User.Role.INSTRUCTOR) {
+                // Also covers a course that was just assigned to this instructor
+                changedCourses.forEach(course -> fresh.add(course.getCourseId()));
+            }
+            fresh.retainAll(visible);
+        }
+        Set<Long> incremental = new HashSet<>(visible);
+        incremental.removeAll(fresh);
+
+        Set<Long> changedIds = changedCourses.stream().map(Course::getCourseId).collect(Collectors.toSet());
+        List<Long> missing = fresh.stream().filter(id -> !changedIds.contains(id)).collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            changedCourses.addAll(courseRepository.findAllById(missing));
+        }
+        result.getCourses().setChanged(changedCourses.stream().map(courseMapper::toCourseDTO).collect(Collectors.toList()));
+
+        result.getModules().setChanged(load(fresh, incremental, since,
+                moduleRepository::findByCourse_CourseIdIn,
+                moduleRepository::findByCourse_CourseIdInAndUpdatedAtGreaterThanEqualOrderByUpdatedAtAsc,
+                ModuleMapper::toModuleDTO));
+        result.getContent().setChanged(load(fresh, incremental, since,
+                contentRepository::findByCourse_CourseIdIn,
+                contentRepository::findByCourse_CourseIdInAndUpdatedAtGreaterThanEqualOrderByUpdatedAtAsc,
+                contentMapper::toContentDTO));
+        result.getAssessments().setChanged(load(fresh, incremental, since,
+                assessmentRepository::findByCourse_CourseIdIn,
+                assessmentRepository::findByCourse_CourseIdInAndUpdatedAtGreaterThanEqualOrderByUpdatedAtAsc,
+                SyncService::toAssessmentSummary));
+
+        if (!full) {
+            addDeletions(result, user, visible, since);
+        }
+        addNotifications(result, user.getEmail(), full ? null : since);
+
+        logger.debug("Sync for user {} since {}: {} courses, {} modules, {} content, {} assessments, {} notifications",
+                user.getId(), since, result.getCourses().getChanged().size(), result.getModules().getChanged().size(),
+                result.getContent().getChanged().size(), result.getAssessments().getChanged().size(),
+                result.getNotifications().getChanged().size());
+        return result;
+    }
+
+    @Scheduled(initialDelayString = "${app.sync.sweep-initial-delay-ms:120000}",
+               fixedDelayString = "${app.sync.sweep-interval-ms:3600000}")
+    public void purgeTombstones() {
+        Instant cutoff = Instant.now().minus(Duration.ofDays(tombstoneRetentionDays));
+        int purged = 0;
+        try {
+            List<Long> ids;
+            do {
+                ids = tombstoneRepository.findExpiredIds(cutoff, PageRequest.of(0, sweepBatchSize));
+                if (!ids.isEmpty()) {
+                    List<Long> batch = ids;
+                    Integer deleted = transactionTemplate.execute(status -> tombstoneRepository.deleteByIds(batch));
+                    purged += deleted != null ? deleted : 0;
+                }
+            } while (ids.size() == sweepBatchSize);
+        } catch (RuntimeException e) {
+            // Whatever is left is picked up by the next run
+            logger.error("Purging tombstones failed: {}", e.getMessage());
+        }
+        if (purged > 0) {
+            logger.info("Purged {} tombstones older than {} days", purged, tombstoneRetentionDays);
+        }
+    }
+
+    private List<Long> visibleCourseIds(UserPrincipal user) {
+        return switch (user.getRole()) {
+            case ADMIN -> courseRepository.findAllIds();
+            case INSTRUCTOR -> courseRepository.findIdsByInstructorId(user.getId());
+            default -> enrollmentRepository.findCourseIdsByStudentId(user.getId());
+        };
+    }
+
+    // Rows of newly visible courses in full, of the others only those changed since the cursor
+    private <E, D> List<D> load(Collection<Long> fresh, Collection<Long> incremental, Instant since,
+                                Function<Collection<Long>, List<E>> all,
+                                BiFunction<Collection<Long>, Instant, List<E>> changedSince,
+                                Function<E, D> mapper) {
+        List<E> rows = new ArrayList<>();
+        if (!fresh.isEmpty()) {
+            rows.addAll(all.apply(fresh));
+        }
+        if (!incremental.isEmpty()) {
+            rows.addAll(changedSince.apply(incremental, since));
+        }
+        return rows.stream().map(mapper).collect(Collectors.toList());
+    }
+
+    private void addDeletions(SyncDTO result, UserPrincipal user, Set<Long> visible, Instant since) {
+        if (!visible.isEmpty()) {
+            for (Tombstone tombstone : tombstoneRepository.findByCourseIdInAndDeletedAtGreaterThanEqual(visible, since)) {
+                switch (tombstone.getEntityType()) {
+                    case MODULE -> result.getModules().getDeleted().add(tombstone.getEntityId());
+                    case CONTENT -> result.getContent().getDeleted().add(tombstone.getEntityId());
+                    case ASSESSMENT -> result.getAssessments().getDeleted().add(tombstone.getEntityId());
+                    default -> { }
+                }
+            }
+        }
+
+        // A deleted course, or one the student is no longer enrolled in; the client drops its rows too
+        List<Tombstone> courseTombstones = user.getRole() == User.Role.ADMIN
+                ? tombstoneRepository.findByEntityTypeAndDeletedAtGreaterThanEqual(Tombstone.EntityType.COURSE, since)
+                : tombstoneRepository.findByUserIdAndDeletedAtGreaterThanEqual(user.getId(), since);
+        Set<Long> goneCourses = new LinkedHashSet<>();
+        for (Tombstone tombstone : courseTombstones) {
+            if (tombstone.getEntityType() == Tombstone.EntityType.COURSE
+                    || tombstone.getEntityType() == Tombstone.EntityType.ENROLLMENT) {
+                goneCourses.add(tombstone.getCourseId());
+            }
+        }
+        goneCourses.removeAll(visible);
+        goneCourses.remove(null);
+        result.getCourses().getDeleted().addAll(goneCourses);
+
+        for (Tombstone tombstone : tombstoneRepository.findByRecipientEmailAndDeletedAtGreaterThanEqual(user.getEmail(), since)) {
+            result.getNotifications().getDeleted().add(tombstone.getEntityId());
+        }
+    }
+
+    // Notifications are soft-deleted first, so a DELETED status counts as a deletion
+    private void addNotifications(SyncDTO result, String email, Instant since) {
+        List<Notification> rows = since == null
+                ? notificationRepository.findByRecipientEmailOrderByCreatedAtDesc(email)
+                : notificationRepository.findByRecipientEmailAndUpdatedAtGreaterThanEqualOrderByUpdatedAtAsc(email, since);
+        for (Notification notification : rows) {
+            if (notification.getStatus() == Notification.NotificationStatus.DELETED) {
+                if (since != null) {
+                    result.getNotifications().getDeleted().add(notification.getNotificationId());
+                }
+            } else {
+                result.getNotifications().getChanged().add(notification);
+            }
+        }
+    }
+
+    private static Instant parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Instant.ofEpochMilli(Long.parseLong(cursor.trim()));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid sync cursor: " + cursor);
+        }
+    }
+
+    // Submissions and answer keys are not for every viewer and are fetched on demand
+    private static AssessmentDTO toAssessmentSummary(Assessment assessment) {
+        AssessmentDTO dto = new AssessmentDTO();
+        dto.setAssessmentId(assessment.getAssessmentId());
+        dto.setCourseId(assessment.getCourse().getCourseId());
+        dto.setTitle(assessment.getTitle());
+        dto.setType(assessment.getType() != null ? assessment.getType().name() : null);
+        dto.setTotalMarks(assessment.getTotalMarks());
+        dto.setQuestionVersion(assessment.getQuestionVersion());
+        return dto;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.soa.sync;
+
+import com.example.soa.Model.Assessment;
+import com.example.soa.Model.Content;
+import com.example.soa.Model.Course;
+import com.example.soa.Model.Enrollment;
+import com.example.soa.Model.Module;
+import com.example.soa.Model.Notification;
+import com.example.soa.Model.Tombstone;
+
+import jakarta.persistence.PostRemove;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Calendar;
+import java.util.TimeZone;
+
+/**
+ * Writes a tombstone row for every synced entity that Hibernate deletes,
+ * including the children removed by cascades from a course. The insert runs
+ * on the connection of the deleting transaction, so a rolled-back delete
+ * leaves no tombstone behind.
+ *
+ * Instantiated by Hibernate through Spring's bean container, which supplies
+ * the constructor arguments. Bulk JPQL deletes bypass entity callbacks and
+ * are not recorded.
+ */
+public class TombstoneListener {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO tombstone (entity_type, entity_id, course_id, user_id, recipient_email, deleted_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TombstoneListener(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof Course course) {
+            Long instructorId = course.getInstructor() != null ? course.getInstructor().getUserId() : null;
+            record(Tombstone.EntityType.COURSE, course.getCourseId(), course.getCourseId(), instructorId, null);
+        } else if (entity instanceof Module module) {
+            record(Tombstone.EntityType.MODULE, module.getModuleId(), courseId(module.getCourse()), null, null);
+        } else if (entity instanceof Content content) {
+            record(Tombstone.EntityType.CONTENT, content.getContentId(), courseId(content.getCourse()), null, null);
+        } else if (entity instanceof Assessment assessment) {
+            record(Tombstone.EntityType.ASSESSMENT, assessment.getAssessmentId(),
+                    courseId(assessment.getCourse()), null, null);
+        } else if (entity instanceof Enrollment enrollment) {
+            Long studentId = enrollment.getStudent() != null ? enrollment.getStudent().getUserId() : null;
+            record(Tombstone.EntityType.ENROLLMENT, enrollment.getEnrollmentId(),
+                    courseId(enrollment.getCourse()), studentId, null);
+        } else if (entity instanceof Notification notification) {
+            record(Tombstone.EntityType.NOTIFICATION, notification.getNotificationId(), null, null,
+                    notification.getRecipientEmail());
+        }
+    }
+
+    // Reading the id of a lazy proxy does not initialize it
+    private static Long courseId(Course course) {
+        return course != null ? course.getCourseId() : null;
+    }
+
+    private void record(Tombstone.EntityType type, Long entityId, Long courseId, Long userId, String recipientEmail) {
+        jdbcTemplate.update(INSERT_SQL, ps -> {
+            ps.setString(1, type.name());
+            ps.setLong(2, entityId);
+            setNullableLong(ps, 3, courseId);
+            setNullableLong(ps, 4, userId);
+            ps.setString(5, recipientEmail);
+            ps.setTimestamp(6, Timestamp.from(Instant.now()), Calendar.getInstance(UTC));
+        });
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.soa.util;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.poi.sl.extractor.SlideShowExtractor;
+import org.apache.poi.xslf.usermodel.XMLSlideShow;
+import org.apache.poi.xslf.usermodel.XSLFShape;
+import org.apache.poi.xslf.usermodel.XSLFTextParagraph;
+import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Pulls plain text out of uploaded PDF, DOCX and PPTX files and splits it into
+ * search-sized chunks.
+ */
+@Component
+public class DocumentTextExtractor {
+
+    public enum DocumentFormat {
+        PDF, DOCX, PPTX
+    }
+
+    /**
+     * Detects the document format from the original file name, falling back to
+     * the MIME type reported at upload time.
+     *
+     * @return the format, or null if the file cannot be extracted
+     */
+    public DocumentFormat detectFormat(String fileName, String mimeType) {
+        String name = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+        String mime = mimeType != null ? mimeType.toLowerCase(Locale.ROOT) : "";
+        if (name.endsWith(".pdf") || mime.equals("application/pdf")) {
+            return DocumentFormat.PDF;
+        }
+        if (name.endsWith(".docx") || mime.contains("wordprocessingml")) {
+            return DocumentFormat.DOCX;
+        }
+        if (name.endsWith(".pptx") || mime.contains("presentationml")) {
+            return DocumentFormat.PPTX;
+        }
+        return null;
+    }
+
+    public String extract(Path path, DocumentFormat format) throws IOException {
+        switch (format) {
+            case PDF:
+                try (PDDocument document = Loader.loadPDF(path.toFile())) {
+                    return new PDFTextStripper().getText(document);
+                }
+            case DOCX:
+                try (InputStream in = Files.newInputStream(path);
+                     XWPFDocument document = new XWPFDocument(in);
+                     XWPFWordExtractor extractor = new XWPFWordExtractor(document)) {
+                    return extractor.getText();
+                }
+            case PPTX:
+                try (InputStream in = Files.newInputStream(path);
+                     XMLSlideShow slideShow = new XMLSlideShow(in);
+                     SlideShowExtractor<XSLFShape, XSLFTextParagraph> extractor = new SlideShowExtractor<>(slideShow)) {
+                    return extractor.getText();
+                }
+            default:
+                throw new IllegalArgumentException("Unsupported document format: " + format);
+        }
+    }
+
+    /**
+     * Collapses whitespace and splits the text into chunks of at most
+     * {@code chunkSize} characters, preferring to break between words.
+     */
+    public List<String> chunk(String text, int chunkSize) {
+        List<String> chunks = new ArrayList<>();
+        if (text == null) {
+            return chunks;
+        }
+        String normalized = text.replaceAll("\\s+", " ").trim();
+        int start = 0;
+        while (start < normalized.length()) {
+            int end = Math.min(start + chunkSize, normalized.length());
+            if (end < normalized.length()) {
+                int lastSpace = normalized.lastIndexOf(' ', end);
+                if (lastSpace > start + chunkSize / 2) {
+                    end = lastSpace;
+                }
+            }
+            String chunk = normalized.substring(start, end).trim();
+            if (!chunk.isEmpty()) {
+                chunks.add(chunk);
+            }
+            start = end;
+        }
+        return chunks;
+    }
+}
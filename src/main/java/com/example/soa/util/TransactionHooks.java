@@ -0,0 +1,29 @@
+package com.example.soa.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory side effects (cache evictions, index updates) until the
+ * surrounding transaction has committed, so other threads never observe state
+ * the database does not have yet. Without an active transaction the action
+ * runs immediately.
+ */
+public final class TransactionHooks {
+
+    private TransactionHooks() {
+    }
+
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
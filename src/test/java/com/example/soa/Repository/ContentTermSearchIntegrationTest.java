@@ -0,0 +1,60 @@
+package com.example.soa.Repository;
+
+import com.example.soa.Model.ContentTerm;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class ContentTermSearchIntegrationTest {
+
+    private static final List<Long> ANY = List.of(-1L);
+
+    @Autowired
+    private ContentTermRepository termRepository;
+
+    @BeforeEach
+    void index() {
+        // Chunk 1 (course 1): "binary search trees"; chunk 2 (course 2): "binary heaps"; chunk 3 (course 2): "abc"
+        termRepository.saveAll(List.of(
+                new ContentTerm("binary", 1L, 10L, 1L),
+                new ContentTerm("search", 1L, 10L, 1L),
+                new ContentTerm("trees", 1L, 10L, 1L),
+                new ContentTerm("binary", 2L, 20L, 2L),
+                new ContentTerm("heaps", 2L, 20L, 2L),
+                new ContentTerm("abc", 3L, 30L, 2L)));
+    }
+
+    @Test
+    void onlyChunksOfTheGivenCoursesCountTowardsTheLimit() {
+        assertEquals(List.of(2L), termRepository.findChunkIdsByPrefix(
+                "bin%", false, List.of(2L), PageRequest.of(0, 1)));
+        assertEquals(List.of(1L, 2L), termRepository.findChunkIdsByPrefix(
+                "bin%", true, ANY, PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void everyWordMustMatchAndTheLastIsAPrefix() {
+        assertEquals(List.of(1L), termRepository.findChunkIdsByWordsAndPrefix(
+                List.of("binary"), 1, "tre%", true, ANY, PageRequest.of(0, 10)));
+        assertTrue(termRepository.findChunkIdsByWordsAndPrefix(
+                List.of("binary"), 1, "hash%", true, ANY, PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void escapedWildcardsMatchLiterally() {
+        assertTrue(termRepository.findChunkIdsByPrefix("a\\_c%", true, ANY, PageRequest.of(0, 10)).isEmpty());
+        assertEquals(List.of(3L), termRepository.findChunkIdsByPrefix("a_c%", true, ANY, PageRequest.of(0, 10)));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.soa.Repository;
+
+import com.example.soa.Model.Course;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Each repository call commits on its own, so the two copies of a course
+ * below behave like two requests that read it before either saved.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EntityVersioningIntegrationTest {
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Test
+    void theSecondOfTwoConcurrentEditsIsRejected() {
+        Long courseId = courseRepository.save(new Course("Compilers")).getCourseId();
+        Course first = courseRepository.findById(courseId).orElseThrow();
+        Course second = courseRepository.findById(courseId).orElseThrow();
+
+        first.setTitle("Compilers I");
+        Course saved = courseRepository.save(first);
+        assertEquals(first.getVersion() + 1, saved.getVersion());
+
+        second.setTitle("Compiler Construction");
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> courseRepository.save(second));
+        assertEquals("Compilers I", courseRepository.findById(courseId).orElseThrow().getTitle());
+    }
+
+    @Test
+    void changedSinceReturnsOnlyRowsTouchedAfterTheCursor() throws InterruptedException {
+        Course untouched = courseRepository.save(new Course("Algorithms"));
+        Course edited = courseRepository.save(new Course("Databases"));
+        assertNotNull(untouched.getUpdatedAt());
+        Thread.sleep(5);
+        Instant cursor = Instant.now();
+
+        edited.setTitle("Databases II");
+        courseRepository.save(edited);
+
+        List<Course> changed = courseRepository.findByUpdatedAtGreaterThanEqualOrderByUpdatedAtAsc(cursor);
+        assertTrue(changed.stream().anyMatch(c -> c.getCourseId().equals(edited.getCourseId())));
+        assertTrue(changed.stream().noneMatch(c -> c.getCourseId().equals(untouched.getCourseId())));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.soa.Repository;
+
+import com.example.soa.Model.Course;
+import com.example.soa.Model.Profile;
+import com.example.soa.Model.User;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Every repository call runs in its own transaction (as it would across
+ * requests), so repeated reads can only be answered without SQL by the
+ * second-level and query caches.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheIntegrationTest {
+
+    private static final int REPEATED_READS = 5;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @Test
+    void repeatedCourseReadsAreServedFromSecondLevelCache() {
+        Long courseId = courseRepository.save(new Course("Distributed Systems")).getCourseId();
+        entityManagerFactory.getCache().evictAll();
+
+        courseRepository.findById(courseId);
+        long statementsAfterFirstRead = statistics.getPrepareStatementCount();
+
+        for (int i = 0; i < REPEATED_READS; i++) {
+            courseRepository.findById(courseId);
+        }
+
+        assertEquals(statementsAfterFirstRead, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getDomainDataRegionStatistics("courses").getHitCount() >= REPEATED_READS);
+    }
+
+    @Test
+    void repeatedLookupsByEmailAreServedFromQueryCache() {
+        // Registered users always carry a profile, which the user mapping resolves on every load
+        User user = new User("Ada", "ada@example.com", "secret", User.Role.STUDENT);
+        Profile profile = new Profile();
+        profile.setUser(user);
+        user.setProfile(profile);
+        userRepository.save(user);
+
+        userRepository.findByEmail("ada@example.com");
+        long statementsAfterFirstRead = statistics.getPrepareStatementCount();
+
+        for (int i = 0; i < REPEATED_READS; i++) {
+            userRepository.findByEmail("ada@example.com");
+        }
+
+        assertEquals(statementsAfterFirstRead, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getQueryCacheHitCount() >= REPEATED_READS);
+    }
+}
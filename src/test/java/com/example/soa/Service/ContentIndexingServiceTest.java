@@ -0,0 +1,100 @@
+package com.example.soa.Service;
+
+import com.example.soa.Model.Content;
+import com.example.soa.Model.ContentTextChunk;
+import com.example.soa.Repository.ContentRepository;
+import com.example.soa.util.DocumentTextExtractor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Indexing runs on the worker pool outside any request, so each test commits
+ * for real and reads the outcome back from the database.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({ContentIndexingService.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ContentIndexingServiceTest {
+
+    @Autowired
+    private ContentIndexingService indexingService;
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private DocumentTextExtractor textExtractor;
+
+    @TempDir
+    private Path uploads;
+
+    @Test
+    void failedReindexKeepsThePreviousIndex() throws Exception {
+        Path file = Files.writeString(uploads.resolve("notes.pdf"), "placeholder");
+        Content content = new Content();
+        content.setFileName("notes.pdf");
+        content.setFileUrl(file.toString());
+        content.setIndexStatus(Content.IndexStatus.PENDING);
+        Long contentId = contentRepository.save(content).getContentId();
+
+        when(textExtractor.detectFormat(any(), any())).thenReturn(DocumentTextExtractor.DocumentFormat.PDF);
+        when(textExtractor.extract(any(), any())).thenReturn("routing tables");
+        when(textExtractor.chunk(anyString(), anyInt())).thenAnswer(invocation -> List.of(invocation.<String>getArgument(0)));
+        ReflectionTestUtils.invokeMethod(indexingService, "indexContent", contentId);
+        assertEquals(List.of("routing tables"), chunkTexts("rout"));
+
+        // The new chunks are written, then the term insert fails
+        when(textExtractor.extract(any(), any())).thenReturn("switching fabrics");
+        JdbcTemplate failing = new JdbcTemplate(jdbcTemplate.getDataSource()) {
+            @Override
+            public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                           ParameterizedPreparedStatementSetter<T> setter) {
+                throw new DataAccessResourceFailureException("connection lost");
+            }
+        };
+        ReflectionTestUtils.setField(indexingService, "jdbcTemplate", failing);
+        try {
+            ReflectionTestUtils.invokeMethod(indexingService, "indexContent", contentId);
+        } finally {
+            ReflectionTestUtils.setField(indexingService, "jdbcTemplate", jdbcTemplate);
+        }
+
+        assertEquals(Content.IndexStatus.FAILED, contentRepository.findById(contentId).orElseThrow().getIndexStatus());
+        assertEquals(List.of("routing tables"), chunkTexts("rout"));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM content_text_chunks WHERE content_id = ?", Integer.class, contentId));
+    }
+
+    private List<String> chunkTexts(String query) {
+        return indexingService.search(query, null, 10).stream().map(ContentTextChunk::getText).toList();
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.soa.Service;
+
+import com.example.soa.Model.User;
+import com.example.soa.Repository.UserRepository;
+import com.example.soa.SoaApplication;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end logins: HTTP POST /api/auth/login against the whole application
+ * running on an embedded H2 database in MySQL mode, from several client
+ * threads. Throughput gives logins/sec; the sample-time run reports the
+ * latency percentiles, p0.99 among them.
+ *
+ * BCrypt dominates at production cost, so the cost is a parameter; cost 4
+ * shows what the rest of the path costs. H2 emulates the refresh-token
+ * upsert less efficiently than MySQL runs it, so absolute numbers understate
+ * a real deployment. The rate limiter is opened up for the run.
+ *
+ * Not part of the test suite; run from the IDE or with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.soa.Service.LoginBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(8)
+@Fork(1)
+public class LoginBenchmark {
+
+    private static final String PASSWORD = "Benchmark-Password-1";
+
+    @Param({"4", "10"})
+    private int bcryptCost;
+
+    @Param({"500"})
+    private int userCount;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI loginUri;
+    private List<String> bodies;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Command-line arguments, so they win over application.properties
+        context = new SpringApplicationBuilder(SoaApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.com.example.soa=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.datasource.url=jdbc:h2:mem:login-bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--app.password.bcrypt-cost=" + bcryptCost,
+                        "--app.rate-limit.ip.capacity=1000000000",
+                        "--app.rate-limit.ip.refill-per-minute=1000000000",
+                        "--app.rate-limit.login.capacity=1000000000",
+                        "--app.rate-limit.login.refill-per-minute=1000000000");
+
+        PasswordEncoder encoder = context.getBean(PasswordEncoder.class);
+        String hash = encoder.encode(PASSWORD);
+        List<User> users = new ArrayList<>(userCount);
+        bodies = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            String email = "bench" + i + "@example.com";
+            users.add(new User("Bench User " + i, email, hash, User.Role.STUDENT));
+            bodies.add("{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}");
+        }
+        context.getBean(UserRepository.class).saveAll(users);
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        loginUri = URI.create("http://localhost:" + port + "/api/auth/login");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int login() throws IOException, InterruptedException {
+        String body = bodies.get(ThreadLocalRandom.current().nextInt(bodies.size()));
+        HttpRequest request = HttpRequest.newBuilder(loginUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with " + response.statusCode() + ": " + response.body());
+        }
+        return response.body().length();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LoginBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.soa.Service;
+
+import com.example.soa.Model.User;
+import com.example.soa.exception.ServiceUnavailableException;
+import com.example.soa.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordVerificationServiceTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordVerificationService service;
+
+    @BeforeEach
+    void setUp() {
+        UserService userService = mock(UserService.class);
+        // Stands in for a slow BCrypt check
+        when(userService.validatePassword(any(), anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return true;
+        });
+        service = new PasswordVerificationService();
+        ReflectionTestUtils.setField(service, "userService", userService);
+        ReflectionTestUtils.setField(service, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(service, "workers", 1);
+        ReflectionTestUtils.setField(service, "queueCapacity", 1);
+        ReflectionTestUtils.setField(service, "timeoutMs", 5000L);
+        ReflectionTestUtils.setField(service, "retryAfterSeconds", 2);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void rejectsAtOnceWhenTheQueueIsFull() throws Exception {
+        User user = new User();
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> service.verify(user, "a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> service.verify(user, "b"));
+        while (meterRegistry.get("auth.password.verify.queue.size").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+
+        TooManyRequestsException rejected = assertThrows(TooManyRequestsException.class,
+                () -> service.verify(user, "c"));
+        assertEquals(2, rejected.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("auth.password.verify.rejected").tag("reason", "queue_full")
+                .counter().count());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void givesUpOnChecksThatTakeTooLong() throws Exception {
+        ReflectionTestUtils.setField(service, "timeoutMs", 50L);
+        assertThrows(ServiceUnavailableException.class, () -> service.verify(new User(), "a"));
+        assertEquals(1.0, meterRegistry.get("auth.password.verify.rejected").tag("reason", "timeout")
+                .counter().count());
+    }
+}
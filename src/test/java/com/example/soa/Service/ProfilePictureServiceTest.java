@@ -0,0 +1,105 @@
+package com.example.soa.Service;
+
+import com.example.soa.exception.BadRequestException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProfilePictureServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private final UserService userService = mock(UserService.class);
+    private ProfilePictureService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        service = new ProfilePictureService();
+        ReflectionTestUtils.setField(service, "userService", userService);
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "directory", directory.toString());
+        ReflectionTestUtils.setField(service, "sizes", new int[] {512, 48, 128});
+        ReflectionTestUtils.setField(service, "defaultSize", 128);
+        ReflectionTestUtils.setField(service, "jpegQuality", 0.8f);
+        ReflectionTestUtils.setField(service, "maxPixels", 4_000_000L);
+        ReflectionTestUtils.setField(service, "workers", 1);
+        ReflectionTestUtils.setField(service, "queueCapacity", 2);
+        ReflectionTestUtils.setField(service, "timeoutMs", 10_000L);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void writesSquareVariantsAndReplacesThePreviousOnes() throws IOException {
+        Files.write(directory.resolve("00000000-0000-0000-0000-000000000000-48.jpg"), new byte[] {1});
+        when(userService.replaceProfilePicture(eq(7L), anyString()))
+                .thenReturn(ProfilePictureService.URL_PREFIX + "00000000-0000-0000-0000-000000000000-128.jpg");
+
+        ProfilePictureService.Upload upload = service.upload(7L, png(800, 600));
+
+        assertTrue(upload.isReady());
+        assertEquals(3, upload.getUrls().size());
+        verify(userService).replaceProfilePicture(7L, upload.getUrls().get(128));
+        for (int size : new int[] {48, 128, 512}) {
+            String url = upload.getUrls().get(size);
+            BufferedImage variant = ImageIO.read(directory.resolve(url.substring(ProfilePictureService.URL_PREFIX.length())).toFile());
+            assertEquals(size, variant.getWidth());
+            assertEquals(size, variant.getHeight());
+        }
+        assertFalse(Files.exists(directory.resolve("00000000-0000-0000-0000-000000000000-48.jpg")));
+    }
+
+    @Test
+    void rejectsWhatIsNotAnImage() {
+        assertThrows(BadRequestException.class, () -> service.upload(7L, "not an image".getBytes()));
+    }
+
+    @Test
+    void reportsWriteFailuresAsIoErrors() throws IOException {
+        Files.delete(directory);
+
+        assertThrows(UncheckedIOException.class, () -> service.upload(7L, png(64, 64)));
+    }
+
+    @Test
+    void mapsStoredUrlsToTheNearestLargerVariant() {
+        String stored = ProfilePictureService.URL_PREFIX + "0f8fad5b-d9cb-469f-a165-70867728950e-128.jpg";
+        assertEquals(ProfilePictureService.URL_PREFIX + "0f8fad5b-d9cb-469f-a165-70867728950e-48.jpg", service.variantUrl(stored, 40));
+        assertEquals(ProfilePictureService.URL_PREFIX + "0f8fad5b-d9cb-469f-a165-70867728950e-512.jpg", service.variantUrl(stored, 200));
+        assertEquals(ProfilePictureService.URL_PREFIX + "0f8fad5b-d9cb-469f-a165-70867728950e-512.jpg", service.variantUrl(stored, 2000));
+        assertEquals("/uploads/profile-pictures/legacy.png", service.variantUrl("/uploads/profile-pictures/legacy.png", 48));
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.soa.Service;
+
+import com.example.soa.Dto.ItemAnalysisDTO;
+import com.example.soa.Dto.QuizStatisticsDTO;
+import com.example.soa.Model.Question;
+import com.example.soa.Model.Quiz;
+import com.example.soa.Model.QuizStatistics;
+import com.example.soa.Model.Score;
+import com.example.soa.Repository.QuizStatisticsRepository;
+import com.example.soa.Repository.ScoreRepository;
+import com.example.soa.analysis.ItemAnalysisService;
+import com.example.soa.analysis.ItemResponseRecorder;
+import com.example.soa.grading.GradingEngine;
+import com.example.soa.leaderboard.LeaderboardService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Submissions run in their own transactions, as they do in production, and the
+ * incrementally maintained statistics are compared with a recompute from the
+ * scores table.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({QuizService.class, QuizStatisticsService.class, GradingEngine.class, LeaderboardService.class,
+    ItemResponseRecorder.class, ItemAnalysisService.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QuizStatisticsIntegrationTest {
+
+    private static final int SUBMISSIONS = 60;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private QuizStatisticsService statisticsService;
+
+    @Autowired
+    private QuizStatisticsRepository statisticsRepository;
+
+    @Autowired
+    private ScoreRepository scoreRepository;
+
+    @Autowired
+    private ItemAnalysisService itemAnalysisService;
+
+    @Test
+    void incrementalStatisticsMatchFullRecompute() {
+        Quiz quiz = new Quiz();
+        quiz.setTitle("Networking basics");
+        quiz.getQuestions().add(question(quiz, "TCP", 1));
+        quiz.getQuestions().add(question(quiz, "UDP", 2));
+        quiz.getQuestions().add(question(quiz, "ICMP", 3));
+        quiz = quizService.createQuiz(quiz);
+        List<Question> questions = quiz.getQuestions();
+
+        Random random = new Random(42);
+        Map<Long, Long> expectedCorrect = new HashMap<>();
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            Map<Long, String> answers = new HashMap<>();
+            for (Question question : questions) {
+                boolean correct = random.nextBoolean();
+                answers.put(question.getId(), correct ? " " + question.getCorrectAnswer().toLowerCase() : "wrong");
+                if (correct) {
+                    expectedCorrect.merge(question.getId(), 1L, Long::sum);
+                }
+            }
+            quizService.submitQuiz(quiz.getId(), "student-" + i, answers, 60);
+        }
+
+        QuizStatistics maintained = statisticsRepository.findById(quiz.getId()).orElseThrow();
+        QuizStatistics recomputed = statisticsService.recompute(quiz.getId());
+
+        assertEquals(SUBMISSIONS, maintained.getSubmissionCount());
+        assertEquals(recomputed.getSubmissionCount(), maintained.getSubmissionCount());
+        assertEquals(recomputed.getScoreSum(), maintained.getScoreSum());
+        assertEquals(recomputed.getScoreSumOfSquares(), maintained.getScoreSumOfSquares());
+        assertEquals(recomputed.getMaxScore(), maintained.getMaxScore());
+        assertEquals(recomputed.getHistogram(), maintained.getHistogram());
+        assertEquals(expectedCorrect, maintained.getQuestionCorrectCounts());
+    }
+
+    @Test
+    void correctRatesIgnoreSubmissionsSeededFromScores() {
+        Quiz quiz = new Quiz();
+        quiz.setTitle("Routing");
+        quiz.getQuestions().add(question(quiz, "OSPF", 1));
+        quiz = quizService.createQuiz(quiz);
+        Long questionId = quiz.getQuestions().get(0).getId();
+
+        // Scored before statistics existed: seeded without its answers
+        Score legacy = new Score();
+        legacy.setQuiz(quiz);
+        legacy.setStudentId("legacy");
+        legacy.setScore(1);
+        legacy.setTotalPossibleScore(1);
+        legacy.setSubmissionTime(LocalDateTime.now());
+        legacy.setTimeSpentInSeconds(60);
+        scoreRepository.save(legacy);
+
+        quizService.submitQuiz(quiz.getId(), "student-1", Map.of(questionId, "ospf"), 60);
+        quizService.submitQuiz(quiz.getId(), "student-2", Map.of(questionId, "rip"), 60);
+
+        QuizStatisticsDTO statistics = statisticsService.getStatistics(quiz.getId());
+        assertEquals(3, statistics.getSubmissionCount());
+        assertEquals(0.5, statistics.getQuestionCorrectRates().get(questionId), 1e-9);
+    }
+
+    @Test
+    void concurrentFirstSubmissionsSeedTheRowOnce() throws Exception {
+        Quiz quiz = new Quiz();
+        quiz.setTitle("Switching");
+        quiz.getQuestions().add(question(quiz, "VLAN", 1));
+        quiz = quizService.createQuiz(quiz);
+        Long quizId = quiz.getId();
+        Long questionId = quiz.getQuestions().get(0).getId();
+
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> submissions = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            String studentId = "student-" + i;
+            submissions.add(pool.submit(() -> {
+                start.await();
+                return quizService.submitQuiz(quizId, studentId, Map.of(questionId, "vlan"), 60);
+            }));
+        }
+        start.countDown();
+        for (Future<?> submission : submissions) {
+            submission.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        // A seeder that lost the race must not overwrite the row it found missing
+        QuizStatisticsService target = AopTestUtils.getTargetObject(statisticsService);
+        ReflectionTestUtils.invokeMethod(target, "seed", quizId);
+
+        QuizStatistics statistics = statisticsRepository.findById(quizId).orElseThrow();
+        assertEquals(threads, statistics.getSubmissionCount());
+        assertEquals(threads, statistics.getQuestionSubmissionCount());
+        assertEquals(Map.of(questionId, (long) threads), statistics.getQuestionCorrectCounts());
+    }
+
+    @Test
+    void itemAnalysisMatchesRecordedAnswers() throws InterruptedException {
+        Quiz quiz = new Quiz();
+        quiz.setTitle("Transport layer");
+        Question choice = question(quiz, "TCP", 2);
+        choice.setType(Question.QuestionType.MULTIPLE_CHOICE);
+        choice.setOptions(new ArrayList<>(List.of("TCP", "UDP", "ICMP")));
+        quiz.getQuestions().add(choice);
+        quiz.getQuestions().add(question(quiz, "UDP", 1));
+        quiz = quizService.createQuiz(quiz);
+        Long choiceId = quiz.getQuestions().get(0).getId();
+        Long shortId = quiz.getQuestions().get(1).getId();
+
+        Random random = new Random(7);
+        String[] picks = {"TCP", "tcp ", "UDP", "ICMP", null};
+        Map<String, Long> expectedOptions = new HashMap<>();
+        List<double[]> attempts = new ArrayList<>();
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            String pick = picks[random.nextInt(picks.length)];
+            boolean shortCorrect = random.nextInt(3) > 0;
+            Map<Long, String> answers = new HashMap<>();
+            if (pick != null) {
+                answers.put(choiceId, pick);
+                expectedOptions.merge(pick.trim().toUpperCase(), 1L, Long::sum);
+            }
+            answers.put(shortId, shortCorrect ? "udp" : "tcp");
+            quizService.submitQuiz(quiz.getId(), "student-" + i, answers, 60);
+            // Correct on the choice question, and the rest score (the other question's points)
+            attempts.add(new double[]{pick != null && pick.trim().equalsIgnoreCase("TCP") ? 1 : 0, shortCorrect ? 1 : 0});
+        }
+
+        ItemAnalysisDTO analysis = itemAnalysisService.getAnalysis(quiz.getId());
+        for (int wait = 0; analysis.getStatus() != ItemAnalysisDTO.Status.READY && wait < 100; wait++) {
+            Thread.sleep(100);
+            analysis = itemAnalysisService.getAnalysis(quiz.getId());
+        }
+        assertEquals(ItemAnalysisDTO.Status.READY, analysis.getStatus());
+        assertEquals(SUBMISSIONS, analysis.getAttemptCount());
+
+        ItemAnalysisDTO.ItemDTO item = analysis.getItems().stream()
+            .filter(candidate -> candidate.getQuestionId().equals(choiceId)).findFirst().orElseThrow();
+        double correct = attempts.stream().mapToDouble(a -> a[0]).sum();
+        assertEquals(correct / SUBMISSIONS, item.getDifficulty(), 1e-9);
+        assertEquals(SUBMISSIONS - expectedOptions.values().stream().mapToLong(Long::longValue).sum(), item.getOmitted());
+        for (ItemAnalysisDTO.OptionDTO option : item.getOptions()) {
+            assertEquals(expectedOptions.getOrDefault(option.getOption(), 0L), option.getCount());
+            assertEquals(option.getOption().equals("TCP"), option.isCorrect());
+        }
+        assertEquals(pointBiserial(attempts), item.getDiscrimination(), 1e-9);
+    }
+
+    private static double pointBiserial(List<double[]> attempts) {
+        int n = attempts.size();
+        double p = attempts.stream().mapToDouble(a -> a[0]).sum() / n;
+        double mean = attempts.stream().mapToDouble(a -> a[1]).average().orElseThrow();
+        double sd = Math.sqrt(attempts.stream().mapToDouble(a -> (a[1] - mean) * (a[1] - mean)).sum() / n);
+        double correctMean = attempts.stream().filter(a -> a[0] == 1).mapToDouble(a -> a[1]).average().orElseThrow();
+        double incorrectMean = attempts.stream().filter(a -> a[0] == 0).mapToDouble(a -> a[1]).average().orElseThrow();
+        return (correctMean - incorrectMean) / sd * Math.sqrt(p * (1 - p));
+    }
+
+    private static Question question(Quiz quiz, String correctAnswer, int points) {
+        Question question = new Question();
+        question.setQuestionText("Which protocol is " + correctAnswer + "?");
+        question.setType(Question.QuestionType.SHORT_ANSWER);
+        question.setCorrectAnswer(correctAnswer);
+        question.setPoints(points);
+        question.setQuiz(quiz);
+        return question;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.soa.Service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logins per second spent on storing the refresh token: the single upsert of
+ * {@link RefreshTokenService} against the previous sequence of two user
+ * lookups, a select and per-row delete of the old token, and an insert of a
+ * UUID string into a varchar column.
+ *
+ * Runs on an embedded H2 database in MySQL mode, so absolute numbers are only
+ * useful for comparing the two. H2 emulates {@code ON DUPLICATE KEY UPDATE} by
+ * catching a duplicate-key error internally, which says nothing about MySQL,
+ * so the rotation here uses H2's native single-statement equivalent,
+ * {@code MERGE ... KEY (user_id)}. Not part of the test suite; run from the IDE
+ * or with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.soa.Service.RefreshTokenRotationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RefreshTokenRotationBenchmark {
+
+    @Param({"1000", "100000"})
+    private int userCount;
+
+    private Connection connection;
+    private PreparedStatement findUser;
+    private PreparedStatement findLegacyTokens;
+    private PreparedStatement deleteLegacyToken;
+    private PreparedStatement insertLegacyToken;
+    private PreparedStatement upsert;
+    private long nextUser;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                "jdbc:h2:mem:refresh-" + userCount + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE users (user_id BIGINT PRIMARY KEY, email VARCHAR(255))");
+            ddl.execute("CREATE TABLE refresh_token (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                    "user_id BIGINT NOT NULL REFERENCES users(user_id), token VARCHAR(255) NOT NULL UNIQUE, " +
+                    "expiry_date TIMESTAMP NOT NULL)");
+            ddl.execute("CREATE TABLE refresh_tokens (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                    "user_id BIGINT NOT NULL UNIQUE REFERENCES users(user_id), token_hash VARBINARY(32) NOT NULL UNIQUE, " +
+                    "expiry_date TIMESTAMP NOT NULL)");
+            ddl.execute("INSERT INTO users SELECT X, CONCAT('user', X, '@example.com') FROM SYSTEM_RANGE(1, " + userCount + ")");
+            // Steady state: every user already holds a token, so each login replaces one
+            ddl.execute("INSERT INTO refresh_token (user_id, token, expiry_date) " +
+                    "SELECT user_id, RANDOM_UUID(), CURRENT_TIMESTAMP FROM users");
+            ddl.execute("INSERT INTO refresh_tokens (user_id, token_hash, expiry_date) " +
+                    "SELECT user_id, HASH('SHA-256', RANDOM_UUID()), CURRENT_TIMESTAMP FROM users");
+        }
+        findUser = connection.prepareStatement("SELECT user_id, email FROM users WHERE user_id = ?");
+        findLegacyTokens = connection.prepareStatement("SELECT id FROM refresh_token WHERE user_id = ?");
+        deleteLegacyToken = connection.prepareStatement("DELETE FROM refresh_token WHERE id = ?");
+        insertLegacyToken = connection.prepareStatement(
+                "INSERT INTO refresh_token (user_id, token, expiry_date) VALUES (?, ?, ?)");
+        upsert = connection.prepareStatement(
+                "MERGE INTO refresh_tokens (user_id, token_hash, expiry_date) KEY (user_id) VALUES (?, ?, ?)");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement drop = connection.createStatement()) {
+            drop.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    private long nextUserId() {
+        nextUser = nextUser % userCount + 1;
+        return nextUser;
+    }
+
+    @Benchmark
+    public int upsertHash() throws SQLException {
+        byte[] raw = new byte[32];
+        ThreadLocalRandom.current().nextBytes(raw);
+        upsert.setLong(1, nextUserId());
+        upsert.setBytes(2, RefreshTokenService.hash(Base64.getUrlEncoder().withoutPadding().encodeToString(raw)));
+        upsert.setTimestamp(3, Timestamp.from(Instant.now().plusSeconds(86400)));
+        return upsert.executeUpdate();
+    }
+
+    @Benchmark
+    public int lookupDeleteInsert() throws SQLException {
+        long userId = nextUserId();
+        // createRefreshToken and deleteByUserId each loaded the user
+        for (int i = 0; i < 2; i++) {
+            findUser.setLong(1, userId);
+            try (ResultSet user = findUser.executeQuery()) {
+                user.next();
+            }
+        }
+        List<Long> ids = new ArrayList<>();
+        findLegacyTokens.setLong(1, userId);
+        try (ResultSet tokens = findLegacyTokens.executeQuery()) {
+            while (tokens.next()) {
+                ids.add(tokens.getLong(1));
+            }
+        }
+        for (Long id : ids) {
+            deleteLegacyToken.setLong(1, id);
+            deleteLegacyToken.executeUpdate();
+        }
+        insertLegacyToken.setLong(1, userId);
+        insertLegacyToken.setString(2, UUID.randomUUID().toString());
+        insertLegacyToken.setTimestamp(3, Timestamp.from(Instant.now().plusSeconds(86400)));
+        return insertLegacyToken.executeUpdate();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RefreshTokenRotationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.soa.grading;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares grading a submission against a precompiled {@link AnswerKey} with the
+ * previous approach of walking the question list and re-reading each question.
+ *
+ * Not part of the test suite; run from the IDE or with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.soa.grading.AnswerKeyBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnswerKeyBenchmark {
+
+    @Param({"10", "50", "200"})
+    private int questionCount;
+
+    private List<QuestionRow> questions;
+    private AnswerKey<Long> answerKey;
+    private Map<Long, String> submission;
+
+    @Setup
+    public void setUp() {
+        questions = new ArrayList<>(questionCount);
+        submission = new HashMap<>();
+        for (long id = 1; id <= questionCount; id++) {
+            questions.add(new QuestionRow(id, "Answer " + id, (int) (id % 3) + 1));
+            // Every other answer is right, with the casing/spacing students actually type
+            submission.put(id, id % 2 == 0 ? " answer  " + id : "wrong");
+        }
+        answerKey = AnswerKey.compile(questions, QuestionRow::id, QuestionRow::correctAnswer, QuestionRow::points);
+    }
+
+    @Benchmark
+    public int precompiledKey() {
+        return answerKey.grade(submission);
+    }
+
+    @Benchmark
+    public int questionListScan() {
+        int score = 0;
+        for (QuestionRow question : questions) {
+            String answer = submission.get(question.id());
+            if (answer != null && AnswerKey.normalize(answer).equals(AnswerKey.normalize(question.correctAnswer()))) {
+                score += question.points();
+            }
+        }
+        return score;
+    }
+
+    @Benchmark
+    public AnswerKey<Long> compileKey() {
+        return AnswerKey.compile(questions, QuestionRow::id, QuestionRow::correctAnswer, QuestionRow::points);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AnswerKeyBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private record QuestionRow(Long id, String correctAnswer, int points) {
+    }
+}
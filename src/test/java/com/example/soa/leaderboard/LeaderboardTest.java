@@ -0,0 +1,66 @@
+package com.example.soa.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LeaderboardTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    @Test
+    void ranksMatchAFullSortOfBestAttempts() {
+        Leaderboard board = new Leaderboard();
+        Map<String, LeaderboardEntry> best = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 5_000; i++) {
+            String studentId = "s" + random.nextInt(800);
+            int score = random.nextInt(50);
+            LocalDateTime at = START.plusSeconds(i);
+            board.offer(studentId, score, at);
+            best.merge(studentId, new LeaderboardEntry(studentId, score, at, 0),
+                    (current, candidate) -> candidate.getScore() > current.getScore() ? candidate : current);
+        }
+
+        List<LeaderboardEntry> expected = new ArrayList<>(best.values());
+        expected.sort(Comparator.comparingDouble(LeaderboardEntry::getScore).reversed()
+                .thenComparing(LeaderboardEntry::getAchievedAt));
+
+        assertEquals(expected.size(), board.size());
+        for (int i = 0; i < expected.size(); i++) {
+            LeaderboardEntry entry = board.rankOf(expected.get(i).getStudentId()).orElseThrow();
+            assertEquals(i + 1, entry.getRank());
+            assertEquals(expected.get(i).getScore(), entry.getScore());
+        }
+
+        List<LeaderboardEntry> top = board.top(25);
+        for (int i = 0; i < top.size(); i++) {
+            assertEquals(expected.get(i).getStudentId(), top.get(i).getStudentId());
+            assertEquals(i + 1, top.get(i).getRank());
+        }
+    }
+
+    @Test
+    void earlierAttemptWinsTiesAndReplaysAreIgnored() {
+        Leaderboard board = new Leaderboard();
+        board.offer("late", 10, START.plusMinutes(5));
+        board.offer("early", 10, START);
+        board.offer("early", 10, START);
+        board.offer("early", 7, START.plusMinutes(10));
+
+        assertEquals(1, board.rankOf("early").orElseThrow().getRank());
+        assertEquals(2, board.rankOf("late").orElseThrow().getRank());
+        assertEquals(2, board.size());
+        assertTrue(board.rankOf("absent").isEmpty());
+    }
+}
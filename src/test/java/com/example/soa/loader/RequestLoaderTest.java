@@ -0,0 +1,77 @@
+package com.example.soa.loader;
+
+import com.example.soa.Dto.ContentSnapshot;
+import com.example.soa.Repository.CourseRepository;
+import com.example.soa.Repository.EnrollmentRepository;
+import com.example.soa.Repository.UserRepository;
+import com.example.soa.Service.ContentService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RequestLoaderTest {
+
+    private final EnrollmentRepository enrollmentRepository = mock(EnrollmentRepository.class);
+    private final ContentService contentService = mock(ContentService.class);
+    private final RequestLoader loader = new RequestLoader(mock(UserRepository.class), mock(CourseRepository.class),
+            enrollmentRepository, contentService);
+
+    @BeforeEach
+    void startRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void endRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void enrollmentChecksForAnyCourseShareOneQuery() {
+        when(enrollmentRepository.findCourseIdsByStudentId(7L)).thenReturn(List.of(1L, 2L));
+
+        assertTrue(loader.isEnrolled(7L, 1L));
+        assertTrue(loader.isEnrolled(7L, 2L));
+        assertFalse(loader.isEnrolled(7L, 3L));
+
+        verify(enrollmentRepository, times(1)).findCourseIdsByStudentId(7L);
+        assertEquals(2, RequestLoader.currentState().getHits());
+    }
+
+    @Test
+    void batchesOnlyFetchKeysNotSeenInTheRequest() {
+        ContentSnapshot first = snapshot(1L);
+        ContentSnapshot second = snapshot(2L);
+        when(contentService.getContentsByIds(any())).thenReturn(Map.of(1L, first))
+                .thenReturn(Map.of(2L, second));
+
+        assertEquals(Set.of(1L), loader.contents(List.of(1L, 9L)).keySet());
+        Map<Long, ContentSnapshot> again = loader.contents(List.of(1L, 2L, 9L));
+
+        assertEquals(Set.of(1L, 2L), again.keySet());
+        verify(contentService).getContentsByIds(Set.of(1L, 9L));
+        verify(contentService).getContentsByIds(Set.of(2L));
+    }
+
+    private static ContentSnapshot snapshot(Long contentId) {
+        return new ContentSnapshot(contentId, 1L, null, null, "TEXT", "Notes " + contentId, null, null,
+                null, null, null, null, null, true, 0, 0L);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.soa.security;
+
+import java.time.Duration;
+
+/**
+ * Prints the median BCrypt hash time for costs 8 to 14 on this machine and
+ * the cost {@link BCryptCostCalibrator} would pick for a latency budget in
+ * milliseconds (default 250), to size {@code app.password.bcrypt-cost}.
+ *
+ * Not part of the test suite; run from the IDE or with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.soa.security.BCryptCostBenchmark -Dexec.args=250}.
+ */
+public final class BCryptCostBenchmark {
+
+    private BCryptCostBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        Duration target = Duration.ofMillis(args.length > 0 ? Long.parseLong(args[0]) : 250);
+        // Lets the JIT compile the Blowfish rounds before anything is timed
+        BCryptCostCalibrator.measure(8);
+        System.out.printf("cost  median ms%n");
+        for (int cost = 8; cost <= 14; cost++) {
+            System.out.printf("%4d  %9.1f%n", cost, BCryptCostCalibrator.measure(cost).toNanos() / 1e6);
+        }
+        System.out.printf("Highest cost within %d ms: %d%n", target.toMillis(),
+                BCryptCostCalibrator.calibrate(target, BCryptCostCalibrator.MIN_COST));
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.soa.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginRateLimitFilterTest {
+
+    private final LoginRateLimitFilter filter = new LoginRateLimitFilter();
+
+    @Test
+    void throttlesEncodedAndParameterisedLoginPaths() {
+        for (String uri : new String[] {"/api/auth/login", "/api/auth/logi%6E", "/api/auth/login;x", "/api//auth/login",
+                "/api/auth/forgot-password;jsessionid=1"}) {
+            assertFalse(filter.shouldNotFilter(post(uri)), uri);
+        }
+        assertTrue(filter.shouldNotFilter(post("/api/auth/register")));
+        assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/auth/login")));
+    }
+
+    private static MockHttpServletRequest post(String uri) {
+        return new MockHttpServletRequest("POST", uri);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.soa.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    void admitsTheBurstThenRefillsAtTheConfiguredRate() {
+        // 3 tokens, one back every 10 seconds
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, 6, 1000, clock::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("a@example.com"));
+        }
+        long wait = limiter.tryAcquire("a@example.com");
+        assertEquals(TimeUnit.SECONDS.toNanos(10), wait);
+        assertEquals(0, limiter.tryAcquire("b@example.com"), "buckets are per key");
+
+        clock.addAndGet(wait);
+        assertEquals(0, limiter.tryAcquire("a@example.com"));
+        assertTrue(limiter.tryAcquire("a@example.com") > 0);
+    }
+
+    @Test
+    void dropsRefilledBucketsAndStaysBounded() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 60, 16, clock::get);
+        for (int i = 0; i < 200; i++) {
+            limiter.tryAcquire("key" + i);
+        }
+        assertTrue(limiter.size() <= 16);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(limiter.size(), limiter.evictIdle());
+        assertEquals(0, limiter.size());
+    }
+
+    @Test
+    void keepsTrackingNewKeysWhenFullOfBusyBuckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 16, clock::get);
+        for (int i = 0; i < 16; i++) {
+            limiter.tryAcquire("key" + i);
+        }
+
+        assertEquals(0, limiter.tryAcquire("new@example.com"));
+        assertTrue(limiter.size() <= 16);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.soa.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UpgradingPasswordEncoderTest {
+
+    private final UpgradingPasswordEncoder encoder = new UpgradingPasswordEncoder(5, true);
+
+    @Test
+    void currentHashesVerifyAndNeedNoUpgrade() {
+        String hash = encoder.encode("s3cret");
+        assertEquals(5, UpgradingPasswordEncoder.bcryptCost(hash));
+        assertTrue(encoder.matches("s3cret", hash));
+        assertFalse(encoder.matches("other", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    void olderCostsAndPlaintextVerifyAndAreFlaggedForUpgrade() {
+        String older = new BCryptPasswordEncoder(4).encode("s3cret");
+        assertTrue(encoder.matches("s3cret", older));
+        assertTrue(encoder.upgradeEncoding(older));
+
+        assertTrue(encoder.matches("s3cret", "s3cret"));
+        assertFalse(encoder.matches("s3cre", "s3cret"));
+        assertTrue(encoder.upgradeEncoding("s3cret"));
+    }
+
+    @Test
+    void strongerCostsAreNotDowngraded() {
+        String stronger = new BCryptPasswordEncoder(6).encode("s3cret");
+        assertTrue(encoder.matches("s3cret", stronger));
+        assertFalse(encoder.upgradeEncoding(stronger));
+    }
+
+    @Test
+    void plaintextIsRejectedOnceSwitchedOff() {
+        UpgradingPasswordEncoder strict = new UpgradingPasswordEncoder(5, false);
+        assertFalse(strict.matches("s3cret", "s3cret"));
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.soa.session;
+
+import com.example.soa.Model.AnswerDraft;
+import com.example.soa.Repository.AnswerDraftRepository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drafts reach the database only on flush, and changes that were logged but
+ * never flushed are recovered by the next buffer started on the same log.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "app.autosave.flush-interval-ms=3600000"
+})
+@Import({AnswerDraftBuffer.class, AnswerDraftBufferTest.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AnswerDraftBufferTest {
+
+    @TempDir
+    static Path walDirectory;
+
+    @DynamicPropertySource
+    static void walDirectory(DynamicPropertyRegistry registry) {
+        registry.add("app.autosave.wal-dir", () -> walDirectory.toString());
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private AnswerDraftBuffer buffer;
+
+    @Autowired
+    private AnswerDraftRepository repository;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void mergesInMemoryAndRecoversUnflushedChanges() throws Exception {
+        DraftKey key = DraftKey.assessment(7L, 42L);
+        buffer.save(key, Map.of("q1", "a", "q2", "b"));
+        Map<String, String> change = new HashMap<>();
+        change.put("q2", "c");
+        change.put("q3", null);
+        buffer.save(key, change);
+        assertTrue(stored(key).isEmpty());
+
+        buffer.flush();
+        assertEquals(Map.of("q1", "a", "q2", "c"), stored(key).orElseThrow());
+
+        // Logged but never flushed: the process dies here
+        buffer.save(key, Map.of("q1", "z"));
+        DraftKey submitted = DraftKey.quiz("student-1", 3L);
+        buffer.save(submitted, Map.of("10", "B"));
+        buffer.discard(submitted);
+
+        AnswerDraftBuffer restarted = beanFactory.createBean(AnswerDraftBuffer.class);
+        try {
+            assertEquals(Map.of("q1", "z", "q2", "c"), stored(key).orElseThrow());
+            assertTrue(stored(submitted).isEmpty());
+
+            restarted.discard(key);
+            restarted.flush();
+            assertTrue(stored(key).isEmpty());
+        } finally {
+            restarted.shutdown();
+        }
+    }
+
+    private Optional<Map<String, String>> stored(DraftKey key) throws Exception {
+        Optional<AnswerDraft> row = repository.findByStudentIdAndTargetTypeAndTargetId(key.getStudentId(), key.getTarget(), key.getTargetId());
+        if (row.isEmpty()) {
+            return Optional.empty();
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, String> answers = objectMapper.readValue(row.get().getAnswers(), Map.class);
+        return Optional.of(answers);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.soa.session;
+
+import com.example.soa.Model.Score;
+import com.example.soa.Service.QuizService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuizSessionServiceTest {
+
+    private final QuizService quizService = mock(QuizService.class);
+    private final AnswerDraftBuffer answerDraftBuffer = mock(AnswerDraftBuffer.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private QuizSessionService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Consumer.class).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        service = new QuizSessionService();
+        ReflectionTestUtils.setField(service, "quizService", quizService);
+        ReflectionTestUtils.setField(service, "answerDraftBuffer", answerDraftBuffer);
+        ReflectionTestUtils.setField(service, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+        // The test drives the sweep itself
+        ReflectionTestUtils.setField(service, "tickMillis", Duration.ofHours(1).toMillis());
+        ReflectionTestUtils.setField(service, "wheelSize", 64);
+        ReflectionTestUtils.setField(service, "retentionMinutes", 10L);
+        ReflectionTestUtils.setField(service, "autoSubmitBatchSize", 200);
+        ReflectionTestUtils.setField(service, "autoSubmitRetrySeconds", 30L);
+        ReflectionTestUtils.setField(service, "autoSubmitMaxRetries", 3);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void failedAutoSubmitKeepsTheDraftAndIsRetried() {
+        QuizAttempt attempt = expiredAttempt();
+        attempt.saveAnswers(Map.of(1L, "TCP"));
+        when(quizService.submitQuiz(eq(7L), eq("student-1"), anyMap(), anyInt()))
+                .thenThrow(new IllegalStateException("database unavailable"));
+
+        ReflectionTestUtils.invokeMethod(service, "autoSubmit", List.of(attempt));
+
+        assertEquals(QuizAttempt.State.ACTIVE, attempt.getState());
+        assertNull(attempt.getScore());
+        verify(answerDraftBuffer, never()).discard(any());
+
+        Score score = new Score();
+        score.setId(11L);
+        score.setScore(1);
+        when(quizService.submitQuiz(eq(7L), eq("student-1"), anyMap(), anyInt())).thenReturn(score);
+
+        ReflectionTestUtils.invokeMethod(service, "autoSubmit", List.of(attempt));
+
+        assertEquals(QuizAttempt.State.EXPIRED, attempt.getState());
+        assertEquals(1, attempt.getScore());
+        verify(answerDraftBuffer).discard(DraftKey.quiz("student-1", 7L));
+    }
+
+    private static QuizAttempt expiredAttempt() {
+        Instant started = Instant.now().minus(Duration.ofMinutes(30));
+        return new QuizAttempt("attempt-1", 7L, "student-1", started, started.plus(Duration.ofMinutes(20)));
+    }
+}
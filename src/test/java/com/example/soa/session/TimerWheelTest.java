@@ -0,0 +1,61 @@
+package com.example.soa.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimerWheelTest {
+
+    private static final long TICK = 1000;
+
+    @Test
+    void firesEachItemOnceAtTheEndOfItsTick() {
+        TimerWheel<String> wheel = new TimerWheel<>(8, TICK, 0);
+        wheel.schedule("a", 2_500);
+        wheel.schedule("b", 3_500);
+        wheel.schedule("c", 5_000);
+
+        assertTrue(wheel.advance(2_600).isEmpty());
+        assertEquals(List.of("a"), wheel.advance(3_000));
+        assertTrue(wheel.advance(3_600).isEmpty());
+        assertEquals(List.of("b"), wheel.advance(4_000));
+        assertTrue(wheel.advance(4_999).isEmpty());
+        assertEquals(List.of("c"), wheel.advance(5_000));
+        assertTrue(wheel.advance(20_000).isEmpty());
+    }
+
+    @Test
+    void keepsDeadlinesBeyondOneTurnUntilTheirRound() {
+        TimerWheel<String> wheel = new TimerWheel<>(8, TICK, 0);
+        // Same bucket as tick 3, but three turns later
+        wheel.schedule("late", 27_000);
+
+        assertTrue(wheel.advance(3_000).isEmpty());
+        assertTrue(wheel.advance(19_000).isEmpty());
+        assertEquals(List.of("late"), wheel.advance(27_000));
+    }
+
+    @Test
+    void catchesUpAfterAStall() {
+        TimerWheel<String> wheel = new TimerWheel<>(8, TICK, 0);
+        wheel.schedule("a", 1_000);
+        wheel.schedule("b", 6_000);
+        wheel.schedule("c", 30_000);
+
+        List<String> due = wheel.advance(40_000);
+        assertEquals(3, due.size());
+        assertTrue(due.containsAll(List.of("a", "b", "c")));
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextAdvance() {
+        TimerWheel<String> wheel = new TimerWheel<>(8, TICK, 0);
+        wheel.advance(10_000);
+        wheel.schedule("overdue", 4_000);
+
+        assertEquals(List.of("overdue"), wheel.advance(11_000));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.soa.sync;
+
+import com.example.soa.Model.Assessment;
+import com.example.soa.Model.Content;
+import com.example.soa.Model.Course;
+import com.example.soa.Model.Notification;
+import com.example.soa.Model.Tombstone;
+import com.example.soa.Repository.AssessmentRepository;
+import com.example.soa.Repository.ContentRepository;
+import com.example.soa.Repository.CourseRepository;
+import com.example.soa.Repository.NotificationRepository;
+import com.example.soa.Repository.TombstoneRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TombstoneListenerIntegrationTest {
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    private AssessmentRepository assessmentRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+
+    @Test
+    void deletingACourseLeavesTombstonesForItAndItsCascadedRows() {
+        Instant before = Instant.now().minusSeconds(1);
+        Course course = courseRepository.save(new Course("Networks"));
+        Content content = contentRepository.save(new Content(course, Content.ContentType.TEXT, "notes.txt"));
+        Assessment assessment = assessmentRepository.save(
+                new Assessment(course, "Midterm", Assessment.AssessmentType.ASSIGNMENT, 100));
+
+        courseRepository.deleteById(course.getCourseId());
+
+        Map<Tombstone.EntityType, Long> deleted = tombstoneRepository
+                .findByCourseIdInAndDeletedAtGreaterThanEqual(List.of(course.getCourseId()), before).stream()
+                .collect(Collectors.toMap(Tombstone::getEntityType, Tombstone::getEntityId));
+        assertEquals(course.getCourseId(), deleted.get(Tombstone.EntityType.COURSE));
+        assertEquals(content.getContentId(), deleted.get(Tombstone.EntityType.CONTENT));
+        assertEquals(assessment.getAssessmentId(), deleted.get(Tombstone.EntityType.ASSESSMENT));
+    }
+
+    @Test
+    void deletedNotificationsAreScopedToTheirRecipient() {
+        Instant before = Instant.now().minusSeconds(1);
+        Notification notification = new Notification(null, "Graded", "Your quiz was graded",
+                "tombstone@example.com", "GRADE");
+        Long id = notificationRepository.save(notification).getNotificationId();
+
+        notificationRepository.deleteById(id);
+
+        assertTrue(tombstoneRepository.findByRecipientEmailAndDeletedAtGreaterThanEqual("tombstone@example.com", before)
+                .stream().anyMatch(t -> t.getEntityId().equals(id)));
+        assertTrue(tombstoneRepository.findByRecipientEmailAndDeletedAtGreaterThanEqual("other@example.com", before)
+                .isEmpty());
+    }
+}